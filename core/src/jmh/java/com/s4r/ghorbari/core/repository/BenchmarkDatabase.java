@@ -0,0 +1,87 @@
+package com.s4r.ghorbari.core.repository;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL container with the Liquibase schema, for benchmarks that need a real database (Docker required).
+ * The persistence layer is started against it as Spring Boot configures it: data source, JPA and the core
+ * repositories, without the services.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableAutoConfiguration
+    @AutoConfigurationPackage(basePackages = "com.s4r.ghorbari.core")
+    static class Persistence {
+    }
+
+    private final PostgreSQLContainer postgres;
+    private final JdbcTemplate jdbcTemplate;
+    private ConfigurableApplicationContext context;
+
+    private BenchmarkDatabase(PostgreSQLContainer postgres, JdbcTemplate jdbcTemplate) {
+        this.postgres = postgres;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static BenchmarkDatabase start() throws Exception {
+        PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+        postgres.start();
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword()));
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        return new BenchmarkDatabase(postgres, new JdbcTemplate(liquibase.getDataSource()));
+    }
+
+    /**
+     * Plain JDBC access for seeding and cleaning up, outside the persistence layer
+     */
+    JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * Start the persistence layer; {@code properties} are added to or override the defaults
+     */
+    ConfigurableApplicationContext startPersistence(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.liquibase.enabled=false"));
+        all.addAll(List.of(properties));
+
+        context = new SpringApplicationBuilder(Persistence.class)
+                .web(WebApplicationType.NONE)
+                .properties(all.toArray(String[]::new))
+                .run();
+        return context;
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+        postgres.stop();
+    }
+}
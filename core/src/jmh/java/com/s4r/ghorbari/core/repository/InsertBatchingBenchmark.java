@@ -0,0 +1,109 @@
+package com.s4r.ghorbari.core.repository;
+
+import com.s4r.ghorbari.core.entity.Invoice;
+import com.s4r.ghorbari.core.entity.Payment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts {@value #PAIRS} invoices with a payment each in one transaction, persisted interleaved as an import
+ * does, against a PostgreSQL container (Docker required). The score is invoice/payment pairs per second.
+ * <p>
+ * {@code batchSize=1} sends one INSERT per round trip, as before the pooled sequences when IDENTITY ids ruled
+ * out batching; ids still come from the sequences, so the gap to IDENTITY is if anything understated.
+ * {@code batchSize=50} is the application's configuration: JDBC batches, inserts ordered by entity so the
+ * interleaved rows still batch, and the driver rewriting each batch into multi-row INSERTs.
+ * <pre>
+ * mvn -Pbenchmark -pl core exec:exec -Djmh.args="InsertBatchingBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsertBatchingBenchmark {
+
+    private static final Long TENANT_ID = 1L;
+    private static final int PAIRS = 500;
+    private static final LocalDate ISSUE_DATE = LocalDate.of(2024, 1, 1);
+    private static final BigDecimal AMOUNT = new BigDecimal("1000.00");
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private BenchmarkDatabase database;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private long sequence;
+
+    @Setup
+    public void start() throws Exception {
+        database = BenchmarkDatabase.start();
+
+        boolean batched = batchSize > 1;
+        ConfigurableApplicationContext context = database.startPersistence(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "spring.jpa.properties.hibernate.order_inserts=" + batched,
+                "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=" + batched);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    /**
+     * Start every iteration from empty tables so index growth does not drift the score
+     */
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        database.jdbcTemplate().execute("TRUNCATE payments, invoices CASCADE");
+    }
+
+    @TearDown
+    public void stop() {
+        database.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void insertInvoicesWithPayments() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < PAIRS; i++) {
+                long n = sequence++;
+
+                Invoice invoice = new Invoice("BENCH-INV-" + n, null, null, ISSUE_DATE, ISSUE_DATE.plusDays(14),
+                        AMOUNT);
+                invoice.setTenantId(TENANT_ID);
+                entityManager.persist(invoice);
+
+                Payment payment = new Payment("BENCH-PAY-" + n, null, null, ISSUE_DATE, AMOUNT,
+                        Payment.PaymentMethod.BANK_TRANSFER);
+                payment.setTenantId(TENANT_ID);
+                entityManager.persist(payment);
+            }
+        });
+    }
+}
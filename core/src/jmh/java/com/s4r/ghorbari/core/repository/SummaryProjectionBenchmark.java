@@ -0,0 +1,152 @@
+package com.s4r.ghorbari.core.repository;
+
+import com.s4r.ghorbari.core.domain.InvoiceDto;
+import com.s4r.ghorbari.core.domain.InvoiceSummary;
+import com.s4r.ghorbari.core.domain.LeaseDto;
+import com.s4r.ghorbari.core.domain.LeaseSummary;
+import com.s4r.ghorbari.core.domain.PaymentDto;
+import com.s4r.ghorbari.core.domain.PaymentSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Lists {@value #ROWS} invoices, payments and leases of one tenant two ways: as managed entities copied into DTOs,
+ * as the list endpoints did before the summary queries, and as summary records selected straight from the table.
+ * Both run in a read-only transaction with the tenant filter enabled, like the services, against a PostgreSQL
+ * container (Docker required) holding a second tenant's rows as well.
+ * <p>
+ * Latency is the score; heap allocated per list comes from the GC profiler ({@code gc.alloc.rate.norm}):
+ * <pre>
+ * mvn -Pbenchmark -pl core exec:exec -Djmh.args="SummaryProjectionBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SummaryProjectionBenchmark {
+
+    private static final Long TENANT_ID = 1L;
+    private static final int ROWS = 10_000;
+
+    private BenchmarkDatabase database;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private InvoiceRepository invoiceRepository;
+    private PaymentRepository paymentRepository;
+    private LeaseRepository leaseRepository;
+
+    @Setup
+    public void start() throws Exception {
+        database = BenchmarkDatabase.start();
+        seed(database.jdbcTemplate());
+
+        ConfigurableApplicationContext context = database.startPersistence();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        invoiceRepository = context.getBean(InvoiceRepository.class);
+        paymentRepository = context.getBean(PaymentRepository.class);
+        leaseRepository = context.getBean(LeaseRepository.class);
+    }
+
+    @TearDown
+    public void stop() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<InvoiceDto> invoiceEntities() {
+        return asTenant(() -> invoiceRepository.findAll().stream().map(InvoiceDto::new).toList());
+    }
+
+    @Benchmark
+    public List<InvoiceSummary> invoiceSummaries() {
+        return asTenant(invoiceRepository::findAllSummaries);
+    }
+
+    @Benchmark
+    public List<PaymentDto> paymentEntities() {
+        return asTenant(() -> paymentRepository.findAll().stream().map(PaymentDto::new).toList());
+    }
+
+    @Benchmark
+    public List<PaymentSummary> paymentSummaries() {
+        return asTenant(paymentRepository::findAllSummaries);
+    }
+
+    @Benchmark
+    public List<LeaseDto> leaseEntities() {
+        return asTenant(() -> leaseRepository.findAll().stream().map(LeaseDto::new).toList());
+    }
+
+    @Benchmark
+    public List<LeaseSummary> leaseSummaries() {
+        return asTenant(leaseRepository::findAllSummaries);
+    }
+
+    /**
+     * What a read-only service method sees for a request: its own transaction with the tenant filter enabled
+     */
+    private <T> T asTenant(Supplier<T> query) {
+        return readOnly.execute(status -> {
+            entityManager.unwrap(Session.class)
+                    .enableFilter("tenantFilter")
+                    .setParameter("tenantId", TENANT_ID);
+            return query.get();
+        });
+    }
+
+    /**
+     * {@value #ROWS} rows per table for the benchmarked tenant and as many for another, with the free-text
+     * columns the summaries leave out filled in
+     */
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        String rows = " FROM generate_series(1, " + ROWS + ") g CROSS JOIN (VALUES (1), (2)) AS t(tenant_id)";
+        String createdAt = "TIMESTAMP '2024-01-01' + g * INTERVAL '1 minute'";
+        String text = "repeat('x', 200)";
+
+        jdbcTemplate.execute("""
+                INSERT INTO leases (tenant_id, lease_type, monthly_rent, start_date, end_date, status, notes,
+                                    created_at)
+                SELECT t.tenant_id, 'FIXED_TERM', 1000, DATE '2024-01-01', DATE '2025-01-01', 'ACTIVE', %s, %s
+                """.formatted(text, createdAt) + rows);
+        jdbcTemplate.execute("""
+                INSERT INTO invoices (tenant_id, invoice_number, issue_date, due_date, total_amount, paid_amount,
+                                      rent_amount, status, description, notes, created_at)
+                SELECT t.tenant_id, 'INV-' || t.tenant_id || '-' || g, DATE '2024-01-01', DATE '2024-01-15', 1000, 0,
+                       1000, 'PENDING', %s, %s, %s
+                """.formatted(text, text, createdAt) + rows);
+        jdbcTemplate.execute("""
+                INSERT INTO payments (tenant_id, payment_reference, amount, payment_date, payment_method, status,
+                                      description, notes, created_at)
+                SELECT t.tenant_id, 'PAY-' || t.tenant_id || '-' || g, 1000, DATE '2024-01-10', 'BANK_TRANSFER',
+                       'COMPLETED', %s, %s, %s
+                """.formatted(text, text, createdAt) + rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
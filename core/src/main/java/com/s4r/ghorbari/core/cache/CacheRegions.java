@@ -0,0 +1,18 @@
+package com.s4r.ghorbari.core.cache;
+
+/**
+ * Second-level cache regions, one per cached entity or collection.
+ * Each region gets its own size bound and time-to-live (see app.cache.regions in application.yaml).
+ */
+public final class CacheRegions {
+
+    public static final String TENANTS = "tenants";
+    public static final String ROLES = "roles";
+    public static final String USER_ROLES = "user-roles";
+    public static final String BUILDINGS = "buildings";
+    public static final String AMENITIES = "amenities";
+    public static final String APARTMENTS = "apartments";
+
+    private CacheRegions() {
+    }
+}
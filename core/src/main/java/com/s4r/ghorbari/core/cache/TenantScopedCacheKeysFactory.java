@@ -0,0 +1,66 @@
+package com.s4r.ghorbari.core.cache;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.entity.TenantAwareEntity;
+import org.hibernate.cache.internal.DefaultCacheKeysFactory;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.io.Serializable;
+
+/**
+ * Second-level cache keys that carry the current tenant for tenant-aware entities and their collections.
+ * <p>
+ * Lookups by id skip the SQL the tenant filter is applied to, so with plain keys a row cached for one tenant
+ * could be served to another. Scoping the key means an entry is only ever hit under the tenant it was loaded
+ * for, i.e. through the filter. Global entities (tenants, roles) keep a tenant-free key and are shared.
+ */
+public class TenantScopedCacheKeysFactory implements CacheKeysFactory {
+
+    record EntityKey(String entityName, Object id, Long tenantId) implements Serializable {
+    }
+
+    record CollectionKey(String role, Object ownerId, Long tenantId) implements Serializable {
+    }
+
+    @Override
+    public Object createEntityKey(Object id, EntityPersister persister, SessionFactoryImplementor factory,
+                                  String tenantIdentifier) {
+        return new EntityKey(persister.getRootEntityName(), id, tenantOf(persister.getMappedClass()));
+    }
+
+    @Override
+    public Object createCollectionKey(Object id, CollectionPersister persister, SessionFactoryImplementor factory,
+                                      String tenantIdentifier) {
+        return new CollectionKey(persister.getRole(), id,
+                tenantOf(persister.getOwnerEntityPersister().getMappedClass()));
+    }
+
+    @Override
+    public Object createNaturalIdKey(Object naturalIdValues, EntityPersister persister,
+                                     SharedSessionContractImplementor session) {
+        return DefaultCacheKeysFactory.staticCreateNaturalIdKey(naturalIdValues, persister, session);
+    }
+
+    @Override
+    public Object getEntityId(Object cacheKey) {
+        return ((EntityKey) cacheKey).id();
+    }
+
+    @Override
+    public Object getCollectionId(Object cacheKey) {
+        return ((CollectionKey) cacheKey).ownerId();
+    }
+
+    @Override
+    public Object getNaturalIdValues(Object cacheKey) {
+        return DefaultCacheKeysFactory.staticGetNaturalIdValues(cacheKey);
+    }
+
+    private static Long tenantOf(Class<?> mappedClass) {
+        return TenantAwareEntity.class.isAssignableFrom(mappedClass) ? TenantContext.getCurrentTenantId() : null;
+    }
+}
@@ -0,0 +1,140 @@
+package com.s4r.ghorbari.core.context;
+
+import com.s4r.ghorbari.core.domain.TenantLimits;
+import com.s4r.ghorbari.core.entity.Tenant;
+import com.s4r.ghorbari.core.event.TenantChangedEvent;
+import com.s4r.ghorbari.core.repository.TenantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory snapshot of active tenants keyed by tenant key, used to resolve X-Tenant-Key
+ * and serve tenant lookups by key without a database round trip.
+ *
+ * The snapshot is loaded at startup and reloaded after every tenant write on this node.
+ * Unknown keys are answered negatively from the snapshot; a miss only triggers a reload
+ * (to pick up tenants created on other nodes) when the snapshot is older than the configured
+ * interval, so a flood of invalid keys costs at most one query per interval.
+ *
+ * The request limits of each active tenant are kept alongside, for the rate limiter. They are also
+ * refreshed periodically so limits changed on another node take effect here without a restart.
+ *
+ * Reloads run in their own read-write transaction, so they read the primary even when read-only transactions
+ * go to a replica; a reload right after a tenant write must not miss it to replica lag.
+ */
+@Component
+public class TenantRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantRegistry.class);
+
+    private final TenantRepository tenantRepository;
+    private final TransactionTemplate primaryRead;
+    private final long missReloadIntervalNanos;
+
+    private volatile Map<String, Tenant> activeTenants = Map.of();
+    private volatile Map<Long, TenantLimits> tenantLimits = Map.of();
+    private volatile long loadedAtNanos;
+    private volatile boolean loaded;
+
+    public TenantRegistry(TenantRepository tenantRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.tenant-registry.miss-reload-interval-seconds:30}") long missReloadIntervalSeconds) {
+        this.tenantRepository = tenantRepository;
+        // A new transaction, as the after-commit listener still runs inside the finished one
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.missReloadIntervalNanos = TimeUnit.SECONDS.toNanos(missReloadIntervalSeconds);
+    }
+
+    /**
+     * Resolve the id of an active tenant by its key
+     */
+    public Optional<Long> findActiveTenantId(String tenantKey) {
+        return findActiveTenant(tenantKey).map(Tenant::getId);
+    }
+
+    /**
+     * Resolve an active tenant by its key. The returned entity is detached and shared with other callers,
+     * so it must be treated as read-only.
+     */
+    public Optional<Tenant> findActiveTenant(String tenantKey) {
+        if (tenantKey == null || tenantKey.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long observedLoadedAt = loadedAtNanos;
+        Tenant tenant = activeTenants.get(tenantKey);
+        if (tenant != null) {
+            return Optional.of(tenant);
+        }
+
+        if (loaded && System.nanoTime() - observedLoadedAt < missReloadIntervalNanos) {
+            return Optional.empty();
+        }
+
+        reload(observedLoadedAt);
+        return Optional.ofNullable(activeTenants.get(tenantKey));
+    }
+
+    /**
+     * Request limits configured on an active tenant, or null for unknown and inactive tenants
+     */
+    public TenantLimits findLimits(Long tenantId) {
+        return tenantLimits.get(tenantId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantChanged(TenantChangedEvent event) {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.tenant-registry.refresh-interval-seconds:300}",
+            initialDelayString = "${app.tenant-registry.refresh-interval-seconds:300}", timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        reload();
+    }
+
+    public synchronized void reload() {
+        List<Tenant> tenants = primaryRead.execute(status -> tenantRepository.findByActiveTrue());
+        activeTenants = tenants.stream()
+                .collect(Collectors.toUnmodifiableMap(Tenant::getTenantKey, Function.identity()));
+        tenantLimits = tenants.stream()
+                .collect(Collectors.toUnmodifiableMap(Tenant::getId, tenant -> new TenantLimits(
+                        tenant.getRateLimitReadPerMinute(), tenant.getRateLimitWritePerMinute(),
+                        tenant.getRateLimitReportPerMinute(), tenant.getMaxConcurrentRequests())));
+        loadedAtNanos = System.nanoTime();
+        loaded = true;
+        logger.debug("Tenant registry loaded with {} active tenants", activeTenants.size());
+    }
+
+    /**
+     * Reload unless another thread already did so since the caller observed {@code observedLoadedAt}
+     */
+    private synchronized void reload(long observedLoadedAt) {
+        if (loaded && loadedAtNanos != observedLoadedAt) {
+            return;
+        }
+        reload();
+    }
+}
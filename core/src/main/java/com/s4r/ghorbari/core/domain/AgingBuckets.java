@@ -0,0 +1,16 @@
+package com.s4r.ghorbari.core.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Outstanding balance of open invoices split by days past due.
+ * {@code current} is not yet due; the other buckets count whole days since the due date.
+ */
+public record AgingBuckets(long openInvoices,
+                           BigDecimal current,
+                           BigDecimal days0To30,
+                           BigDecimal days31To60,
+                           BigDecimal days61To90,
+                           BigDecimal over90Days,
+                           BigDecimal totalOutstanding) {
+}
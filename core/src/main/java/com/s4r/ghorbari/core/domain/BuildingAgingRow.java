@@ -0,0 +1,10 @@
+package com.s4r.ghorbari.core.domain;
+
+/**
+ * Aging of the open invoices billed on leases of one building.
+ * Invoices without a lease, or whose apartment has no building, are reported with a null building.
+ */
+public record BuildingAgingRow(Long buildingId,
+                               String buildingName,
+                               AgingBuckets aging) {
+}
@@ -0,0 +1,13 @@
+package com.s4r.ghorbari.core.domain;
+
+/**
+ * Second-level cache counters of one region on this node since startup.
+ * {@code hitRatio} is hits over lookups, or 0 before the first lookup.
+ */
+public record CacheRegionStats(String region,
+                               long hits,
+                               long misses,
+                               long puts,
+                               long entriesInMemory,
+                               double hitRatio) {
+}
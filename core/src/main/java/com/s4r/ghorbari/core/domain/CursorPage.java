@@ -0,0 +1,10 @@
+package com.s4r.ghorbari.core.domain;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * {@code nextCursor} is null on the last page; otherwise pass it back to fetch the next page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
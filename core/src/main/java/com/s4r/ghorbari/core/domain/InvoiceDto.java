@@ -24,6 +24,7 @@ public class InvoiceDto {
     private BigDecimal otherCharges;
     private LocalDate paidDate;
     private String notes;
+    private Long version;
 
     // Constructors
     public InvoiceDto() {
@@ -47,6 +48,7 @@ public class InvoiceDto {
         this.otherCharges = invoice.getOtherCharges();
         this.paidDate = invoice.getPaidDate();
         this.notes = invoice.getNotes();
+        this.version = invoice.getVersion();
     }
 
     public Invoice toEntity() {
@@ -68,6 +70,7 @@ public class InvoiceDto {
         invoice.setOtherCharges(this.otherCharges);
         invoice.setPaidDate(this.paidDate);
         invoice.setNotes(this.notes);
+        invoice.setVersion(this.version);
         return invoice;
     }
 
@@ -207,4 +210,12 @@ public class InvoiceDto {
     public void setNotes(String notes) {
         this.notes = notes;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
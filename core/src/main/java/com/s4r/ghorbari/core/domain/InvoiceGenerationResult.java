@@ -0,0 +1,15 @@
+package com.s4r.ghorbari.core.domain;
+
+import java.time.YearMonth;
+
+/**
+ * Outcome of a monthly invoice generation run.
+ * {@code alreadyInvoiced} counts active leases that had an invoice for the month before this run.
+ */
+public record InvoiceGenerationResult(YearMonth month,
+                                      int activeLeases,
+                                      int invoicesCreated,
+                                      int alreadyInvoiced,
+                                      int chunks,
+                                      long elapsedMillis) {
+}
@@ -0,0 +1,28 @@
+package com.s4r.ghorbari.core.domain;
+
+import com.s4r.ghorbari.core.entity.Invoice;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Invoice row for list and report endpoints, selected straight from the invoices table.
+ * Charge breakdown, description and notes are only returned by the single-invoice endpoints.
+ */
+public record InvoiceSummary(Long id,
+                             String invoiceNumber,
+                             Long leaseId,
+                             Long residentId,
+                             LocalDate issueDate,
+                             LocalDate dueDate,
+                             BigDecimal totalAmount,
+                             BigDecimal paidAmount,
+                             Invoice.InvoiceStatus status,
+                             LocalDate paidDate,
+                             LocalDateTime createdAt) {
+
+    public PageCursor position() {
+        return new PageCursor(createdAt, id);
+    }
+}
@@ -0,0 +1,16 @@
+package com.s4r.ghorbari.core.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Outcome of an overdue sweep for one tenant.
+ * Every change it counts is also recorded per invoice in invoice_sweep_log.
+ */
+public record InvoiceSweepResult(LocalDate sweepDate,
+                                 int markedOverdue,
+                                 int lateFeesCharged,
+                                 BigDecimal lateFeeTotal,
+                                 int chunks,
+                                 long elapsedMillis) {
+}
@@ -0,0 +1,28 @@
+package com.s4r.ghorbari.core.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * One slice of a background job run: a job, the run it belongs to and, for fanned-out jobs, a tenant.
+ * {@code heartbeatAt} is the lease the owning node renews while the slice is RUNNING.
+ */
+public record JobRun(Long id,
+                     String jobName,
+                     Long tenantId,
+                     String runKey,
+                     LocalDateTime scheduledFor,
+                     Status status,
+                     String nodeId,
+                     int attempts,
+                     String checkpoint,
+                     String message,
+                     LocalDateTime startedAt,
+                     LocalDateTime heartbeatAt,
+                     LocalDateTime finishedAt) {
+
+    public enum Status {
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+}
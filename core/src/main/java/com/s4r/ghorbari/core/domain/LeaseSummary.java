@@ -0,0 +1,26 @@
+package com.s4r.ghorbari.core.domain;
+
+import com.s4r.ghorbari.core.entity.Lease;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Lease row for list and report endpoints, selected straight from the leases table.
+ * Notice, deposit, termination details and notes are only returned by the single-lease endpoints.
+ */
+public record LeaseSummary(Long id,
+                           Long apartmentId,
+                           Long primaryResidentId,
+                           Lease.LeaseType leaseType,
+                           LocalDate startDate,
+                           LocalDate endDate,
+                           BigDecimal monthlyRent,
+                           Lease.LeaseStatus status,
+                           LocalDateTime createdAt) {
+
+    public PageCursor position() {
+        return new PageCursor(createdAt, id);
+    }
+}
@@ -0,0 +1,42 @@
+package com.s4r.ghorbari.core.domain;
+
+import com.s4r.ghorbari.core.entity.BaseEntity;
+import com.s4r.ghorbari.core.exception.ErrorCode;
+import com.s4r.ghorbari.core.exception.ServiceException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row on a page, ordered by (createdAt, id) descending.
+ * Exposed to clients as an opaque URL-safe string.
+ */
+public record PageCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static PageCursor of(BaseEntity entity) {
+        return new PageCursor(entity.getCreatedAt(), entity.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION, "Invalid page cursor");
+        }
+    }
+}
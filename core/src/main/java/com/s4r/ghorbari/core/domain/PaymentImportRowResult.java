@@ -0,0 +1,23 @@
+package com.s4r.ghorbari.core.domain;
+
+/**
+ * Outcome of a single settlement file row.
+ * {@code rowNumber} counts data rows from 1, excluding the header.
+ */
+public record PaymentImportRowResult(long rowNumber,
+                                     Status status,
+                                     String paymentReference,
+                                     String invoiceNumber,
+                                     Long paymentId,
+                                     String message) {
+
+    public enum Status {
+        /** A new completed payment was recorded against the invoice. */
+        IMPORTED,
+        /** An existing pending payment with the same reference was settled. */
+        SETTLED,
+        /** The reference was already settled; nothing changed. */
+        DUPLICATE,
+        FAILED
+    }
+}
@@ -0,0 +1,14 @@
+package com.s4r.ghorbari.core.domain;
+
+/**
+ * Totals for a bulk payment import.
+ * {@code invoiceUpdates} counts balance updates, one per invoice per chunk.
+ */
+public record PaymentImportSummary(long rows,
+                                   long imported,
+                                   long settled,
+                                   long duplicates,
+                                   long failed,
+                                   long invoiceUpdates,
+                                   long elapsedMillis) {
+}
@@ -0,0 +1,27 @@
+package com.s4r.ghorbari.core.domain;
+
+import com.s4r.ghorbari.core.entity.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Payment row for list and report endpoints, selected straight from the payments table.
+ * Transaction id, description, notes and refund details are only returned by the single-payment endpoints.
+ */
+public record PaymentSummary(Long id,
+                             String paymentReference,
+                             Long invoiceId,
+                             Long residentId,
+                             LocalDate paymentDate,
+                             BigDecimal amount,
+                             Payment.PaymentMethod paymentMethod,
+                             Payment.PaymentStatus status,
+                             BigDecimal refundAmount,
+                             LocalDateTime createdAt) {
+
+    public PageCursor position() {
+        return new PageCursor(createdAt, id);
+    }
+}
@@ -0,0 +1,30 @@
+package com.s4r.ghorbari.core.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * A unit of work in the durable queue. {@code result} is the handler's summary once SUCCEEDED;
+ * {@code lastError} is the most recent failure, kept while the task is retried and after it is dead-lettered.
+ */
+public record QueuedTask(Long id,
+                         Long tenantId,
+                         String queue,
+                         String taskType,
+                         String payload,
+                         Status status,
+                         int attempts,
+                         int maxAttempts,
+                         LocalDateTime availableAt,
+                         String result,
+                         String lastError,
+                         LocalDateTime createdAt,
+                         LocalDateTime startedAt,
+                         LocalDateTime finishedAt) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        DEAD
+    }
+}
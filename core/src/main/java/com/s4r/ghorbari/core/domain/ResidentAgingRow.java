@@ -0,0 +1,21 @@
+package com.s4r.ghorbari.core.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aging of one resident's open invoices, labelled with the resident's current apartment and building.
+ * Paged like the resident listing, newest resident first.
+ */
+public record ResidentAgingRow(Long residentId,
+                               String residentName,
+                               Long apartmentId,
+                               String apartmentNumber,
+                               Long buildingId,
+                               String buildingName,
+                               AgingBuckets aging,
+                               LocalDateTime residentCreatedAt) {
+
+    public PageCursor position() {
+        return new PageCursor(residentCreatedAt, residentId);
+    }
+}
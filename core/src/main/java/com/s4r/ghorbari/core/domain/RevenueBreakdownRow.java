@@ -0,0 +1,22 @@
+package com.s4r.ghorbari.core.domain;
+
+import com.s4r.ghorbari.core.entity.Payment;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Payment totals for one month, building, payment method and status.
+ * Collected and refunded amounts only count payments that reached the ledger (completed or refunded);
+ * {@code netAmount} is their difference. Payments without an invoice, lease or apartment have no building.
+ */
+public record RevenueBreakdownRow(YearMonth month,
+                                  Long buildingId,
+                                  String buildingName,
+                                  Payment.PaymentMethod paymentMethod,
+                                  Payment.PaymentStatus status,
+                                  long paymentCount,
+                                  BigDecimal collectedAmount,
+                                  BigDecimal refundedAmount,
+                                  BigDecimal netAmount) {
+}
@@ -9,6 +9,10 @@ public class TenantDto {
     private String name;
     private Boolean active;
     private String description;
+    private Integer rateLimitReadPerMinute;
+    private Integer rateLimitWritePerMinute;
+    private Integer rateLimitReportPerMinute;
+    private Integer maxConcurrentRequests;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -71,4 +75,36 @@ public class TenantDto {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Integer getRateLimitReadPerMinute() {
+        return rateLimitReadPerMinute;
+    }
+
+    public void setRateLimitReadPerMinute(Integer rateLimitReadPerMinute) {
+        this.rateLimitReadPerMinute = rateLimitReadPerMinute;
+    }
+
+    public Integer getRateLimitWritePerMinute() {
+        return rateLimitWritePerMinute;
+    }
+
+    public void setRateLimitWritePerMinute(Integer rateLimitWritePerMinute) {
+        this.rateLimitWritePerMinute = rateLimitWritePerMinute;
+    }
+
+    public Integer getRateLimitReportPerMinute() {
+        return rateLimitReportPerMinute;
+    }
+
+    public void setRateLimitReportPerMinute(Integer rateLimitReportPerMinute) {
+        this.rateLimitReportPerMinute = rateLimitReportPerMinute;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
 }
@@ -0,0 +1,66 @@
+package com.s4r.ghorbari.core.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Signed change to a tenant's dashboard counters, or one entity's contribution to them.
+ */
+public record TenantKpiDelta(long totalUnits,
+                             long occupiedUnits,
+                             long openInvoices,
+                             BigDecimal outstandingAmount,
+                             long overdueInvoices,
+                             BigDecimal overdueAmount,
+                             BigDecimal revenueAmount,
+                             long openMaintenanceRequests) {
+
+    public static final TenantKpiDelta ZERO =
+            new TenantKpiDelta(0, 0, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+
+    public static TenantKpiDelta units(long totalUnits, long occupiedUnits) {
+        return new TenantKpiDelta(totalUnits, occupiedUnits, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+
+    public static TenantKpiDelta invoices(long openInvoices, BigDecimal outstandingAmount,
+                                          long overdueInvoices, BigDecimal overdueAmount) {
+        return new TenantKpiDelta(0, 0, openInvoices, outstandingAmount, overdueInvoices, overdueAmount, BigDecimal.ZERO, 0);
+    }
+
+    public static TenantKpiDelta revenue(BigDecimal revenueAmount) {
+        return new TenantKpiDelta(0, 0, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO, revenueAmount, 0);
+    }
+
+    public static TenantKpiDelta maintenanceRequests(long openMaintenanceRequests) {
+        return new TenantKpiDelta(0, 0, 0, BigDecimal.ZERO, 0, BigDecimal.ZERO, BigDecimal.ZERO, openMaintenanceRequests);
+    }
+
+    public TenantKpiDelta plus(TenantKpiDelta other) {
+        return new TenantKpiDelta(
+                totalUnits + other.totalUnits,
+                occupiedUnits + other.occupiedUnits,
+                openInvoices + other.openInvoices,
+                outstandingAmount.add(other.outstandingAmount),
+                overdueInvoices + other.overdueInvoices,
+                overdueAmount.add(other.overdueAmount),
+                revenueAmount.add(other.revenueAmount),
+                openMaintenanceRequests + other.openMaintenanceRequests);
+    }
+
+    public TenantKpiDelta minus(TenantKpiDelta other) {
+        return new TenantKpiDelta(
+                totalUnits - other.totalUnits,
+                occupiedUnits - other.occupiedUnits,
+                openInvoices - other.openInvoices,
+                outstandingAmount.subtract(other.outstandingAmount),
+                overdueInvoices - other.overdueInvoices,
+                overdueAmount.subtract(other.overdueAmount),
+                revenueAmount.subtract(other.revenueAmount),
+                openMaintenanceRequests - other.openMaintenanceRequests);
+    }
+
+    public boolean isZero() {
+        return totalUnits == 0 && occupiedUnits == 0 && openInvoices == 0 && overdueInvoices == 0
+                && openMaintenanceRequests == 0
+                && outstandingAmount.signum() == 0 && overdueAmount.signum() == 0 && revenueAmount.signum() == 0;
+    }
+}
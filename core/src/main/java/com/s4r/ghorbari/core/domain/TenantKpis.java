@@ -0,0 +1,38 @@
+package com.s4r.ghorbari.core.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Dashboard counters of one tenant.
+ * Open invoices are PENDING, PARTIALLY_PAID or OVERDUE; overdue ones are open and past their due date,
+ * whether or not the daily sweep has marked them yet.
+ * Revenue is the net ledger amount of payments dated in {@code revenueMonth}.
+ */
+public record TenantKpis(Long tenantId,
+                         long totalUnits,
+                         long occupiedUnits,
+                         long openInvoices,
+                         BigDecimal outstandingAmount,
+                         long overdueInvoices,
+                         BigDecimal overdueAmount,
+                         YearMonth revenueMonth,
+                         BigDecimal revenueAmount,
+                         long openMaintenanceRequests,
+                         LocalDateTime recomputedAt) {
+
+    public TenantKpis plus(TenantKpiDelta delta) {
+        return new TenantKpis(tenantId,
+                totalUnits + delta.totalUnits(),
+                occupiedUnits + delta.occupiedUnits(),
+                openInvoices + delta.openInvoices(),
+                outstandingAmount.add(delta.outstandingAmount()),
+                overdueInvoices + delta.overdueInvoices(),
+                overdueAmount.add(delta.overdueAmount()),
+                revenueMonth,
+                revenueAmount.add(delta.revenueAmount()),
+                openMaintenanceRequests + delta.openMaintenanceRequests(),
+                recomputedAt);
+    }
+}
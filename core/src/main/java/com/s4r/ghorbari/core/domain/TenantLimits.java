@@ -0,0 +1,10 @@
+package com.s4r.ghorbari.core.domain;
+
+/**
+ * Request limits configured on a tenant. A null value means the node's default applies.
+ */
+public record TenantLimits(Integer readPerMinute,
+                           Integer writePerMinute,
+                           Integer reportPerMinute,
+                           Integer maxConcurrentRequests) {
+}
@@ -0,0 +1,9 @@
+package com.s4r.ghorbari.core.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Half-open time range {@code [startTime, endTime)}.
+ */
+public record TimeSlot(LocalDateTime startTime, LocalDateTime endTime) {
+}
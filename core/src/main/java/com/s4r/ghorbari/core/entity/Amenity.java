@@ -1,10 +1,14 @@
 package com.s4r.ghorbari.core.entity;
 
+import com.s4r.ghorbari.core.cache.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "amenities")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.AMENITIES)
 public class Amenity extends TenantAwareEntity {
 
     @NotBlank
@@ -1,12 +1,16 @@
 package com.s4r.ghorbari.core.entity;
 
+import com.s4r.ghorbari.core.cache.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "apartments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.APARTMENTS)
 public class Apartment extends TenantAwareEntity {
 
     @NotBlank(message = "Apartment number is required")
@@ -1,13 +1,17 @@
 package com.s4r.ghorbari.core.entity;
 
+import com.s4r.ghorbari.core.cache.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "buildings")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BUILDINGS)
 public class Building extends TenantAwareEntity {
 
     @NotBlank
@@ -70,6 +70,10 @@ public class Invoice extends TenantAwareEntity {
     @Column(length = 1000)
     private String notes;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum InvoiceStatus {
         PENDING,
         PARTIALLY_PAID,
@@ -235,4 +239,12 @@ public class Invoice extends TenantAwareEntity {
     public void setNotes(String notes) {
         this.notes = notes;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
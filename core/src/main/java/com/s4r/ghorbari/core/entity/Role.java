@@ -1,12 +1,16 @@
 package com.s4r.ghorbari.core.entity;
 
 import com.s4r.ghorbari.core.enums.RoleName;
+import com.s4r.ghorbari.core.cache.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLES)
 public class Role extends BaseEntity {
 
     @NotBlank(message = "Role name is required")
@@ -1,11 +1,16 @@
 package com.s4r.ghorbari.core.entity;
 
+import com.s4r.ghorbari.core.cache.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "tenants")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TENANTS)
 public class Tenant extends BaseEntity {
 
     @NotBlank(message = "Tenant key is required")
@@ -25,6 +30,23 @@ public class Tenant extends BaseEntity {
     @Column(length = 500)
     private String description;
 
+    // Request limits; null falls back to the node's defaults
+    @Positive
+    @Column(name = "rate_limit_read_per_minute")
+    private Integer rateLimitReadPerMinute;
+
+    @Positive
+    @Column(name = "rate_limit_write_per_minute")
+    private Integer rateLimitWritePerMinute;
+
+    @Positive
+    @Column(name = "rate_limit_report_per_minute")
+    private Integer rateLimitReportPerMinute;
+
+    @Positive
+    @Column(name = "max_concurrent_requests")
+    private Integer maxConcurrentRequests;
+
     public Tenant() {
     }
 
@@ -65,4 +87,36 @@ public class Tenant extends BaseEntity {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Integer getRateLimitReadPerMinute() {
+        return rateLimitReadPerMinute;
+    }
+
+    public void setRateLimitReadPerMinute(Integer rateLimitReadPerMinute) {
+        this.rateLimitReadPerMinute = rateLimitReadPerMinute;
+    }
+
+    public Integer getRateLimitWritePerMinute() {
+        return rateLimitWritePerMinute;
+    }
+
+    public void setRateLimitWritePerMinute(Integer rateLimitWritePerMinute) {
+        this.rateLimitWritePerMinute = rateLimitWritePerMinute;
+    }
+
+    public Integer getRateLimitReportPerMinute() {
+        return rateLimitReportPerMinute;
+    }
+
+    public void setRateLimitReportPerMinute(Integer rateLimitReportPerMinute) {
+        this.rateLimitReportPerMinute = rateLimitReportPerMinute;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
 }
@@ -7,7 +7,8 @@ import org.hibernate.annotations.FilterDef;
 import org.hibernate.annotations.ParamDef;
 
 @MappedSuperclass
-@FilterDef(name = "tenantFilter", parameters = @ParamDef(name = "tenantId", type = Long.class))
+// Applied to lookups by id as well, so find() and lazy loads cannot reach another tenant's rows
+@FilterDef(name = "tenantFilter", parameters = @ParamDef(name = "tenantId", type = Long.class), applyToLoadByKey = true)
 @Filter(name = "tenantFilter", condition = "tenant_id = :tenantId")
 public abstract class TenantAwareEntity extends BaseEntity {
 
@@ -1,9 +1,14 @@
 package com.s4r.ghorbari.core.entity;
 
+import com.s4r.ghorbari.core.cache.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -34,6 +39,10 @@ public class User extends TenantAwareEntity {
     @Column(nullable = false)
     private Boolean enabled = true;
 
+    // Bumped on every role, password or enabled change; access tokens issued with an older version are rejected
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @Size(max = 100)
     @Column(name = "first_name", length = 100)
     private String firstName;
@@ -76,7 +85,10 @@ public class User extends TenantAwareEntity {
     @Column(name = "emergency_contact_relationship", length = 50)
     private String emergencyContactRelationship;
 
+    // Loaded by id from the collection cache instead of joining user_roles and roles on every user load
     @ManyToMany(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER_ROLES)
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -128,6 +140,14 @@ public class User extends TenantAwareEntity {
         this.enabled = enabled;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void incrementTokenVersion() {
+        this.tokenVersion++;
+    }
+
     public Set<Role> getRoles() {
         return roles;
     }
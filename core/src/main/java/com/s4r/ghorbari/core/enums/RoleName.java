@@ -5,5 +5,32 @@ public enum RoleName {
     ROLE_TENANT_ADMIN,  // Tenant admin (manages their apartment complex)
     ROLE_MANAGER,       // Property manager
     ROLE_STAFF,         // Staff member
-    ROLE_RESIDENT       // Resident/tenant
+    ROLE_RESIDENT;      // Resident/tenant
+
+    /**
+     * Single bit of this role in a role mask
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public static int maskOf(RoleName... roles) {
+        int mask = 0;
+        for (RoleName role : roles) {
+            mask |= role.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Bit of the role with this authority name, or 0 for an authority that is not a role
+     */
+    public static int maskOfAuthority(String authority) {
+        for (RoleName role : values()) {
+            if (role.name().equals(authority)) {
+                return role.mask();
+            }
+        }
+        return 0;
+    }
 }
@@ -0,0 +1,17 @@
+package com.s4r.ghorbari.core.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a booking is created, rescheduled, changes status or is deleted.
+ * {@code active} is false once the booking no longer holds its slot (cancelled, rejected or deleted);
+ * {@code previousAmenityId} differs from {@code amenityId} when the booking moved to another amenity.
+ */
+public record AmenityBookingChangedEvent(Long tenantId,
+                                         Long bookingId,
+                                         Long amenityId,
+                                         Long previousAmenityId,
+                                         LocalDateTime startTime,
+                                         LocalDateTime endTime,
+                                         boolean active) {
+}
@@ -0,0 +1,32 @@
+package com.s4r.ghorbari.core.event;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A state change read back from the outbox and handed to subscribers.
+ * Events of one aggregate are delivered in the order they were recorded; an event may be delivered more than once.
+ * {@code attributes} carries the few values subscribers need, as strings.
+ */
+public record DomainEvent(Long id,
+                          Long tenantId,
+                          String aggregateType,
+                          Long aggregateId,
+                          String type,
+                          Map<String, String> attributes,
+                          LocalDateTime occurredAt) {
+
+    public static final String PAYMENT = "PAYMENT";
+    public static final String INVOICE = "INVOICE";
+    public static final String LEASE = "LEASE";
+    public static final String AMENITY_BOOKING = "AMENITY_BOOKING";
+
+    public static final String PAYMENT_RECORDED = "PaymentRecorded";
+    public static final String INVOICE_PAID = "InvoicePaid";
+    public static final String LEASE_TERMINATED = "LeaseTerminated";
+    public static final String BOOKING_APPROVED = "BookingApproved";
+
+    public String attribute(String name) {
+        return attributes.get(name);
+    }
+}
@@ -0,0 +1,7 @@
+package com.s4r.ghorbari.core.event;
+
+/**
+ * Published whenever a tenant is created, updated, activated, deactivated or deleted.
+ */
+public record TenantChangedEvent(Long tenantId) {
+}
@@ -0,0 +1,14 @@
+package com.s4r.ghorbari.core.event;
+
+import com.s4r.ghorbari.core.domain.TenantKpiDelta;
+
+/**
+ * Published when a write changes a tenant's dashboard counters.
+ * A null {@code delta} asks for a full recompute of the tenant, for bulk operations whose effect is not tracked row by row.
+ */
+public record TenantKpiChangedEvent(Long tenantId, TenantKpiDelta delta) {
+
+    public static TenantKpiChangedEvent recompute(Long tenantId) {
+        return new TenantKpiChangedEvent(tenantId, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.s4r.ghorbari.core.event;
+
+/**
+ * Published when a change to a user affects how they authenticate or what they may access
+ * (roles, password or enabled flag). Listeners holding cached principals must drop them, and tokens
+ * issued before {@code tokenVersion} are no longer valid.
+ */
+public record UserSecurityChangedEvent(Long tenantId, String username, Long userId, int tokenVersion) {
+}
@@ -0,0 +1,27 @@
+package com.s4r.ghorbari.core.job;
+
+/**
+ * A background job run by {@link JobScheduler} on a cron schedule.
+ * Each run is claimed slice by slice in job_runs, so exactly one node executes a slice even with several
+ * nodes firing the same schedule. Jobs must tolerate being re-run for a slice that failed or whose node died,
+ * either by being idempotent or by resuming from {@link JobContext#checkpoint()}.
+ */
+public interface ClusterJob {
+
+    /**
+     * Stable name, used as the key in job_runs
+     */
+    String name();
+
+    /**
+     * Spring cron expression, or {@code "-"} to disable the schedule
+     */
+    String cron();
+
+    /**
+     * When true a run is split into one slice per active tenant, which nodes claim independently
+     */
+    boolean perTenant();
+
+    void run(JobContext context);
+}
@@ -0,0 +1,41 @@
+package com.s4r.ghorbari.core.job;
+
+import com.s4r.ghorbari.core.service.InvoiceBalanceReconciler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks stored invoice balances against their payments across all tenants.
+ */
+@Component
+class InvoiceReconciliationJob implements ClusterJob {
+
+    private final InvoiceBalanceReconciler reconciler;
+    private final String cron;
+
+    InvoiceReconciliationJob(InvoiceBalanceReconciler reconciler,
+                             @Value("${app.invoicing.reconciliation.cron:0 30 2 * * *}") String cron) {
+        this.reconciler = reconciler;
+        this.cron = cron;
+    }
+
+    @Override
+    public String name() {
+        return "invoice-reconciliation";
+    }
+
+    @Override
+    public String cron() {
+        return cron;
+    }
+
+    @Override
+    public boolean perTenant() {
+        return false;
+    }
+
+    @Override
+    public void run(JobContext context) {
+        reconciler.reconcile();
+    }
+}
@@ -0,0 +1,60 @@
+package com.s4r.ghorbari.core.job;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * The slice a job is executing, and the handle for saving its progress.
+ */
+public final class JobContext {
+
+    private final JobRunStore store;
+    private final long runId;
+    private final String nodeId;
+    private final Long tenantId;
+    private final LocalDateTime scheduledFor;
+    private String checkpoint;
+
+    JobContext(JobRunStore store, long runId, String nodeId, Long tenantId, LocalDateTime scheduledFor,
+               String checkpoint) {
+        this.store = store;
+        this.runId = runId;
+        this.nodeId = nodeId;
+        this.tenantId = tenantId;
+        this.scheduledFor = scheduledFor;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Tenant of this slice, or null for jobs that are not fanned out
+     */
+    public Long tenantId() {
+        return tenantId;
+    }
+
+    /**
+     * Business date of the run. Stays the same when a slice is retried on a later day.
+     */
+    public LocalDate scheduledDate() {
+        return scheduledFor.toLocalDate();
+    }
+
+    /**
+     * Progress saved by an earlier attempt of this slice, if any
+     */
+    public Optional<String> checkpoint() {
+        return Optional.ofNullable(checkpoint);
+    }
+
+    /**
+     * Persist progress and renew the lease. Throws if another node has taken the slice over,
+     * so a node that stalled past the lease timeout stops instead of running alongside the new owner.
+     */
+    public void saveCheckpoint(String value) {
+        if (!store.saveCheckpoint(runId, nodeId, value)) {
+            throw new IllegalStateException("Lease on job run " + runId + " was lost");
+        }
+        this.checkpoint = value;
+    }
+}
@@ -0,0 +1,143 @@
+package com.s4r.ghorbari.core.job;
+
+import com.s4r.ghorbari.core.domain.JobRun;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * job_runs access. Every statement runs in its own auto-committed transaction against the primary,
+ * and lease times use the database clock so nodes with drifting clocks agree on staleness.
+ */
+@Component
+class JobRunStore {
+
+    private static final String COLUMNS = """
+            id, job_name, tenant_id, run_key, scheduled_for, status, node_id, attempts, checkpoint, message,
+            started_at, heartbeat_at, finished_at
+            """;
+
+    private static final String CLAIM_SQL = """
+            INSERT INTO job_runs (job_name, tenant_id, run_key, scheduled_for, status, node_id, attempts,
+                                  started_at, heartbeat_at)
+            VALUES (?, ?, ?, ?, 'RUNNING', ?, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (job_name, run_key, (COALESCE(tenant_id, 0))) DO NOTHING
+            RETURNING\s""" + COLUMNS;
+
+    // Slices whose owner stopped heartbeating, or that failed and are due for another attempt
+    private static final String RECLAIM_SQL = """
+            UPDATE job_runs
+            SET status = 'RUNNING', node_id = ?, attempts = attempts + 1,
+                heartbeat_at = CURRENT_TIMESTAMP, finished_at = NULL, message = NULL
+            WHERE id = (
+                SELECT id FROM job_runs
+                WHERE job_name = ANY (?)
+                  AND ((status = 'RUNNING' AND heartbeat_at < CURRENT_TIMESTAMP - make_interval(secs => ?))
+                       OR (status = 'FAILED' AND attempts < ? AND finished_at < CURRENT_TIMESTAMP - make_interval(secs => ?)))
+                ORDER BY scheduled_for, id
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING\s""" + COLUMNS;
+
+    private static final String HEARTBEAT_SQL = """
+            UPDATE job_runs SET heartbeat_at = CURRENT_TIMESTAMP
+            WHERE id = ANY (?) AND node_id = ? AND status = 'RUNNING'
+            """;
+
+    private static final String CHECKPOINT_SQL = """
+            UPDATE job_runs SET checkpoint = ?, heartbeat_at = CURRENT_TIMESTAMP
+            WHERE id = ? AND node_id = ? AND status = 'RUNNING'
+            """;
+
+    private static final String FINISH_SQL = """
+            UPDATE job_runs SET status = ?, message = ?, finished_at = CURRENT_TIMESTAMP, heartbeat_at = CURRENT_TIMESTAMP
+            WHERE id = ? AND node_id = ? AND status = 'RUNNING'
+            """;
+
+    private static final String ACTIVE_TENANTS_SQL = "SELECT id FROM tenants WHERE active ORDER BY id";
+
+    private static final String RECENT_RUNS_SQL = "SELECT " + COLUMNS + """
+            FROM job_runs
+            WHERE (CAST(? AS VARCHAR) IS NULL OR job_name = ?)
+            ORDER BY started_at DESC, id DESC
+            LIMIT ?
+            """;
+
+    private static final String RUNS_BY_KEY_SQL = "SELECT " + COLUMNS + """
+            FROM job_runs WHERE job_name = ? AND run_key = ?
+            ORDER BY tenant_id NULLS FIRST
+            """;
+
+    private static final RowMapper<JobRun> ROW_MAPPER = (rs, rowNum) -> new JobRun(
+            rs.getLong("id"),
+            rs.getString("job_name"),
+            rs.getObject("tenant_id", Long.class),
+            rs.getString("run_key"),
+            rs.getTimestamp("scheduled_for").toLocalDateTime(),
+            JobRun.Status.valueOf(rs.getString("status")),
+            rs.getString("node_id"),
+            rs.getInt("attempts"),
+            rs.getString("checkpoint"),
+            rs.getString("message"),
+            rs.getTimestamp("started_at").toLocalDateTime(),
+            rs.getTimestamp("heartbeat_at").toLocalDateTime(),
+            toLocalDateTime(rs.getTimestamp("finished_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    JobRunStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert the slice as RUNNING for this node, or return empty when another node already has it
+     */
+    Optional<JobRun> claim(String jobName, Long tenantId, String runKey, LocalDateTime scheduledFor, String nodeId) {
+        return jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER,
+                jobName, tenantId, runKey, Timestamp.valueOf(scheduledFor), nodeId).stream().findFirst();
+    }
+
+    Optional<JobRun> reclaim(Collection<String> jobNames, String nodeId, long leaseTimeoutSeconds,
+                             int maxAttempts, long retryDelaySeconds) {
+        return jdbcTemplate.query(RECLAIM_SQL, ROW_MAPPER,
+                nodeId, jobNames.toArray(String[]::new), leaseTimeoutSeconds,
+                maxAttempts, retryDelaySeconds).stream().findFirst();
+    }
+
+    void heartbeat(Collection<Long> runIds, String nodeId) {
+        if (!runIds.isEmpty()) {
+            jdbcTemplate.update(HEARTBEAT_SQL, runIds.toArray(Long[]::new), nodeId);
+        }
+    }
+
+    boolean saveCheckpoint(long runId, String nodeId, String checkpoint) {
+        return jdbcTemplate.update(CHECKPOINT_SQL, checkpoint, runId, nodeId) == 1;
+    }
+
+    void finish(long runId, String nodeId, JobRun.Status status, String message) {
+        jdbcTemplate.update(FINISH_SQL, status.name(), message, runId, nodeId);
+    }
+
+    List<Long> activeTenantIds() {
+        return jdbcTemplate.queryForList(ACTIVE_TENANTS_SQL, Long.class);
+    }
+
+    List<JobRun> findRecentRuns(String jobName, int limit) {
+        return jdbcTemplate.query(RECENT_RUNS_SQL, ROW_MAPPER, jobName, jobName, limit);
+    }
+
+    List<JobRun> findRuns(String jobName, String runKey) {
+        return jdbcTemplate.query(RUNS_BY_KEY_SQL, ROW_MAPPER, jobName, runKey);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
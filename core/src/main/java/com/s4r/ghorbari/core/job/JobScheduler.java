@@ -0,0 +1,260 @@
+package com.s4r.ghorbari.core.job;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.JobRun;
+import com.s4r.ghorbari.core.util.Retries;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs every {@link ClusterJob} bean on its cron schedule, safely across several nodes.
+ * <p>
+ * All nodes fire the same schedule. Each run is keyed by its scheduled minute, and each slice of it (the whole
+ * run, or one tenant for fanned-out jobs) is claimed by inserting a job_runs row; the unique slice index lets
+ * exactly one node win. Nodes walking the same tenant list therefore split the fan-out between them.
+ * <p>
+ * While a slice runs, its node renews the heartbeat every interval. A slice whose heartbeat is older than the
+ * lease timeout is taken over by another node, which resumes it from the last checkpoint; failed slices are
+ * retried the same way until they run out of attempts. The job_runs rows double as the run history.
+ * <p>
+ * Fired runs and reclaim passes claim and execute their slices on a worker pool of their own, so the shared
+ * scheduling threads only fire triggers and renew heartbeats, and a long job can delay neither.
+ */
+@Component
+public class JobScheduler implements SchedulingConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobScheduler.class);
+
+    private static final DateTimeFormatter RUN_KEY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+
+    private final Map<String, ClusterJob> jobs;
+    private final JobRunStore store;
+    private final String nodeId;
+    private final long leaseTimeoutSeconds;
+    private final int maxAttempts;
+    private final long retryDelaySeconds;
+    private final Set<Long> activeRunIds = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+    private final Set<String> firingJobs = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean reclaiming = new AtomicBoolean();
+
+    public JobScheduler(List<ClusterJob> jobs,
+                        JobRunStore store,
+                        @Value("${app.jobs.node-id:}") String nodeId,
+                        @Value("${app.jobs.lease-timeout-seconds:300}") long leaseTimeoutSeconds,
+                        @Value("${app.jobs.max-attempts:3}") int maxAttempts,
+                        @Value("${app.jobs.retry-delay-seconds:300}") long retryDelaySeconds,
+                        @Value("${app.jobs.worker-threads:4}") int workerThreads) {
+        this.jobs = jobs.stream().collect(Collectors.toMap(ClusterJob::name, Function.identity()));
+        this.store = store;
+        // pid@host by default, which keeps two instances on one machine apart
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : ManagementFactory.getRuntimeMXBean().getName();
+        this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+        this.maxAttempts = maxAttempts;
+        this.retryDelaySeconds = retryDelaySeconds;
+        this.workers = Executors.newFixedThreadPool(workerThreads, Thread.ofPlatform().name("job-run-", 1).factory());
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        for (ClusterJob job : jobs.values()) {
+            if (!StringUtils.hasText(job.cron()) || Scheduled.CRON_DISABLED.equals(job.cron())) {
+                logger.info("Job {} has no schedule on node {}", job.name(), nodeId);
+                continue;
+            }
+
+            // The trigger computes the next fire time just before the task is scheduled for it,
+            // so the task reads back its own scheduled time rather than the clock it happens to start at
+            CronTrigger cron = new CronTrigger(job.cron());
+            AtomicReference<Instant> scheduledFor = new AtomicReference<>();
+            registrar.addTriggerTask(() -> fireOnWorker(job, scheduledFor.get()), context -> {
+                Instant next = cron.nextExecution(context);
+                scheduledFor.set(next);
+                return next;
+            });
+            logger.info("Job {} scheduled with cron '{}' on node {}", job.name(), job.cron(), nodeId);
+        }
+    }
+
+    /**
+     * Renew leases of slices running on this node. Kept apart from {@link #reclaimOrphans()} so a long
+     * reclaimed slice cannot hold up the heartbeat of the others.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        try {
+            store.heartbeat(activeRunIds, nodeId);
+        } catch (RuntimeException e) {
+            logger.error("Job heartbeat failed on node {}", nodeId, e);
+        }
+    }
+
+    /**
+     * Pick up slices left stale by a dead node, or failed and due for another attempt. One pass at a time runs
+     * on the worker pool; a tick that finds the previous pass still busy does nothing.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void reclaimOrphans() {
+        if (reclaiming.compareAndSet(false, true)
+                && !submit("reclaim", () -> {
+                    try {
+                        reclaimPass();
+                    } finally {
+                        reclaiming.set(false);
+                    }
+                })) {
+            reclaiming.set(false);
+        }
+    }
+
+    private void reclaimPass() {
+        try {
+            Optional<JobRun> orphan;
+            while ((orphan = store.reclaim(jobs.keySet(), nodeId, leaseTimeoutSeconds, maxAttempts, retryDelaySeconds))
+                    .isPresent()) {
+                JobRun run = orphan.get();
+                logger.warn("Node {} resuming job {} run {} (tenant {}), attempt {}",
+                        nodeId, run.jobName(), run.runKey(), run.tenantId(), run.attempts());
+                execute(jobs.get(run.jobName()), run);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Reclaiming job runs failed on node {}", nodeId, e);
+        }
+    }
+
+    /**
+     * Run a job now under a manual run key, with the same claiming and fan-out as a scheduled run
+     */
+    public List<JobRun> trigger(String jobName) {
+        ClusterJob job = jobs.get(jobName);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown job: " + jobName);
+        }
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        String runKey = "manual-" + now;
+        runSlices(job, runKey, now);
+        return store.findRuns(jobName, runKey);
+    }
+
+    public List<JobRun> findRecentRuns(String jobName, int limit) {
+        return store.findRecentRuns(jobName, limit);
+    }
+
+    public Set<String> jobNames() {
+        return jobs.keySet();
+    }
+
+    /**
+     * Hand work to the job workers, or return false when the node is shutting down
+     */
+    private boolean submit(String name, Runnable work) {
+        try {
+            workers.execute(work);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Stale slices are resumed elsewhere once their lease expires
+            logger.warn("Job work {} not started, node {} is stopping", name, nodeId);
+            return false;
+        }
+    }
+
+    /**
+     * Start a fired run on the workers. Like a trigger task running inline, a job does not overlap itself:
+     * a fire time reached while the previous run is still going is skipped.
+     */
+    private void fireOnWorker(ClusterJob job, Instant scheduledInstant) {
+        if (!firingJobs.add(job.name())) {
+            logger.warn("Job {} is still running on node {}, skipping the run due at {}", job.name(), nodeId, scheduledInstant);
+            return;
+        }
+        if (!submit(job.name(), () -> {
+            try {
+                fire(job, scheduledInstant);
+            } finally {
+                firingJobs.remove(job.name());
+            }
+        })) {
+            firingJobs.remove(job.name());
+        }
+    }
+
+    private void fire(ClusterJob job, Instant scheduledInstant) {
+        Instant instant = scheduledInstant != null ? scheduledInstant : Instant.now();
+        LocalDateTime scheduledFor = LocalDateTime.ofInstant(instant, ZoneId.systemDefault()).truncatedTo(ChronoUnit.MINUTES);
+        try {
+            runSlices(job, RUN_KEY_FORMAT.format(scheduledFor), scheduledFor);
+        } catch (RuntimeException e) {
+            logger.error("Job {} could not be started on node {}", job.name(), nodeId, e);
+        }
+    }
+
+    private void runSlices(ClusterJob job, String runKey, LocalDateTime scheduledFor) {
+        if (!job.perTenant()) {
+            store.claim(job.name(), null, runKey, scheduledFor, nodeId).ifPresent(run -> execute(job, run));
+            return;
+        }
+        for (Long tenantId : store.activeTenantIds()) {
+            store.claim(job.name(), tenantId, runKey, scheduledFor, nodeId).ifPresent(run -> execute(job, run));
+        }
+    }
+
+    private void execute(ClusterJob job, JobRun run) {
+        long startedAt = System.nanoTime();
+        // Manual triggers run on a request thread, whose tenant must survive the job
+        Long callerTenantId = TenantContext.getCurrentTenantId();
+        activeRunIds.add(run.id());
+        TenantContext.setCurrentTenantId(run.tenantId());
+        try {
+            job.run(new JobContext(store, run.id(), nodeId, run.tenantId(), run.scheduledFor(), run.checkpoint()));
+            store.finish(run.id(), nodeId, JobRun.Status.SUCCEEDED, null);
+            logger.info("Job {} run {} (tenant {}) succeeded on node {} in {} ms", job.name(), run.runKey(),
+                    run.tenantId(), nodeId, Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        } catch (RuntimeException e) {
+            logger.error("Job {} run {} (tenant {}) failed on node {}", job.name(), run.runKey(), run.tenantId(), nodeId, e);
+            store.finish(run.id(), nodeId, JobRun.Status.FAILED, Retries.failureMessage(e));
+        } finally {
+            if (callerTenantId != null) {
+                TenantContext.setCurrentTenantId(callerTenantId);
+            } else {
+                TenantContext.clear();
+            }
+            activeRunIds.remove(run.id());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        // Slices still running after this are resumed elsewhere once their lease expires
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
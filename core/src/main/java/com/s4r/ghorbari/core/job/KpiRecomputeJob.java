@@ -0,0 +1,41 @@
+package com.s4r.ghorbari.core.job;
+
+import com.s4r.ghorbari.core.service.TenantKpiCounters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the dashboard counters of all tenants in one statement, so it runs as a single slice.
+ */
+@Component
+class KpiRecomputeJob implements ClusterJob {
+
+    private final TenantKpiCounters counters;
+    private final String cron;
+
+    KpiRecomputeJob(TenantKpiCounters counters,
+                    @Value("${app.kpi.recompute-cron:0 5 0 * * *}") String cron) {
+        this.counters = counters;
+        this.cron = cron;
+    }
+
+    @Override
+    public String name() {
+        return "kpi-recompute";
+    }
+
+    @Override
+    public String cron() {
+        return cron;
+    }
+
+    @Override
+    public boolean perTenant() {
+        return false;
+    }
+
+    @Override
+    public void run(JobContext context) {
+        counters.recomputeAll();
+    }
+}
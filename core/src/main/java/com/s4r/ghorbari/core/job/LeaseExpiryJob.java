@@ -0,0 +1,94 @@
+package com.s4r.ghorbari.core.job;
+
+import com.s4r.ghorbari.core.entity.Lease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Moves fixed-term leases whose end date has passed from ACTIVE to EXPIRED.
+ * Leases are expired in id order, a chunk per transaction, and the last id of each chunk is saved as the
+ * checkpoint so a slice taken over by another node continues after it.
+ */
+@Component
+class LeaseExpiryJob implements ClusterJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseExpiryJob.class);
+
+    private static final String EXPIRE_SQL = """
+            WITH due AS (
+                SELECT id FROM leases
+                WHERE tenant_id = ? AND status = ? AND lease_type = ? AND end_date < ? AND id > ?
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE leases l
+            SET status = ?, updated_at = CURRENT_TIMESTAMP
+            FROM due
+            WHERE l.id = due.id
+            RETURNING l.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String cron;
+    private final int chunkSize;
+
+    LeaseExpiryJob(JdbcTemplate jdbcTemplate,
+                   PlatformTransactionManager transactionManager,
+                   @Value("${app.leases.expiry.cron:0 10 0 * * *}") String cron,
+                   @Value("${app.leases.expiry.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cron = cron;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public String name() {
+        return "lease-expiry";
+    }
+
+    @Override
+    public String cron() {
+        return cron;
+    }
+
+    @Override
+    public boolean perTenant() {
+        return true;
+    }
+
+    @Override
+    public void run(JobContext context) {
+        Date today = Date.valueOf(context.scheduledDate());
+        long lastId = context.checkpoint().map(Long::parseLong).orElse(0L);
+        int expired = 0;
+
+        while (true) {
+            long after = lastId;
+            List<Long> ids = transactionTemplate.execute(status -> jdbcTemplate.queryForList(EXPIRE_SQL, Long.class,
+                    context.tenantId(), Lease.LeaseStatus.ACTIVE.name(), Lease.LeaseType.FIXED_TERM.name(),
+                    today, after, chunkSize, Lease.LeaseStatus.EXPIRED.name()));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            expired += ids.size();
+            lastId = ids.stream().mapToLong(Long::longValue).max().orElse(lastId);
+            context.saveCheckpoint(Long.toString(lastId));
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        logger.info("Expired {} fixed-term leases of tenant {} ending before {}", expired, context.tenantId(), today);
+    }
+}
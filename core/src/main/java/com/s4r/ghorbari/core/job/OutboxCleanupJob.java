@@ -0,0 +1,67 @@
+package com.s4r.ghorbari.core.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes dispatched outbox events past the retention period, a chunk per statement.
+ * FAILED events are kept for inspection.
+ */
+@Component
+class OutboxCleanupJob implements ClusterJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxCleanupJob.class);
+
+    private static final String DELETE_SQL = """
+            DELETE FROM outbox_events
+            WHERE id IN (
+                SELECT id FROM outbox_events
+                WHERE status = 'DISPATCHED' AND dispatched_at < CURRENT_TIMESTAMP - make_interval(days => ?)
+                LIMIT ?
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String cron;
+    private final int retentionDays;
+    private final int chunkSize;
+
+    OutboxCleanupJob(JdbcTemplate jdbcTemplate,
+                     @Value("${app.outbox.cleanup.cron:0 45 3 * * *}") String cron,
+                     @Value("${app.outbox.cleanup.retention-days:7}") int retentionDays,
+                     @Value("${app.outbox.cleanup.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cron = cron;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public String name() {
+        return "outbox-cleanup";
+    }
+
+    @Override
+    public String cron() {
+        return cron;
+    }
+
+    @Override
+    public boolean perTenant() {
+        return false;
+    }
+
+    @Override
+    public void run(JobContext context) {
+        int deleted = 0;
+        int chunk;
+        do {
+            chunk = jdbcTemplate.update(DELETE_SQL, retentionDays, chunkSize);
+            deleted += chunk;
+        } while (chunk == chunkSize);
+        logger.info("Deleted {} dispatched outbox events older than {} days", deleted, retentionDays);
+    }
+}
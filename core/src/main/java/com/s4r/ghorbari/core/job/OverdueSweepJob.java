@@ -0,0 +1,42 @@
+package com.s4r.ghorbari.core.job;
+
+import com.s4r.ghorbari.core.service.InvoiceOverdueSweeper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks each tenant's past-due invoices OVERDUE and charges late fees as of the scheduled date.
+ * The sweep only touches invoices not yet marked or charged, so a retried slice continues where it stopped.
+ */
+@Component
+class OverdueSweepJob implements ClusterJob {
+
+    private final InvoiceOverdueSweeper sweeper;
+    private final String cron;
+
+    OverdueSweepJob(InvoiceOverdueSweeper sweeper,
+                    @Value("${app.invoicing.overdue-sweep.cron:0 15 0 * * *}") String cron) {
+        this.sweeper = sweeper;
+        this.cron = cron;
+    }
+
+    @Override
+    public String name() {
+        return "overdue-sweep";
+    }
+
+    @Override
+    public String cron() {
+        return cron;
+    }
+
+    @Override
+    public boolean perTenant() {
+        return true;
+    }
+
+    @Override
+    public void run(JobContext context) {
+        sweeper.sweep(context.tenantId(), context.scheduledDate());
+    }
+}
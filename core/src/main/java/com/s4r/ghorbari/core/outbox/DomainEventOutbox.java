@@ -0,0 +1,50 @@
+package com.s4r.ghorbari.core.outbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records domain events in the outbox table, in the caller's transaction, so an event exists exactly when
+ * the state change it describes was committed.
+ */
+@Component
+public class DomainEventOutbox {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox_events (tenant_id, aggregate_type, aggregate_id, event_type, attributes, status,
+                                       attempts, available_at, occurred_at)
+            VALUES (?, ?, ?, ?, ?, 'PENDING', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DomainEventOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Record an event. {@code keyValues} are alternating attribute names and values; null values are left out.
+     * Must be called inside the transaction that makes the change.
+     */
+    public void record(Long tenantId, String aggregateType, Long aggregateId, String eventType, Object... keyValues) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Domain events must be recorded inside the transaction that makes the change");
+        }
+        if (keyValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Attributes must be given as name and value pairs");
+        }
+
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            if (keyValues[i + 1] != null) {
+                attributes.put(String.valueOf(keyValues[i]), String.valueOf(keyValues[i + 1]));
+            }
+        }
+        jdbcTemplate.update(INSERT_SQL, tenantId, aggregateType, aggregateId, eventType,
+                OutboxAttributes.encode(attributes));
+    }
+}
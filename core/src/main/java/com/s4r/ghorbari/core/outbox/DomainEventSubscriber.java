@@ -0,0 +1,20 @@
+package com.s4r.ghorbari.core.outbox;
+
+import com.s4r.ghorbari.core.event.DomainEvent;
+
+/**
+ * Receives outbox events from {@link OutboxDispatcher}, on one node of the cluster, after the recording
+ * transaction committed. The event's tenant is set in {@link com.s4r.ghorbari.core.context.TenantContext}.
+ * <p>
+ * Delivery is at least once, so handling must be idempotent. Throwing holds back the aggregate's later events
+ * and retries the event with backoff; after the last attempt it is marked FAILED and the aggregate moves on.
+ * Writes should use their own transaction rather than rely on the dispatcher's.
+ */
+public interface DomainEventSubscriber {
+
+    default boolean accepts(DomainEvent event) {
+        return true;
+    }
+
+    void onEvent(DomainEvent event);
+}
@@ -0,0 +1,39 @@
+package com.s4r.ghorbari.core.outbox;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Event attributes stored as a form-encoded string ({@code key=value&key=value}), which keeps the outbox
+ * free of a JSON dependency in core
+ */
+final class OutboxAttributes {
+
+    private OutboxAttributes() {
+    }
+
+    static String encode(Map<String, String> attributes) {
+        StringJoiner joiner = new StringJoiner("&");
+        attributes.forEach((key, value) -> joiner.add(URLEncoder.encode(key, StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return joiner.toString();
+    }
+
+    static Map<String, String> decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            attributes.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return Collections.unmodifiableMap(attributes);
+    }
+}
@@ -0,0 +1,176 @@
+package com.s4r.ghorbari.core.outbox;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.event.DomainEvent;
+import com.s4r.ghorbari.core.util.Retries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delivers pending outbox events to the {@link DomainEventSubscriber} beans in batches.
+ * <p>
+ * One node dispatches at a time: each batch runs in a transaction holding a transaction-scoped advisory lock,
+ * so no connection stays pinned between polls and another node takes over as soon as this one stops.
+ * Events are delivered in id order. When a subscriber throws, the event is retried after a backoff and the
+ * rest of its aggregate's events wait behind it, which keeps delivery ordered per aggregate. A batch only selects
+ * deliverable events (due, and with no earlier pending event of the same aggregate), so events waiting out a
+ * backoff never crowd other aggregates out of the batch.
+ * <p>
+ * Each delivery runs in its own transaction, so a subscriber that fails (or marks its work rollback-only)
+ * only rolls back its own writes and never the batch transaction that records the outcome.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('outbox-dispatch'))";
+
+    private static final String PENDING_SQL = """
+            SELECT id, tenant_id, aggregate_type, aggregate_id, event_type, attributes, attempts, occurred_at
+            FROM outbox_events e
+            WHERE status = 'PENDING'
+              AND available_at <= CURRENT_TIMESTAMP
+              AND NOT EXISTS (
+                  SELECT 1 FROM outbox_events earlier
+                  WHERE earlier.aggregate_type = e.aggregate_type
+                    AND earlier.aggregate_id = e.aggregate_id
+                    AND earlier.id < e.id
+                    AND earlier.status = 'PENDING')
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String MARK_DISPATCHED_SQL = """
+            UPDATE outbox_events
+            SET status = 'DISPATCHED', attempts = attempts + 1, dispatched_at = CURRENT_TIMESTAMP
+            WHERE id = ANY (?)
+            """;
+
+    private static final String MARK_FAILED_ATTEMPT_SQL = """
+            UPDATE outbox_events
+            SET attempts = attempts + 1, last_error = ?,
+                status = CASE WHEN attempts + 1 >= ? THEN 'FAILED' ELSE 'PENDING' END,
+                available_at = CURRENT_TIMESTAMP + make_interval(secs => ?)
+            WHERE id = ?
+            """;
+
+    private record PendingEvent(DomainEvent event, int attempts) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate deliveryTemplate;
+    private final List<DomainEventSubscriber> subscribers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffSeconds;
+    private final long maxBackoffSeconds;
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ObjectProvider<DomainEventSubscriber> subscribers,
+                            @Value("${app.outbox.batch-size:200}") int batchSize,
+                            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${app.outbox.retry.initial-backoff-seconds:5}") long initialBackoffSeconds,
+                            @Value("${app.outbox.retry.max-backoff-seconds:600}") long maxBackoffSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deliveryTemplate = new TransactionTemplate(transactionManager);
+        this.deliveryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.subscribers = subscribers.orderedStream().toList();
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffSeconds = initialBackoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-millis:500}")
+    public void dispatch() {
+        try {
+            // Keep going while batches come back full, so a burst drains without waiting for the next poll
+            Integer processed;
+            do {
+                processed = transactionTemplate.execute(status -> dispatchBatch());
+            } while (processed != null && processed >= batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Outbox dispatch failed", e);
+        }
+    }
+
+    /**
+     * Deliver one batch and return the number of events attempted, or 0 when another node holds the lock
+     */
+    private int dispatchBatch() {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class))) {
+            return 0;
+        }
+
+        List<PendingEvent> pending = jdbcTemplate.query(PENDING_SQL, (rs, rowNum) -> new PendingEvent(
+                new DomainEvent(
+                        rs.getLong("id"),
+                        rs.getObject("tenant_id", Long.class),
+                        rs.getString("aggregate_type"),
+                        rs.getLong("aggregate_id"),
+                        rs.getString("event_type"),
+                        OutboxAttributes.decode(rs.getString("attributes")),
+                        rs.getTimestamp("occurred_at").toLocalDateTime()),
+                rs.getInt("attempts")), batchSize);
+
+        List<Long> delivered = new ArrayList<>();
+        for (PendingEvent candidate : pending) {
+            RuntimeException failure = deliver(candidate.event());
+            if (failure == null) {
+                delivered.add(candidate.event().id());
+                continue;
+            }
+
+            int attempts = candidate.attempts() + 1;
+            jdbcTemplate.update(MARK_FAILED_ATTEMPT_SQL, Retries.failureMessage(failure), maxAttempts,
+                    Retries.backoffSeconds(attempts, initialBackoffSeconds, maxBackoffSeconds), candidate.event().id());
+            if (attempts >= maxAttempts) {
+                logger.error("Outbox event {} ({} of {} {}) failed {} times and was given up", candidate.event().id(),
+                        candidate.event().type(), candidate.event().aggregateType(), candidate.event().aggregateId(),
+                        attempts, failure);
+            } else {
+                logger.warn("Outbox event {} ({} of {} {}) failed on attempt {}, will retry", candidate.event().id(),
+                        candidate.event().type(), candidate.event().aggregateType(), candidate.event().aggregateId(),
+                        attempts, failure);
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            jdbcTemplate.update(MARK_DISPATCHED_SQL, (Object) delivered.toArray(Long[]::new));
+        }
+        return pending.size();
+    }
+
+    private RuntimeException deliver(DomainEvent event) {
+        TenantContext.setCurrentTenantId(event.tenantId());
+        try {
+            deliveryTemplate.executeWithoutResult(status -> {
+                for (DomainEventSubscriber subscriber : subscribers) {
+                    if (subscriber.accepts(event)) {
+                        subscriber.onEvent(event);
+                    }
+                }
+            });
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
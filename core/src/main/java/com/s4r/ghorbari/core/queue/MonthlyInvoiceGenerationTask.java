@@ -0,0 +1,47 @@
+package com.s4r.ghorbari.core.queue;
+
+import com.s4r.ghorbari.core.domain.InvoiceGenerationResult;
+import com.s4r.ghorbari.core.event.TenantKpiChangedEvent;
+import com.s4r.ghorbari.core.service.MonthlyInvoiceGenerator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Generates a tenant's invoices for the month in the payload ({@code yyyy-MM}).
+ * Retries are safe: leases already invoiced for the month are skipped.
+ */
+@Component
+public class MonthlyInvoiceGenerationTask implements TaskHandler {
+
+    public static final String TYPE = "invoice.generate-monthly";
+
+    private final MonthlyInvoiceGenerator generator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    MonthlyInvoiceGenerationTask(MonthlyInvoiceGenerator generator, ApplicationEventPublisher eventPublisher) {
+        this.generator = generator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public String queue() {
+        return "invoicing";
+    }
+
+    @Override
+    public String handle(Long tenantId, String payload) {
+        InvoiceGenerationResult result = generator.generate(tenantId, YearMonth.parse(payload));
+        if (result.invoicesCreated() > 0) {
+            eventPublisher.publishEvent(TenantKpiChangedEvent.recompute(tenantId));
+        }
+        return "%d invoices created for %s; %d of %d active leases were already invoiced"
+                .formatted(result.invoicesCreated(), result.month(), result.alreadyInvoiced(), result.activeLeases());
+    }
+}
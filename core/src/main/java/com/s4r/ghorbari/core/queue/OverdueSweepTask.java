@@ -0,0 +1,40 @@
+package com.s4r.ghorbari.core.queue;
+
+import com.s4r.ghorbari.core.domain.InvoiceSweepResult;
+import com.s4r.ghorbari.core.service.InvoiceOverdueSweeper;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Runs the overdue sweep for a tenant as of the date in the payload, fixed when the task was requested
+ * so a retry on a later day does not move the late-fee cut-off.
+ */
+@Component
+public class OverdueSweepTask implements TaskHandler {
+
+    public static final String TYPE = "invoice.sweep-overdue";
+
+    private final InvoiceOverdueSweeper sweeper;
+
+    OverdueSweepTask(InvoiceOverdueSweeper sweeper) {
+        this.sweeper = sweeper;
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public String queue() {
+        return "invoicing";
+    }
+
+    @Override
+    public String handle(Long tenantId, String payload) {
+        InvoiceSweepResult result = sweeper.sweep(tenantId, LocalDate.parse(payload));
+        return "%d invoices marked overdue, %d late fees charged totalling %s as of %s"
+                .formatted(result.markedOverdue(), result.lateFeesCharged(), result.lateFeeTotal(), result.sweepDate());
+    }
+}
@@ -0,0 +1,25 @@
+package com.s4r.ghorbari.core.queue;
+
+/**
+ * Executes one type of queued task on the worker pool.
+ * Handlers run without a signed-in user, so they call components that take the tenant explicitly rather than
+ * role-checked services; the tenant is also set in {@link com.s4r.ghorbari.core.context.TenantContext}.
+ * A task may run more than once when it is retried or its worker dies, so handlers must be idempotent.
+ */
+public interface TaskHandler {
+
+    /**
+     * Stable type name stored with each task
+     */
+    String type();
+
+    /**
+     * Queue the task is placed on; each queue has its own concurrency limit
+     */
+    String queue();
+
+    /**
+     * Run the task and return a short summary stored as its result. Any exception fails this attempt.
+     */
+    String handle(Long tenantId, String payload);
+}
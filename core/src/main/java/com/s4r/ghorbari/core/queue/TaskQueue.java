@@ -0,0 +1,67 @@
+package com.s4r.ghorbari.core.queue;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.QueuedTask;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Entry point for handing work to the worker pool. Tasks are stored for the current tenant and picked up
+ * by whichever node's {@link TaskWorkerPool} has a free slot on the handler's queue.
+ */
+@Component
+public class TaskQueue {
+
+    private final Map<String, TaskHandler> handlers;
+    private final TaskQueueStore store;
+    private final int maxAttempts;
+
+    public TaskQueue(List<TaskHandler> handlers,
+                     TaskQueueStore store,
+                     @Value("${app.queue.max-attempts:5}") int maxAttempts) {
+        this.handlers = handlers.stream().collect(Collectors.toMap(TaskHandler::type, Function.identity()));
+        this.store = store;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Store a task for the current tenant. Joins the caller's transaction when there is one.
+     */
+    public QueuedTask enqueue(String taskType, String payload) {
+        TaskHandler handler = handlers.get(taskType);
+        if (handler == null) {
+            throw new IllegalArgumentException("No handler for task type: " + taskType);
+        }
+        return store.enqueue(TenantContext.getCurrentTenantId(), handler.queue(), taskType, payload, maxAttempts);
+    }
+
+    public Optional<QueuedTask> find(long taskId, Long tenantId) {
+        return store.find(taskId, tenantId);
+    }
+
+    public List<QueuedTask> findDeadLettered(Long tenantId, int limit) {
+        return store.findDead(tenantId, limit);
+    }
+
+    /**
+     * Put a dead-lettered task back on its queue with a fresh set of attempts
+     */
+    public Optional<QueuedTask> retry(long taskId, Long tenantId) {
+        return store.retry(taskId, tenantId);
+    }
+
+    Optional<TaskHandler> handler(String taskType) {
+        return Optional.ofNullable(handlers.get(taskType));
+    }
+
+    Collection<TaskHandler> handlers() {
+        return handlers.values();
+    }
+}
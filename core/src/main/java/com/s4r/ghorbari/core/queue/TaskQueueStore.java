@@ -0,0 +1,168 @@
+package com.s4r.ghorbari.core.queue;
+
+import com.s4r.ghorbari.core.domain.QueuedTask;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * queued_tasks access. Worker statements run auto-committed against the primary and use the database clock,
+ * so every node agrees on when a task becomes due or its lease expires. Enqueueing joins the caller's
+ * transaction, so a task only becomes visible to workers once the work that requested it has committed.
+ */
+@Component
+class TaskQueueStore {
+
+    private static final String COLUMNS = """
+            id, tenant_id, queue, task_type, payload, status, attempts, max_attempts, available_at, result,
+            last_error, created_at, started_at, finished_at
+            """;
+
+    private static final String ENQUEUE_SQL = """
+            INSERT INTO queued_tasks (tenant_id, queue, task_type, payload, status, attempts, max_attempts,
+                                      available_at, created_at)
+            VALUES (?, ?, ?, ?, 'QUEUED', 0, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            RETURNING\s""" + COLUMNS;
+
+    private static final String CLAIM_SQL = """
+            UPDATE queued_tasks
+            SET status = 'RUNNING', attempts = attempts + 1, locked_by = ?, locked_at = CURRENT_TIMESTAMP,
+                started_at = CURRENT_TIMESTAMP
+            WHERE id IN (
+                SELECT id FROM queued_tasks
+                WHERE status = 'QUEUED' AND queue = ? AND available_at <= CURRENT_TIMESTAMP
+                ORDER BY available_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING\s""" + COLUMNS;
+
+    private static final String HEARTBEAT_SQL = """
+            UPDATE queued_tasks SET locked_at = CURRENT_TIMESTAMP
+            WHERE id = ANY (?) AND locked_by = ? AND status = 'RUNNING'
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE queued_tasks
+            SET status = 'SUCCEEDED', result = ?, locked_at = NULL, finished_at = CURRENT_TIMESTAMP
+            WHERE id = ? AND locked_by = ? AND status = 'RUNNING'
+            """;
+
+    // Back to the queue after the backoff, or dead-lettered once the attempts are used up
+    private static final String FAIL_SQL = """
+            UPDATE queued_tasks
+            SET status = CASE WHEN attempts >= max_attempts THEN 'DEAD' ELSE 'QUEUED' END,
+                available_at = CASE WHEN attempts >= max_attempts THEN available_at
+                                    ELSE CURRENT_TIMESTAMP + make_interval(secs => ?) END,
+                finished_at = CASE WHEN attempts >= max_attempts THEN CURRENT_TIMESTAMP END,
+                last_error = ?, locked_at = NULL
+            WHERE id = ? AND locked_by = ? AND status = 'RUNNING'
+            RETURNING status
+            """;
+
+    // Tasks whose worker stopped renewing the lease count as a failed attempt
+    private static final String EXPIRE_LEASES_SQL = """
+            UPDATE queued_tasks
+            SET status = CASE WHEN attempts >= max_attempts THEN 'DEAD' ELSE 'QUEUED' END,
+                available_at = CURRENT_TIMESTAMP,
+                finished_at = CASE WHEN attempts >= max_attempts THEN CURRENT_TIMESTAMP END,
+                last_error = 'Lease of worker ' || locked_by || ' expired', locked_at = NULL
+            WHERE status = 'RUNNING' AND locked_at < CURRENT_TIMESTAMP - make_interval(secs => ?)
+            """;
+
+    private static final String FIND_SQL = "SELECT " + COLUMNS + """
+            FROM queued_tasks WHERE id = ? AND tenant_id = ?
+            """;
+
+    private static final String FIND_DEAD_SQL = "SELECT " + COLUMNS + """
+            FROM queued_tasks
+            WHERE tenant_id = ? AND status = 'DEAD'
+            ORDER BY created_at DESC, id DESC
+            LIMIT ?
+            """;
+
+    private static final String RETRY_SQL = """
+            UPDATE queued_tasks
+            SET status = 'QUEUED', attempts = 0, available_at = CURRENT_TIMESTAMP, locked_by = NULL,
+                started_at = NULL, finished_at = NULL
+            WHERE id = ? AND tenant_id = ? AND status = 'DEAD'
+            RETURNING\s""" + COLUMNS;
+
+    private static final RowMapper<QueuedTask> ROW_MAPPER = (rs, rowNum) -> new QueuedTask(
+            rs.getLong("id"),
+            rs.getObject("tenant_id", Long.class),
+            rs.getString("queue"),
+            rs.getString("task_type"),
+            rs.getString("payload"),
+            QueuedTask.Status.valueOf(rs.getString("status")),
+            rs.getInt("attempts"),
+            rs.getInt("max_attempts"),
+            rs.getTimestamp("available_at").toLocalDateTime(),
+            rs.getString("result"),
+            rs.getString("last_error"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            toLocalDateTime(rs.getTimestamp("started_at")),
+            toLocalDateTime(rs.getTimestamp("finished_at")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TaskQueueStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    QueuedTask enqueue(Long tenantId, String queue, String taskType, String payload, int maxAttempts) {
+        return jdbcTemplate.queryForObject(ENQUEUE_SQL, ROW_MAPPER, tenantId, queue, taskType, payload, maxAttempts);
+    }
+
+    /**
+     * Mark up to {@code limit} due tasks of the queue RUNNING for this worker, skipping rows other workers are claiming
+     */
+    List<QueuedTask> claim(String queue, int limit, String workerId) {
+        return jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, workerId, queue, limit);
+    }
+
+    void heartbeat(Collection<Long> taskIds, String workerId) {
+        if (!taskIds.isEmpty()) {
+            jdbcTemplate.update(HEARTBEAT_SQL, taskIds.toArray(Long[]::new), workerId);
+        }
+    }
+
+    void complete(long taskId, String workerId, String result) {
+        jdbcTemplate.update(COMPLETE_SQL, result, taskId, workerId);
+    }
+
+    /**
+     * Record a failed attempt and return the resulting status, or empty when the lease was already lost
+     */
+    Optional<QueuedTask.Status> fail(long taskId, String workerId, String error, long backoffSeconds) {
+        return jdbcTemplate.queryForList(FAIL_SQL, String.class, backoffSeconds, error, taskId, workerId).stream()
+                .findFirst()
+                .map(QueuedTask.Status::valueOf);
+    }
+
+    int expireLeases(long leaseTimeoutSeconds) {
+        return jdbcTemplate.update(EXPIRE_LEASES_SQL, leaseTimeoutSeconds);
+    }
+
+    Optional<QueuedTask> find(long taskId, Long tenantId) {
+        return jdbcTemplate.query(FIND_SQL, ROW_MAPPER, taskId, tenantId).stream().findFirst();
+    }
+
+    List<QueuedTask> findDead(Long tenantId, int limit) {
+        return jdbcTemplate.query(FIND_DEAD_SQL, ROW_MAPPER, tenantId, limit);
+    }
+
+    Optional<QueuedTask> retry(long taskId, Long tenantId) {
+        return jdbcTemplate.query(RETRY_SQL, ROW_MAPPER, taskId, tenantId).stream().findFirst();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,167 @@
+package com.s4r.ghorbari.core.queue;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.QueuedTask;
+import com.s4r.ghorbari.core.util.Retries;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls the queues and runs claimed tasks, each queue on its own fixed pool of worker threads.
+ * <p>
+ * A poll only claims as many tasks as the queue has idle workers, so the concurrency limit holds per node
+ * and tasks never wait in memory where a crash would strand them. Running tasks keep their lease alive with a
+ * heartbeat; tasks whose lease expired on a dead node are returned to the queue by any surviving node.
+ * Failed attempts are retried with exponential backoff and dead-lettered after the last attempt.
+ */
+@Component
+public class TaskWorkerPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskWorkerPool.class);
+
+    private static final int MAX_RESULT_LENGTH = 4000;
+
+    private record Lane(String queue, int concurrency, ExecutorService executor, AtomicInteger inFlight) {
+    }
+
+    private final TaskQueue taskQueue;
+    private final TaskQueueStore store;
+    private final String workerId;
+    private final long leaseTimeoutSeconds;
+    private final long initialBackoffSeconds;
+    private final long maxBackoffSeconds;
+    private final Map<String, Lane> lanes = new LinkedHashMap<>();
+    private final Set<Long> runningTaskIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    public TaskWorkerPool(TaskQueue taskQueue,
+                          TaskQueueStore store,
+                          Environment environment,
+                          @Value("${app.jobs.node-id:}") String nodeId,
+                          @Value("${app.queue.default-concurrency:2}") int defaultConcurrency,
+                          @Value("${app.queue.lease-timeout-seconds:300}") long leaseTimeoutSeconds,
+                          @Value("${app.queue.retry.initial-backoff-seconds:30}") long initialBackoffSeconds,
+                          @Value("${app.queue.retry.max-backoff-seconds:3600}") long maxBackoffSeconds) {
+        this.taskQueue = taskQueue;
+        this.store = store;
+        this.workerId = StringUtils.hasText(nodeId) ? nodeId : ManagementFactory.getRuntimeMXBean().getName();
+        this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+        this.initialBackoffSeconds = initialBackoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+
+        for (TaskHandler handler : taskQueue.handlers()) {
+            lanes.computeIfAbsent(handler.queue(), queue -> {
+                int concurrency = environment.getProperty("app.queue.queues." + queue + ".concurrency",
+                        Integer.class, defaultConcurrency);
+                ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+                        Thread.ofPlatform().name("task-" + queue + "-", 1).factory());
+                logger.info("Task queue {} runs up to {} tasks at a time on worker {}", queue, concurrency, workerId);
+                return new Lane(queue, concurrency, executor, new AtomicInteger());
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.queue.poll-interval-millis:1000}")
+    public void poll() {
+        if (stopping) {
+            return;
+        }
+        for (Lane lane : lanes.values()) {
+            int idle = lane.concurrency() - lane.inFlight().get();
+            if (idle <= 0) {
+                continue;
+            }
+            try {
+                List<QueuedTask> claimed = store.claim(lane.queue(), idle, workerId);
+                for (QueuedTask task : claimed) {
+                    lane.inFlight().incrementAndGet();
+                    runningTaskIds.add(task.id());
+                    lane.executor().execute(() -> run(lane, task));
+                }
+            } catch (RuntimeException e) {
+                logger.error("Polling task queue {} failed", lane.queue(), e);
+            }
+        }
+    }
+
+    /**
+     * Renew leases of tasks running here and return tasks of dead workers to their queue
+     */
+    @Scheduled(fixedDelayString = "${app.queue.heartbeat-interval-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void maintainLeases() {
+        try {
+            store.heartbeat(runningTaskIds, workerId);
+            int expired = store.expireLeases(leaseTimeoutSeconds);
+            if (expired > 0) {
+                logger.warn("Returned {} tasks with expired leases to their queues", expired);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Task lease maintenance failed on worker {}", workerId, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        stopping = true;
+        for (Lane lane : lanes.values()) {
+            lane.executor().shutdown();
+        }
+        // Tasks still running after this are picked up elsewhere once their lease expires
+        for (Lane lane : lanes.values()) {
+            lane.executor().awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private void run(Lane lane, QueuedTask task) {
+        long startedAt = System.currentTimeMillis();
+        TenantContext.setCurrentTenantId(task.tenantId());
+        try {
+            TaskHandler handler = taskQueue.handler(task.taskType())
+                    .orElseThrow(() -> new IllegalStateException("No handler for task type: " + task.taskType()));
+            String result = handler.handle(task.tenantId(), task.payload());
+            store.complete(task.id(), workerId, Retries.truncate(result, MAX_RESULT_LENGTH));
+            logger.info("Task {} ({}) of tenant {} succeeded in {} ms", task.id(), task.taskType(), task.tenantId(),
+                    System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException e) {
+            fail(task, e);
+        } finally {
+            TenantContext.clear();
+            runningTaskIds.remove(task.id());
+            lane.inFlight().decrementAndGet();
+        }
+    }
+
+    private void fail(QueuedTask task, RuntimeException failure) {
+        try {
+            QueuedTask.Status status = store.fail(task.id(), workerId, Retries.failureMessage(failure),
+                    Retries.backoffSeconds(task.attempts(), initialBackoffSeconds, maxBackoffSeconds)).orElse(null);
+            if (status == QueuedTask.Status.DEAD) {
+                logger.error("Task {} ({}) of tenant {} dead-lettered after {} attempts", task.id(), task.taskType(),
+                        task.tenantId(), task.attempts(), failure);
+            } else {
+                logger.warn("Task {} ({}) of tenant {} failed on attempt {}, will retry", task.id(), task.taskType(),
+                        task.tenantId(), task.attempts(), failure);
+            }
+        } catch (RuntimeException e) {
+            // The lease expires and the task is retried from there
+            logger.error("Could not record failure of task {}", task.id(), e);
+        }
+    }
+}
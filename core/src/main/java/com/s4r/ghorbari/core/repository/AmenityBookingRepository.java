@@ -1,7 +1,6 @@
 package com.s4r.ghorbari.core.repository;
 
 import com.s4r.ghorbari.core.entity.AmenityBooking;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AmenityBookingRepository extends JpaRepository<AmenityBooking, Long> {
+public interface AmenityBookingRepository extends KeysetPagingRepository<AmenityBooking> {
 
     Optional<AmenityBooking> findByBookingReference(String bookingReference);
 
@@ -21,11 +20,20 @@ public interface AmenityBookingRepository extends JpaRepository<AmenityBooking,
 
     List<AmenityBooking> findByStatus(AmenityBooking.BookingStatus status);
 
-    @Query("SELECT ab FROM AmenityBooking ab WHERE ab.amenityId = :amenityId AND ab.startTime <= :endTime AND ab.endTime >= :startTime AND ab.status NOT IN ('CANCELLED', 'REJECTED')")
+    /**
+     * Bookings holding a slot that intersects the half-open range {@code [startTime, endTime)},
+     * matching the amenity_bookings_no_overlap exclusion constraint (back-to-back bookings do not conflict)
+     */
+    @Query("SELECT ab FROM AmenityBooking ab WHERE ab.amenityId = :amenityId AND ab.startTime < :endTime AND ab.endTime > :startTime AND ab.status NOT IN ('CANCELLED', 'REJECTED')")
     List<AmenityBooking> findConflictingBookings(@Param("amenityId") Long amenityId,
                                                   @Param("startTime") LocalDateTime startTime,
                                                   @Param("endTime") LocalDateTime endTime);
 
+    @Query("SELECT ab FROM AmenityBooking ab WHERE ab.tenantId = :tenantId AND ab.amenityId = :amenityId AND ab.endTime > :endingAfter AND ab.status NOT IN ('CANCELLED', 'REJECTED')")
+    List<AmenityBooking> findActiveBookingsEndingAfter(@Param("tenantId") Long tenantId,
+                                                        @Param("amenityId") Long amenityId,
+                                                        @Param("endingAfter") LocalDateTime endingAfter);
+
     @Query("SELECT ab FROM AmenityBooking ab WHERE ab.amenityId = :amenityId AND ab.startTime >= :startDate AND ab.endTime <= :endDate")
     List<AmenityBooking> findBookingsByAmenityAndDateRange(@Param("amenityId") Long amenityId,
                                                             @Param("startDate") LocalDateTime startDate,
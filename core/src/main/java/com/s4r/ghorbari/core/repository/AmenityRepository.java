@@ -1,13 +1,12 @@
 package com.s4r.ghorbari.core.repository;
 
 import com.s4r.ghorbari.core.entity.Amenity;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface AmenityRepository extends JpaRepository<Amenity, Long> {
+public interface AmenityRepository extends KeysetPagingRepository<Amenity> {
 
     List<Amenity> findByType(Amenity.AmenityType type);
 
@@ -1,7 +1,6 @@
 package com.s4r.ghorbari.core.repository;
 
 import com.s4r.ghorbari.core.entity.Announcement;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,7 +9,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
+public interface AnnouncementRepository extends KeysetPagingRepository<Announcement> {
 
     List<Announcement> findByType(Announcement.AnnouncementType type);
 
@@ -1,15 +1,17 @@
 package com.s4r.ghorbari.core.repository;
 
 import com.s4r.ghorbari.core.entity.Apartment;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ApartmentRepository extends JpaRepository<Apartment, Long> {
+public interface ApartmentRepository extends KeysetPagingRepository<Apartment> {
 
     List<Apartment> findByStatus(Apartment.ApartmentStatus status);
 
@@ -28,4 +30,13 @@ public interface ApartmentRepository extends JpaRepository<Apartment, Long> {
 
     @Query("SELECT a FROM Apartment a LEFT JOIN FETCH a.building WHERE a.buildingId = :buildingId")
     List<Apartment> findByBuildingIdWithBuilding(Long buildingId);
+
+    @Override
+    @Query("SELECT a FROM Apartment a LEFT JOIN FETCH a.building ORDER BY a.createdAt DESC, a.id DESC")
+    List<Apartment> findFirstPage(Pageable pageable);
+
+    @Override
+    @Query("SELECT a FROM Apartment a LEFT JOIN FETCH a.building WHERE a.createdAt < :createdAt " +
+            "OR (a.createdAt = :createdAt AND a.id < :id) ORDER BY a.createdAt DESC, a.id DESC")
+    List<Apartment> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
@@ -1,14 +1,17 @@
 package com.s4r.ghorbari.core.repository;
 
 import com.s4r.ghorbari.core.entity.Building;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BuildingRepository extends JpaRepository<Building, Long> {
+public interface BuildingRepository extends KeysetPagingRepository<Building> {
 
     List<Building> findByTenantId(Long tenantId);
 
@@ -18,4 +21,12 @@ public interface BuildingRepository extends JpaRepository<Building, Long> {
 
     // Manager-related queries
     List<Building> findByManagersId(Long managerId);
+
+    @Query("SELECT b FROM Building b WHERE b.tenantId = :tenantId ORDER BY b.createdAt DESC, b.id DESC")
+    List<Building> findFirstPageByTenantId(@Param("tenantId") Long tenantId, Pageable pageable);
+
+    @Query("SELECT b FROM Building b WHERE b.tenantId = :tenantId AND (b.createdAt < :createdAt " +
+            "OR (b.createdAt = :createdAt AND b.id < :id)) ORDER BY b.createdAt DESC, b.id DESC")
+    List<Building> findPageAfterByTenantId(@Param("tenantId") Long tenantId, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Pageable pageable);
 }
@@ -1,32 +1,89 @@
 package com.s4r.ghorbari.core.repository;
 
+import com.s4r.ghorbari.core.domain.InvoiceSummary;
 import com.s4r.ghorbari.core.entity.Invoice;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends KeysetPagingRepository<Invoice> {
+
+    /**
+     * Select clause of the list queries; rows go straight into {@link InvoiceSummary} without entity hydration
+     */
+    String SUMMARY = "SELECT new com.s4r.ghorbari.core.domain.InvoiceSummary(i.id, i.invoiceNumber, i.leaseId, " +
+            "i.residentId, i.issueDate, i.dueDate, i.totalAmount, i.paidAmount, i.status, i.paidDate, i.createdAt) " +
+            "FROM Invoice i ";
 
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
 
-    List<Invoice> findByStatus(Invoice.InvoiceStatus status);
+    List<Invoice> findByInvoiceNumberIn(Collection<String> invoiceNumbers);
+
+    /**
+     * Add a signed amount to the paid balance and derive the status from the new balance in one statement.
+     * An invoice that is not fully paid and past its due date is OVERDUE, as the overdue sweep would leave it.
+     * The version bump makes any concurrently loaded copy of the invoice fail its optimistic check.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE invoices
+            SET paid_amount = COALESCE(paid_amount, 0) + :delta,
+                status = CASE
+                    WHEN COALESCE(paid_amount, 0) + :delta > 0
+                         AND COALESCE(paid_amount, 0) + :delta >= total_amount THEN 'PAID'
+                    WHEN due_date < CURRENT_DATE THEN 'OVERDUE'
+                    WHEN COALESCE(paid_amount, 0) + :delta <= 0 THEN 'PENDING'
+                    ELSE 'PARTIALLY_PAID'
+                END,
+                version = version + 1,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE id = :invoiceId AND tenant_id = :tenantId
+            """, nativeQuery = true)
+    int applyPaymentDelta(@Param("invoiceId") Long invoiceId,
+                          @Param("tenantId") Long tenantId,
+                          @Param("delta") BigDecimal delta);
+
+    @Query(SUMMARY + "WHERE i.id = :id")
+    Optional<InvoiceSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY + "ORDER BY i.createdAt DESC, i.id DESC")
+    List<InvoiceSummary> findSummaryFirstPage(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<InvoiceSummary> findSummaryPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY)
+    List<InvoiceSummary> findAllSummaries();
+
+    @Query(SUMMARY + "WHERE i.status = :status")
+    List<InvoiceSummary> findSummariesByStatus(@Param("status") Invoice.InvoiceStatus status);
 
-    List<Invoice> findByLeaseId(Long leaseId);
+    @Query(SUMMARY + "WHERE i.leaseId = :leaseId")
+    List<InvoiceSummary> findSummariesByLeaseId(@Param("leaseId") Long leaseId);
 
-    List<Invoice> findByResidentId(Long residentId);
+    @Query(SUMMARY + "WHERE i.residentId = :residentId")
+    List<InvoiceSummary> findSummariesByResidentId(@Param("residentId") Long residentId);
 
-    @Query("SELECT i FROM Invoice i WHERE i.status = 'PENDING' OR i.status = 'PARTIALLY_PAID'")
-    List<Invoice> findUnpaidInvoices();
+    @Query(SUMMARY + "WHERE i.status IN ('PENDING', 'PARTIALLY_PAID', 'OVERDUE')")
+    List<InvoiceSummary> findUnpaidSummaries();
 
-    @Query("SELECT i FROM Invoice i WHERE i.dueDate < :currentDate AND (i.status = 'PENDING' OR i.status = 'PARTIALLY_PAID')")
-    List<Invoice> findOverdueInvoices(@Param("currentDate") LocalDate currentDate);
+    /**
+     * Invoices the daily overdue sweep has marked; served by the (tenant, status, due date) index
+     */
+    @Query(SUMMARY + "WHERE i.status = 'OVERDUE' ORDER BY i.dueDate")
+    List<InvoiceSummary> findOverdueSummaries();
 
-    @Query("SELECT i FROM Invoice i WHERE i.issueDate BETWEEN :startDate AND :endDate")
-    List<Invoice> findInvoicesByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @Query(SUMMARY + "WHERE i.issueDate BETWEEN :startDate AND :endDate")
+    List<InvoiceSummary> findSummariesByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
@@ -0,0 +1,26 @@
+package com.s4r.ghorbari.core.repository;
+
+import com.s4r.ghorbari.core.entity.BaseEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset pagination on (createdAt, id), newest first.
+ * Only the page size of the {@link Pageable} is used; the offset is always zero.
+ */
+@NoRepositoryBean
+public interface KeysetPagingRepository<T extends BaseEntity> extends JpaRepository<T, Long> {
+
+    @Query("SELECT e FROM #{#entityName} e ORDER BY e.createdAt DESC, e.id DESC")
+    List<T> findFirstPage(Pageable pageable);
+
+    @Query("SELECT e FROM #{#entityName} e WHERE e.createdAt < :createdAt " +
+            "OR (e.createdAt = :createdAt AND e.id < :id) ORDER BY e.createdAt DESC, e.id DESC")
+    List<T> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+}
@@ -1,29 +1,51 @@
 package com.s4r.ghorbari.core.repository;
 
+import com.s4r.ghorbari.core.domain.LeaseSummary;
 import com.s4r.ghorbari.core.entity.Lease;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LeaseRepository extends JpaRepository<Lease, Long> {
+public interface LeaseRepository extends KeysetPagingRepository<Lease> {
 
-    List<Lease> findByStatus(Lease.LeaseStatus status);
-
-    List<Lease> findByApartmentId(Long apartmentId);
-
-    List<Lease> findByPrimaryResidentId(Long residentId);
+    /**
+     * Select clause of the list queries; rows go straight into {@link LeaseSummary} without entity hydration
+     */
+    String SUMMARY = "SELECT new com.s4r.ghorbari.core.domain.LeaseSummary(l.id, l.apartmentId, l.primaryResidentId, " +
+            "l.leaseType, l.startDate, l.endDate, l.monthlyRent, l.status, l.createdAt) " +
+            "FROM Lease l ";
 
     Optional<Lease> findByApartmentIdAndStatus(Long apartmentId, Lease.LeaseStatus status);
 
-    @Query("SELECT l FROM Lease l WHERE l.endDate BETWEEN :startDate AND :endDate")
-    List<Lease> findExpiringLeases(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-
     @Query("SELECT l FROM Lease l WHERE l.status = 'ACTIVE' AND l.apartmentId = :apartmentId")
     Optional<Lease> findActiveLeaseByApartment(@Param("apartmentId") Long apartmentId);
+
+    @Query(SUMMARY + "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeaseSummary> findSummaryFirstPage(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id) " +
+            "ORDER BY l.createdAt DESC, l.id DESC")
+    List<LeaseSummary> findSummaryPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY)
+    List<LeaseSummary> findAllSummaries();
+
+    @Query(SUMMARY + "WHERE l.status = :status")
+    List<LeaseSummary> findSummariesByStatus(@Param("status") Lease.LeaseStatus status);
+
+    @Query(SUMMARY + "WHERE l.apartmentId = :apartmentId")
+    List<LeaseSummary> findSummariesByApartmentId(@Param("apartmentId") Long apartmentId);
+
+    @Query(SUMMARY + "WHERE l.primaryResidentId = :residentId")
+    List<LeaseSummary> findSummariesByPrimaryResidentId(@Param("residentId") Long residentId);
+
+    @Query(SUMMARY + "WHERE l.endDate BETWEEN :startDate AND :endDate")
+    List<LeaseSummary> findExpiringSummaries(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
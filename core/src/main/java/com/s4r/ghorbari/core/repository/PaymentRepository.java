@@ -1,33 +1,66 @@
 package com.s4r.ghorbari.core.repository;
 
+import com.s4r.ghorbari.core.domain.PaymentSummary;
 import com.s4r.ghorbari.core.entity.Payment;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends KeysetPagingRepository<Payment> {
+
+    /**
+     * Select clause of the list queries; rows go straight into {@link PaymentSummary} without entity hydration
+     */
+    String SUMMARY = "SELECT new com.s4r.ghorbari.core.domain.PaymentSummary(p.id, p.paymentReference, p.invoiceId, " +
+            "p.residentId, p.paymentDate, p.amount, p.paymentMethod, p.status, p.refundAmount, p.createdAt) " +
+            "FROM Payment p ";
 
     Optional<Payment> findByPaymentReference(String paymentReference);
 
-    List<Payment> findByInvoiceId(Long invoiceId);
+    List<Payment> findByPaymentReferenceIn(Collection<String> paymentReferences);
+
+    /**
+     * References already taken in any tenant. Native so the tenant filter does not apply:
+     * payment_reference is unique across the whole table, not per tenant.
+     */
+    @Query(value = "SELECT payment_reference FROM payments WHERE payment_reference IN (:references)", nativeQuery = true)
+    List<String> findTakenPaymentReferences(@Param("references") Collection<String> references);
+
+    @Query(SUMMARY + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PaymentSummary> findSummaryFirstPage(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PaymentSummary> findSummaryPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY)
+    List<PaymentSummary> findAllSummaries();
+
+    @Query(SUMMARY + "WHERE p.invoiceId = :invoiceId")
+    List<PaymentSummary> findSummariesByInvoiceId(@Param("invoiceId") Long invoiceId);
 
-    List<Payment> findByResidentId(Long residentId);
+    @Query(SUMMARY + "WHERE p.residentId = :residentId")
+    List<PaymentSummary> findSummariesByResidentId(@Param("residentId") Long residentId);
 
-    List<Payment> findByStatus(Payment.PaymentStatus status);
+    @Query(SUMMARY + "WHERE p.status = :status")
+    List<PaymentSummary> findSummariesByStatus(@Param("status") Payment.PaymentStatus status);
 
-    List<Payment> findByPaymentMethod(Payment.PaymentMethod paymentMethod);
+    @Query(SUMMARY + "WHERE p.paymentMethod = :paymentMethod")
+    List<PaymentSummary> findSummariesByPaymentMethod(@Param("paymentMethod") Payment.PaymentMethod paymentMethod);
 
-    @Query("SELECT p FROM Payment p WHERE p.paymentDate BETWEEN :startDate AND :endDate")
-    List<Payment> findPaymentsByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    @Query(SUMMARY + "WHERE p.paymentDate BETWEEN :startDate AND :endDate")
+    List<PaymentSummary> findSummariesByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
-    @Query("SELECT p FROM Payment p WHERE p.residentId = :residentId AND p.paymentDate BETWEEN :startDate AND :endDate")
-    List<Payment> findPaymentsByResidentAndDateRange(@Param("residentId") Long residentId,
-                                                       @Param("startDate") LocalDate startDate,
-                                                       @Param("endDate") LocalDate endDate);
+    @Query(SUMMARY + "WHERE p.residentId = :residentId AND p.paymentDate BETWEEN :startDate AND :endDate")
+    List<PaymentSummary> findSummariesByResidentAndDateRange(@Param("residentId") Long residentId,
+                                                             @Param("startDate") LocalDate startDate,
+                                                             @Param("endDate") LocalDate endDate);
 }
@@ -1,14 +1,13 @@
 package com.s4r.ghorbari.core.repository;
 
 import com.s4r.ghorbari.core.entity.Resident;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ResidentRepository extends JpaRepository<Resident, Long> {
+public interface ResidentRepository extends KeysetPagingRepository<Resident> {
 
     List<Resident> findByApartmentId(Long apartmentId);
 
@@ -25,6 +25,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.email = :email")
     List<User> findAllByEmail(@Param("email") String email);
 
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
     Boolean existsByEmail(String email);
 
     Boolean existsByEmailAndTenantId(String email, Long tenantId);
@@ -0,0 +1,10 @@
+package com.s4r.ghorbari.core.security;
+
+/**
+ * Principal that carries its roles as a precomputed {@link com.s4r.ghorbari.core.enums.RoleName#mask()} union,
+ * so role checks need no authority lookups
+ */
+public interface RoleMaskPrincipal {
+
+    int roleMask();
+}
@@ -0,0 +1,122 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.TimeSlot;
+import com.s4r.ghorbari.core.entity.AmenityBooking;
+import com.s4r.ghorbari.core.event.AmenityBookingChangedEvent;
+import com.s4r.ghorbari.core.repository.AmenityBookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory per-amenity index of the bookings that hold a slot (everything except CANCELLED and REJECTED),
+ * used for availability checks and free-slot search without a database round trip.
+ *
+ * A timeline covers bookings ending after the moment it was loaded; probes reaching further into the past
+ * go to the database. Commits on this node are applied as deltas, and timelines are reloaded after the
+ * refresh interval to pick up bookings written by other nodes. The index is only a fast path: the
+ * exclusion constraint on amenity_bookings is what actually rules out double bookings.
+ */
+@Component
+public class AmenityBookingIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AmenityBookingIndex.class);
+
+    private record Key(Long tenantId, Long amenityId) {
+    }
+
+    private record Timeline(BookingIntervals intervals, LocalDateTime coveredFrom, long loadedAtNanos) {
+
+        Timeline with(long bookingId, BookingIntervals.Interval interval) {
+            return new Timeline(intervals.with(bookingId, interval), coveredFrom, loadedAtNanos);
+        }
+    }
+
+    private final AmenityBookingRepository amenityBookingRepository;
+    private final long refreshIntervalNanos;
+    private final ConcurrentHashMap<Key, Timeline> timelines = new ConcurrentHashMap<>();
+
+    public AmenityBookingIndex(AmenityBookingRepository amenityBookingRepository,
+                               @Value("${app.amenities.booking-index.refresh-interval-seconds:60}") long refreshIntervalSeconds) {
+        this.amenityBookingRepository = amenityBookingRepository;
+        this.refreshIntervalNanos = TimeUnit.SECONDS.toNanos(refreshIntervalSeconds);
+    }
+
+    /**
+     * True when no slot-holding booking other than {@code ignoredBookingId} intersects {@code [startTime, endTime)}
+     */
+    public boolean isAvailable(Long tenantId, Long amenityId, LocalDateTime startTime, LocalDateTime endTime,
+                               Long ignoredBookingId) {
+        return !intervalsFrom(tenantId, amenityId, startTime).overlaps(startTime, endTime, ignoredBookingId);
+    }
+
+    /**
+     * Free gaps of at least {@code minimum} inside {@code [from, to)}
+     */
+    public List<TimeSlot> findFreeSlots(Long tenantId, Long amenityId, LocalDateTime from, LocalDateTime to,
+                                        Duration minimum) {
+        return intervalsFrom(tenantId, amenityId, from).freeSlots(from, to, minimum);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(AmenityBookingChangedEvent event) {
+        long bookingId = event.bookingId();
+        if (event.previousAmenityId() != null && !Objects.equals(event.previousAmenityId(), event.amenityId())) {
+            timelines.computeIfPresent(new Key(event.tenantId(), event.previousAmenityId()),
+                    (key, timeline) -> timeline.with(bookingId, null));
+        }
+
+        BookingIntervals.Interval interval = event.active()
+                ? new BookingIntervals.Interval(bookingId, event.startTime(), event.endTime())
+                : null;
+        timelines.computeIfPresent(new Key(event.tenantId(), event.amenityId()),
+                (key, timeline) -> timeline.with(bookingId, interval));
+    }
+
+    private BookingIntervals intervalsFrom(Long tenantId, Long amenityId, LocalDateTime from) {
+        Timeline timeline = timeline(new Key(tenantId, amenityId));
+        if (from.isBefore(timeline.coveredFrom())) {
+            return load(tenantId, amenityId, from);
+        }
+        return timeline.intervals();
+    }
+
+    /**
+     * Loads run inside {@code compute}, so a delta committed while the query is in flight waits for the
+     * new timeline and is applied on top of it rather than being lost.
+     */
+    private Timeline timeline(Key key) {
+        Timeline timeline = timelines.get(key);
+        if (timeline != null && isFresh(timeline)) {
+            return timeline;
+        }
+        return timelines.compute(key, (k, current) -> current != null && isFresh(current) ? current : load(k));
+    }
+
+    private boolean isFresh(Timeline timeline) {
+        return System.nanoTime() - timeline.loadedAtNanos() < refreshIntervalNanos;
+    }
+
+    private Timeline load(Key key) {
+        LocalDateTime coveredFrom = LocalDateTime.now();
+        BookingIntervals intervals = load(key.tenantId(), key.amenityId(), coveredFrom);
+        logger.debug("Loaded {} bookings for amenity {} of tenant {}", intervals.size(), key.amenityId(), key.tenantId());
+        return new Timeline(intervals, coveredFrom, System.nanoTime());
+    }
+
+    private BookingIntervals load(Long tenantId, Long amenityId, LocalDateTime endingAfter) {
+        List<AmenityBooking> bookings = amenityBookingRepository.findActiveBookingsEndingAfter(tenantId, amenityId, endingAfter);
+        return BookingIntervals.of(bookings.stream()
+                .map(booking -> new BookingIntervals.Interval(booking.getId(), booking.getStartTime(), booking.getEndTime()))
+                .toList());
+    }
+}
@@ -2,15 +2,23 @@ package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.context.TenantContext;
 import com.s4r.ghorbari.core.domain.AmenityBookingDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
+import com.s4r.ghorbari.core.domain.TimeSlot;
 import com.s4r.ghorbari.core.entity.AmenityBooking;
+import com.s4r.ghorbari.core.event.AmenityBookingChangedEvent;
+import com.s4r.ghorbari.core.event.DomainEvent;
 import com.s4r.ghorbari.core.exception.ErrorCode;
 import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.outbox.DomainEventOutbox;
 import com.s4r.ghorbari.core.repository.AmenityBookingRepository;
 import com.s4r.ghorbari.core.enums.RoleName;
 import com.s4r.ghorbari.core.security.RequiresRole;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -21,10 +29,26 @@ import java.util.stream.Collectors;
 @Transactional
 public class AmenityBookingService implements IAmenityBookingService {
 
-    private final AmenityBookingRepository amenityBookingRepository;
+    /**
+     * Exclusion constraint on amenity_bookings rejecting overlapping slot-holding bookings of one amenity
+     */
+    private static final String NO_OVERLAP_CONSTRAINT = "amenity_bookings_no_overlap";
+
+    private static final String SLOT_TAKEN = "The amenity is not available for the selected time slot";
 
-    public AmenityBookingService(AmenityBookingRepository amenityBookingRepository) {
+    private final AmenityBookingRepository amenityBookingRepository;
+    private final AmenityBookingIndex amenityBookingIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainEventOutbox outbox;
+
+    public AmenityBookingService(AmenityBookingRepository amenityBookingRepository,
+                                 AmenityBookingIndex amenityBookingIndex,
+                                 ApplicationEventPublisher eventPublisher,
+                                 DomainEventOutbox outbox) {
         this.amenityBookingRepository = amenityBookingRepository;
+        this.amenityBookingIndex = amenityBookingIndex;
+        this.eventPublisher = eventPublisher;
+        this.outbox = outbox;
     }
 
     @Override
@@ -35,9 +59,11 @@ public class AmenityBookingService implements IAmenityBookingService {
             throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
         }
 
-        // Check availability
-        if (!isAvailable(dto.getAmenityId(), dto.getStartTime(), dto.getEndTime())) {
-            throw new ServiceException(ErrorCode.INVALID_OPERATION, "The amenity is not available for the selected time slot");
+        validateTimeRange(dto.getStartTime(), dto.getEndTime());
+
+        // Fast rejection from the in-memory index; the exclusion constraint settles concurrent requests
+        if (!amenityBookingIndex.isAvailable(tenantId, dto.getAmenityId(), dto.getStartTime(), dto.getEndTime(), null)) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION, SLOT_TAKEN);
         }
 
         AmenityBooking booking = dto.toEntity();
@@ -48,10 +74,11 @@ public class AmenityBookingService implements IAmenityBookingService {
         }
 
         booking.setTenantId(tenantId);
-        amenityBookingRepository.save(booking);
+        persist(booking, null);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityBookingDto> getAllBookings() {
         return amenityBookingRepository.findAll().stream()
                 .map(AmenityBookingDto::new)
@@ -59,18 +86,27 @@ public class AmenityBookingService implements IAmenityBookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<AmenityBookingDto> getBookingPage(String cursor, Integer limit) {
+        return KeysetPaging.page(amenityBookingRepository, cursor, limit, AmenityBookingDto::new);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<AmenityBookingDto> getBookingById(Long id) {
         return amenityBookingRepository.findById(id)
                 .map(AmenityBookingDto::new);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<AmenityBookingDto> getBookingByReference(String bookingReference) {
         return amenityBookingRepository.findByBookingReference(bookingReference)
                 .map(AmenityBookingDto::new);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityBookingDto> getBookingsByAmenityId(Long amenityId) {
         return amenityBookingRepository.findByAmenityId(amenityId).stream()
                 .map(AmenityBookingDto::new)
@@ -78,6 +114,7 @@ public class AmenityBookingService implements IAmenityBookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityBookingDto> getBookingsByResidentId(Long residentId) {
         return amenityBookingRepository.findByResidentId(residentId).stream()
                 .map(AmenityBookingDto::new)
@@ -85,6 +122,7 @@ public class AmenityBookingService implements IAmenityBookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityBookingDto> getBookingsByStatus(AmenityBooking.BookingStatus status) {
         return amenityBookingRepository.findByStatus(status).stream()
                 .map(AmenityBookingDto::new)
@@ -92,6 +130,7 @@ public class AmenityBookingService implements IAmenityBookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityBookingDto> getBookingsByAmenityAndDateRange(Long amenityId, LocalDateTime startDate, LocalDateTime endDate) {
         return amenityBookingRepository.findBookingsByAmenityAndDateRange(amenityId, startDate, endDate).stream()
                 .map(AmenityBookingDto::new)
@@ -99,6 +138,7 @@ public class AmenityBookingService implements IAmenityBookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityBookingDto> getBookingsByResidentAndDateRange(Long residentId, LocalDateTime startDate, LocalDateTime endDate) {
         return amenityBookingRepository.findBookingsByResidentAndDateRange(residentId, startDate, endDate).stream()
                 .map(AmenityBookingDto::new)
@@ -106,9 +146,29 @@ public class AmenityBookingService implements IAmenityBookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isAvailable(Long amenityId, LocalDateTime startTime, LocalDateTime endTime) {
-        List<AmenityBooking> conflicts = amenityBookingRepository.findConflictingBookings(amenityId, startTime, endTime);
-        return conflicts.isEmpty();
+        validateTimeRange(startTime, endTime);
+
+        Long tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            List<AmenityBooking> conflicts = amenityBookingRepository.findConflictingBookings(amenityId, startTime, endTime);
+            return conflicts.isEmpty();
+        }
+        return amenityBookingIndex.isAvailable(tenantId, amenityId, startTime, endTime, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimeSlot> findFreeSlots(Long amenityId, LocalDateTime from, LocalDateTime to, Duration minimumDuration) {
+        Long tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
+        }
+        validateTimeRange(from, to);
+
+        Duration minimum = minimumDuration != null && minimumDuration.isPositive() ? minimumDuration : Duration.ofMinutes(1);
+        return amenityBookingIndex.findFreeSlots(tenantId, amenityId, from, to, minimum);
     }
 
     @Override
@@ -119,13 +179,19 @@ public class AmenityBookingService implements IAmenityBookingService {
             throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
         }
 
-        amenityBookingRepository.findById(id)
+        AmenityBooking existing = amenityBookingRepository.findById(id)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Booking not found"));
+        validateTimeRange(dto.getStartTime(), dto.getEndTime());
 
         AmenityBooking booking = dto.toEntity();
         booking.setId(id);
         booking.setTenantId(tenantId);
-        amenityBookingRepository.save(booking);
+
+        if (holdsSlot(booking.getStatus()) && !amenityBookingIndex.isAvailable(
+                tenantId, booking.getAmenityId(), booking.getStartTime(), booking.getEndTime(), id)) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION, SLOT_TAKEN);
+        }
+        persist(booking, existing.getAmenityId());
     }
 
     @Override
@@ -136,7 +202,13 @@ public class AmenityBookingService implements IAmenityBookingService {
         booking.setStatus(AmenityBooking.BookingStatus.APPROVED);
         booking.setApprovedById(approvedById);
         booking.setApprovedAt(LocalDateTime.now());
-        amenityBookingRepository.save(booking);
+        persist(booking, booking.getAmenityId());
+        outbox.record(booking.getTenantId(), DomainEvent.AMENITY_BOOKING, booking.getId(), DomainEvent.BOOKING_APPROVED,
+                "amenityId", booking.getAmenityId(),
+                "residentId", booking.getResidentId(),
+                "approvedById", approvedById,
+                "startTime", booking.getStartTime(),
+                "endTime", booking.getEndTime());
     }
 
     @Override
@@ -146,7 +218,7 @@ public class AmenityBookingService implements IAmenityBookingService {
 
         booking.setStatus(AmenityBooking.BookingStatus.REJECTED);
         booking.setRejectionReason(reason);
-        amenityBookingRepository.save(booking);
+        persist(booking, booking.getAmenityId());
     }
 
     @Override
@@ -155,7 +227,7 @@ public class AmenityBookingService implements IAmenityBookingService {
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Booking not found"));
 
         booking.setStatus(AmenityBooking.BookingStatus.CONFIRMED);
-        amenityBookingRepository.save(booking);
+        persist(booking, booking.getAmenityId());
     }
 
     @Override
@@ -166,7 +238,7 @@ public class AmenityBookingService implements IAmenityBookingService {
         booking.setStatus(AmenityBooking.BookingStatus.CANCELLED);
         booking.setCancelledAt(LocalDateTime.now());
         booking.setCancellationReason(reason);
-        amenityBookingRepository.save(booking);
+        persist(booking, booking.getAmenityId());
     }
 
     @Override
@@ -175,7 +247,7 @@ public class AmenityBookingService implements IAmenityBookingService {
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Booking not found"));
 
         booking.setStatus(AmenityBooking.BookingStatus.COMPLETED);
-        amenityBookingRepository.save(booking);
+        persist(booking, booking.getAmenityId());
     }
 
     @Override
@@ -184,7 +256,7 @@ public class AmenityBookingService implements IAmenityBookingService {
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Booking not found"));
 
         booking.setStatus(AmenityBooking.BookingStatus.NO_SHOW);
-        amenityBookingRepository.save(booking);
+        persist(booking, booking.getAmenityId());
     }
 
     @Override
@@ -194,6 +266,39 @@ public class AmenityBookingService implements IAmenityBookingService {
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Booking not found"));
 
         amenityBookingRepository.delete(booking);
+        eventPublisher.publishEvent(changedEvent(booking, booking.getAmenityId(), false));
+    }
+
+    /**
+     * Save and flush so an overlap rejected by the exclusion constraint surfaces here as a booking error,
+     * then let the index pick up the change once the transaction commits
+     */
+    private void persist(AmenityBooking booking, Long previousAmenityId) {
+        try {
+            amenityBookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message != null && message.contains(NO_OVERLAP_CONSTRAINT)) {
+                throw new ServiceException(ErrorCode.INVALID_OPERATION, e, SLOT_TAKEN);
+            }
+            throw e;
+        }
+        eventPublisher.publishEvent(changedEvent(booking, previousAmenityId, holdsSlot(booking.getStatus())));
+    }
+
+    private static AmenityBookingChangedEvent changedEvent(AmenityBooking booking, Long previousAmenityId, boolean active) {
+        return new AmenityBookingChangedEvent(booking.getTenantId(), booking.getId(), booking.getAmenityId(),
+                previousAmenityId, booking.getStartTime(), booking.getEndTime(), active);
+    }
+
+    private static boolean holdsSlot(AmenityBooking.BookingStatus status) {
+        return status != AmenityBooking.BookingStatus.CANCELLED && status != AmenityBooking.BookingStatus.REJECTED;
+    }
+
+    private static void validateTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null || !endTime.isAfter(startTime)) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION, "End time must be after start time");
+        }
     }
 
     private String generateBookingReference() {
@@ -2,6 +2,7 @@ package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.context.TenantContext;
 import com.s4r.ghorbari.core.domain.AmenityDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Amenity;
 import com.s4r.ghorbari.core.exception.ErrorCode;
 import com.s4r.ghorbari.core.exception.ServiceException;
@@ -38,6 +39,7 @@ public class AmenityService implements IAmenityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityDto> getAllAmenities() {
         return amenityRepository.findAll().stream()
                 .map(AmenityDto::new)
@@ -45,12 +47,20 @@ public class AmenityService implements IAmenityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<AmenityDto> getAmenityPage(String cursor, Integer limit) {
+        return KeysetPaging.page(amenityRepository, cursor, limit, AmenityDto::new);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<AmenityDto> getAmenityById(Long id) {
         return amenityRepository.findById(id)
                 .map(AmenityDto::new);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityDto> getAmenitiesByType(Amenity.AmenityType type) {
         return amenityRepository.findByType(type).stream()
                 .map(AmenityDto::new)
@@ -58,6 +68,7 @@ public class AmenityService implements IAmenityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityDto> getAmenitiesByStatus(Amenity.AmenityStatus status) {
         return amenityRepository.findByStatus(status).stream()
                 .map(AmenityDto::new)
@@ -65,6 +76,7 @@ public class AmenityService implements IAmenityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityDto> getBookableAmenities() {
         return amenityRepository.findByIsBookable(true).stream()
                 .map(AmenityDto::new)
@@ -72,6 +84,7 @@ public class AmenityService implements IAmenityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AmenityDto> getAvailableBookableAmenities() {
         return amenityRepository.findByStatusAndIsBookable(Amenity.AmenityStatus.AVAILABLE, true).stream()
                 .map(AmenityDto::new)
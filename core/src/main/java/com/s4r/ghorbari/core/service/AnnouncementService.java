@@ -2,6 +2,7 @@ package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.context.TenantContext;
 import com.s4r.ghorbari.core.domain.AnnouncementDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Announcement;
 import com.s4r.ghorbari.core.exception.ErrorCode;
 import com.s4r.ghorbari.core.exception.ServiceException;
@@ -39,6 +40,7 @@ public class AnnouncementService implements IAnnouncementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AnnouncementDto> getAllAnnouncements() {
         return announcementRepository.findAll().stream()
                 .map(AnnouncementDto::new)
@@ -46,12 +48,20 @@ public class AnnouncementService implements IAnnouncementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<AnnouncementDto> getAnnouncementPage(String cursor, Integer limit) {
+        return KeysetPaging.page(announcementRepository, cursor, limit, AnnouncementDto::new);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<AnnouncementDto> getAnnouncementById(Long id) {
         return announcementRepository.findById(id)
                 .map(AnnouncementDto::new);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AnnouncementDto> getAnnouncementsByType(Announcement.AnnouncementType type) {
         return announcementRepository.findByType(type).stream()
                 .map(AnnouncementDto::new)
@@ -59,6 +69,7 @@ public class AnnouncementService implements IAnnouncementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AnnouncementDto> getAnnouncementsByPriority(Announcement.Priority priority) {
         return announcementRepository.findByPriority(priority).stream()
                 .map(AnnouncementDto::new)
@@ -66,6 +77,7 @@ public class AnnouncementService implements IAnnouncementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AnnouncementDto> getPublishedAnnouncements() {
         return announcementRepository.findByIsPublished(true).stream()
                 .map(AnnouncementDto::new)
@@ -73,6 +85,7 @@ public class AnnouncementService implements IAnnouncementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AnnouncementDto> getPinnedAnnouncements() {
         return announcementRepository.findByIsPinned(true).stream()
                 .map(AnnouncementDto::new)
@@ -80,6 +93,7 @@ public class AnnouncementService implements IAnnouncementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AnnouncementDto> getActiveAnnouncements() {
         return announcementRepository.findActiveAnnouncements(LocalDateTime.now()).stream()
                 .map(AnnouncementDto::new)
@@ -87,6 +101,7 @@ public class AnnouncementService implements IAnnouncementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AnnouncementDto> getAnnouncementsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return announcementRepository.findAnnouncementsByDateRange(startDate, endDate).stream()
                 .map(AnnouncementDto::new)
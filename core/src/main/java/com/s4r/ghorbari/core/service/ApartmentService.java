@@ -2,12 +2,15 @@ package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.context.TenantContext;
 import com.s4r.ghorbari.core.domain.ApartmentDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
+import com.s4r.ghorbari.core.domain.TenantKpiDelta;
 import com.s4r.ghorbari.core.entity.Apartment;
 import com.s4r.ghorbari.core.enums.RoleName;
 import com.s4r.ghorbari.core.exception.ErrorCode;
 import com.s4r.ghorbari.core.exception.ServiceException;
 import com.s4r.ghorbari.core.repository.ApartmentRepository;
 import com.s4r.ghorbari.core.security.RequiresRole;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +23,11 @@ import java.util.stream.Collectors;
 public class ApartmentService implements IApartmentService {
 
     private final ApartmentRepository apartmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ApartmentService(ApartmentRepository apartmentRepository) {
+    public ApartmentService(ApartmentRepository apartmentRepository, ApplicationEventPublisher eventPublisher) {
         this.apartmentRepository = apartmentRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -35,15 +40,18 @@ public class ApartmentService implements IApartmentService {
         Apartment apartment = dto.toEntity();
         apartment.setTenantId(tenantId);
         apartmentRepository.save(apartment);
+        KpiContributions.publish(eventPublisher, tenantId, TenantKpiDelta.ZERO, KpiContributions.apartment(apartment));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<ApartmentDto> getApartmentById(Long id) {
         return apartmentRepository.findByIdWithBuilding(id)
                 .map(ApartmentDto::new);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ApartmentDto> getAllApartments() {
         return apartmentRepository.findAllWithBuilding().stream()
                 .map(ApartmentDto::new)
@@ -51,6 +59,13 @@ public class ApartmentService implements IApartmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ApartmentDto> getApartmentPage(String cursor, Integer limit) {
+        return KeysetPaging.page(apartmentRepository, cursor, limit, ApartmentDto::new);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ApartmentDto> getApartmentsByStatus(Apartment.ApartmentStatus status) {
         return apartmentRepository.findByStatusWithBuilding(status).stream()
                 .map(ApartmentDto::new)
@@ -58,6 +73,7 @@ public class ApartmentService implements IApartmentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ApartmentDto> getApartmentsByBuildingId(Long buildingId) {
         return apartmentRepository.findByBuildingIdWithBuilding(buildingId).stream()
                 .map(ApartmentDto::new)
@@ -72,13 +88,15 @@ public class ApartmentService implements IApartmentService {
             throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
         }
 
-        apartmentRepository.findById(id)
+        Apartment existing = apartmentRepository.findById(id)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Apartment not found"));
+        TenantKpiDelta before = KpiContributions.apartment(existing);
 
         Apartment apartment = dto.toEntity();
         apartment.setId(id);
         apartment.setTenantId(tenantId);
         apartmentRepository.save(apartment);
+        KpiContributions.publish(eventPublisher, tenantId, before, KpiContributions.apartment(apartment));
     }
 
     @Override
@@ -88,5 +106,7 @@ public class ApartmentService implements IApartmentService {
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Apartment not found"));
 
         apartmentRepository.delete(apartment);
+        KpiContributions.publish(eventPublisher, apartment.getTenantId(),
+                KpiContributions.apartment(apartment), TenantKpiDelta.ZERO);
     }
 }
@@ -0,0 +1,146 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.TimeSlot;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable set of half-open booking intervals {@code [start, end)} for one amenity.
+ *
+ * Intervals are kept sorted by start together with a running maximum of their end times,
+ * which makes the array a flattened interval tree: an overlap probe is one binary search
+ * and free-slot search only visits intervals that reach into the requested window.
+ * Writes copy the arrays, which is cheap for the few hundred upcoming bookings an amenity has
+ * and lets readers use a snapshot without locking.
+ */
+final class BookingIntervals {
+
+    static final BookingIntervals EMPTY = new BookingIntervals(new Interval[0]);
+
+    record Interval(long bookingId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private static final Comparator<Interval> ORDER = Comparator.comparing(Interval::start)
+            .thenComparingLong(Interval::bookingId);
+
+    private final Interval[] intervals;
+    private final LocalDateTime[] maxEnd;
+
+    private BookingIntervals(Interval[] sortedIntervals) {
+        this.intervals = sortedIntervals;
+        this.maxEnd = new LocalDateTime[sortedIntervals.length];
+        LocalDateTime running = null;
+        for (int i = 0; i < sortedIntervals.length; i++) {
+            LocalDateTime end = sortedIntervals[i].end();
+            running = running == null || end.isAfter(running) ? end : running;
+            maxEnd[i] = running;
+        }
+    }
+
+    static BookingIntervals of(List<Interval> intervals) {
+        Interval[] sorted = intervals.toArray(new Interval[0]);
+        Arrays.sort(sorted, ORDER);
+        return new BookingIntervals(sorted);
+    }
+
+    int size() {
+        return intervals.length;
+    }
+
+    /**
+     * True when any interval other than {@code ignoredBookingId} intersects {@code [start, end)}
+     */
+    boolean overlaps(LocalDateTime start, LocalDateTime end, Long ignoredBookingId) {
+        for (int i = lastStartingBefore(end); i >= 0 && maxEnd[i].isAfter(start); i--) {
+            Interval interval = intervals[i];
+            if (interval.end().isAfter(start)
+                    && (ignoredBookingId == null || interval.bookingId() != ignoredBookingId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gaps of at least {@code minimum} inside {@code [from, to)}, in chronological order
+     */
+    List<TimeSlot> freeSlots(LocalDateTime from, LocalDateTime to, Duration minimum) {
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (int i = firstEndingAfter(from); i < intervals.length && intervals[i].start().isBefore(to); i++) {
+            Interval interval = intervals[i];
+            if (interval.start().isAfter(cursor)) {
+                addSlot(slots, cursor, interval.start(), minimum);
+            }
+            if (interval.end().isAfter(cursor)) {
+                cursor = interval.end();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            addSlot(slots, cursor, to, minimum);
+        }
+        return slots;
+    }
+
+    /**
+     * Copy with the booking's interval replaced, or removed when {@code interval} is null
+     */
+    BookingIntervals with(long bookingId, Interval interval) {
+        List<Interval> updated = new ArrayList<>(intervals.length + 1);
+        for (Interval existing : intervals) {
+            if (existing.bookingId() != bookingId) {
+                updated.add(existing);
+            }
+        }
+        if (interval != null) {
+            updated.add(interval);
+        }
+        return of(updated);
+    }
+
+    private static void addSlot(List<TimeSlot> slots, LocalDateTime start, LocalDateTime end, Duration minimum) {
+        if (Duration.between(start, end).compareTo(minimum) >= 0) {
+            slots.add(new TimeSlot(start, end));
+        }
+    }
+
+    /**
+     * Index of the last interval starting before {@code instant}, or -1
+     */
+    private int lastStartingBefore(LocalDateTime instant) {
+        int low = 0;
+        int high = intervals.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (intervals[mid].start().isBefore(instant)) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Index of the first interval whose running maximum end is after {@code instant}.
+     * Everything before it ends at or before {@code instant} and can be skipped.
+     */
+    private int firstEndingAfter(LocalDateTime instant) {
+        int low = 0;
+        int high = intervals.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnd[mid].isAfter(instant)) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
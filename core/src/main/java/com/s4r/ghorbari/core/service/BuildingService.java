@@ -2,6 +2,7 @@ package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.context.TenantContext;
 import com.s4r.ghorbari.core.domain.BuildingDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Building;
 import com.s4r.ghorbari.core.entity.User;
 import com.s4r.ghorbari.core.enums.RoleName;
@@ -43,6 +44,7 @@ public class BuildingService implements IBuildingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BuildingDto> getAllBuildings() {
         Long tenantId = TenantContext.getCurrentTenantId();
         if (tenantId == null) {
@@ -54,6 +56,20 @@ public class BuildingService implements IBuildingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BuildingDto> getBuildingPage(String cursor, Integer limit) {
+        Long tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
+        }
+        return KeysetPaging.page(cursor, limit,
+                pageable -> buildingRepository.findFirstPageByTenantId(tenantId, pageable),
+                (after, pageable) -> buildingRepository.findPageAfterByTenantId(tenantId, after.createdAt(), after.id(), pageable),
+                BuildingDto::new);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<BuildingDto> getBuildingById(Long id) {
         Long tenantId = TenantContext.getCurrentTenantId();
         if (tenantId == null) {
@@ -64,6 +80,7 @@ public class BuildingService implements IBuildingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BuildingDto> getBuildingsByStatus(Building.BuildingStatus status) {
         Long tenantId = TenantContext.getCurrentTenantId();
         if (tenantId == null) {
@@ -150,6 +167,7 @@ public class BuildingService implements IBuildingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BuildingDto> getBuildingsByManager(Long managerId) {
         Long tenantId = TenantContext.getCurrentTenantId();
         if (tenantId == null) {
@@ -0,0 +1,53 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.CacheRegionStats;
+import com.s4r.ghorbari.core.enums.RoleName;
+import com.s4r.ghorbari.core.exception.ErrorCode;
+import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.security.RequiresRole;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService implements ICacheStatisticsService {
+
+    private final SessionFactory sessionFactory;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN})
+    public List<CacheRegionStats> getCacheStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toStats(region, statistics.getDomainDataRegionStatistics(region)))
+                .toList();
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN})
+    public void evictRegion(String region) {
+        if (!Arrays.asList(sessionFactory.getStatistics().getSecondLevelCacheRegionNames()).contains(region)) {
+            throw new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Cache region not found: " + region);
+        }
+        // Clears this node only; other nodes drop their copies as the region's time-to-live runs out
+        sessionFactory.getCache().evictRegion(region);
+    }
+
+    private static CacheRegionStats toStats(String region, CacheRegionStatistics statistics) {
+        long hits = statistics.getHitCount();
+        long misses = statistics.getMissCount();
+        long lookups = hits + misses;
+        return new CacheRegionStats(region, hits, misses, statistics.getPutCount(),
+                statistics.getElementCountInMemory(), lookups == 0 ? 0 : (double) hits / lookups);
+    }
+}
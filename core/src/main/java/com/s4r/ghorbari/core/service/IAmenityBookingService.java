@@ -1,8 +1,11 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.domain.AmenityBookingDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
+import com.s4r.ghorbari.core.domain.TimeSlot;
 import com.s4r.ghorbari.core.entity.AmenityBooking;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -13,6 +16,8 @@ public interface IAmenityBookingService {
 
     List<AmenityBookingDto> getAllBookings();
 
+    CursorPage<AmenityBookingDto> getBookingPage(String cursor, Integer limit);
+
     Optional<AmenityBookingDto> getBookingById(Long id);
 
     Optional<AmenityBookingDto> getBookingByReference(String bookingReference);
@@ -29,6 +34,8 @@ public interface IAmenityBookingService {
 
     boolean isAvailable(Long amenityId, LocalDateTime startTime, LocalDateTime endTime);
 
+    List<TimeSlot> findFreeSlots(Long amenityId, LocalDateTime from, LocalDateTime to, Duration minimumDuration);
+
     void updateBooking(Long id, AmenityBookingDto dto);
 
     void approveBooking(Long id, Long approvedById);
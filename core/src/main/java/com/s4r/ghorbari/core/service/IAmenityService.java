@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.domain.AmenityDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Amenity;
 
 import java.util.List;
@@ -12,6 +13,8 @@ public interface IAmenityService {
 
     List<AmenityDto> getAllAmenities();
 
+    CursorPage<AmenityDto> getAmenityPage(String cursor, Integer limit);
+
     Optional<AmenityDto> getAmenityById(Long id);
 
     List<AmenityDto> getAmenitiesByType(Amenity.AmenityType type);
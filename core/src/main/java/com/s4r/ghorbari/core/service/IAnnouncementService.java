@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.domain.AnnouncementDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Announcement;
 
 import java.time.LocalDateTime;
@@ -13,6 +14,8 @@ public interface IAnnouncementService {
 
     List<AnnouncementDto> getAllAnnouncements();
 
+    CursorPage<AnnouncementDto> getAnnouncementPage(String cursor, Integer limit);
+
     Optional<AnnouncementDto> getAnnouncementById(Long id);
 
     List<AnnouncementDto> getAnnouncementsByType(Announcement.AnnouncementType type);
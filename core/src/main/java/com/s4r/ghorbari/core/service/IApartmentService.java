@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.domain.ApartmentDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Apartment;
 
 import java.util.List;
@@ -14,6 +15,8 @@ public interface IApartmentService {
 
     List<ApartmentDto> getAllApartments();
 
+    CursorPage<ApartmentDto> getApartmentPage(String cursor, Integer limit);
+
     List<ApartmentDto> getApartmentsByStatus(Apartment.ApartmentStatus status);
 
     List<ApartmentDto> getApartmentsByBuildingId(Long buildingId);
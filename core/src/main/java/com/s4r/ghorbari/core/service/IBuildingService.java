@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.domain.BuildingDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Building;
 
 import java.util.List;
@@ -12,6 +13,8 @@ public interface IBuildingService {
 
     List<BuildingDto> getAllBuildings();
 
+    CursorPage<BuildingDto> getBuildingPage(String cursor, Integer limit);
+
     Optional<BuildingDto> getBuildingById(Long id);
 
     List<BuildingDto> getBuildingsByStatus(Building.BuildingStatus status);
@@ -0,0 +1,12 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.CacheRegionStats;
+
+import java.util.List;
+
+public interface ICacheStatisticsService {
+
+    List<CacheRegionStats> getCacheStatistics();
+
+    void evictRegion(String region);
+}
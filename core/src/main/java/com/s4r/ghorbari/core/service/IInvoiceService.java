@@ -1,6 +1,9 @@
 package com.s4r.ghorbari.core.service;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.InvoiceDto;
+import com.s4r.ghorbari.core.domain.InvoiceSummary;
+import com.s4r.ghorbari.core.domain.QueuedTask;
 import com.s4r.ghorbari.core.entity.Invoice;
 
 import java.time.LocalDate;
@@ -12,23 +15,25 @@ public interface IInvoiceService {
 
     void createInvoice(InvoiceDto dto);
 
-    List<InvoiceDto> getAllInvoices();
+    List<InvoiceSummary> getAllInvoices();
+
+    CursorPage<InvoiceSummary> getInvoicePage(String cursor, Integer limit);
 
     Optional<InvoiceDto> getInvoiceById(Long id);
 
     Optional<InvoiceDto> getInvoiceByNumber(String invoiceNumber);
 
-    List<InvoiceDto> getInvoicesByStatus(Invoice.InvoiceStatus status);
+    List<InvoiceSummary> getInvoicesByStatus(Invoice.InvoiceStatus status);
 
-    List<InvoiceDto> getInvoicesByLeaseId(Long leaseId);
+    List<InvoiceSummary> getInvoicesByLeaseId(Long leaseId);
 
-    List<InvoiceDto> getInvoicesByResidentId(Long residentId);
+    List<InvoiceSummary> getInvoicesByResidentId(Long residentId);
 
-    List<InvoiceDto> getUnpaidInvoices();
+    List<InvoiceSummary> getUnpaidInvoices();
 
-    List<InvoiceDto> getOverdueInvoices();
+    List<InvoiceSummary> getOverdueInvoices();
 
-    List<InvoiceDto> getInvoicesByDateRange(LocalDate startDate, LocalDate endDate);
+    List<InvoiceSummary> getInvoicesByDateRange(LocalDate startDate, LocalDate endDate);
 
     void updateInvoice(Long id, InvoiceDto dto);
 
@@ -36,7 +41,9 @@ public interface IInvoiceService {
 
     void cancelInvoice(Long id);
 
-    void generateMonthlyInvoices(YearMonth month);
+    QueuedTask queueMonthlyInvoiceGeneration(YearMonth month);
+
+    QueuedTask queueOverdueSweep();
 
     void deleteInvoice(Long id);
 }
@@ -0,0 +1,12 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.JobRun;
+
+import java.util.List;
+
+public interface IJobService {
+
+    List<JobRun> getRecentRuns(String jobName, int limit);
+
+    List<JobRun> triggerJob(String jobName);
+}
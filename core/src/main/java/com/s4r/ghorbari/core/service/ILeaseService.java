@@ -1,6 +1,8 @@
 package com.s4r.ghorbari.core.service;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.LeaseDto;
+import com.s4r.ghorbari.core.domain.LeaseSummary;
 import com.s4r.ghorbari.core.entity.Lease;
 
 import java.time.LocalDate;
@@ -11,17 +13,19 @@ public interface ILeaseService {
 
     void createLease(LeaseDto dto);
 
-    List<LeaseDto> getAllLeases();
+    List<LeaseSummary> getAllLeases();
+
+    CursorPage<LeaseSummary> getLeasePage(String cursor, Integer limit);
 
     Optional<LeaseDto> getLeaseById(Long id);
 
-    List<LeaseDto> getLeasesByStatus(Lease.LeaseStatus status);
+    List<LeaseSummary> getLeasesByStatus(Lease.LeaseStatus status);
 
-    List<LeaseDto> getLeasesByApartmentId(Long apartmentId);
+    List<LeaseSummary> getLeasesByApartmentId(Long apartmentId);
 
-    List<LeaseDto> getLeasesByResidentId(Long residentId);
+    List<LeaseSummary> getLeasesByResidentId(Long residentId);
 
-    List<LeaseDto> getExpiringLeases(LocalDate beforeDate);
+    List<LeaseSummary> getExpiringLeases(LocalDate beforeDate);
 
     Optional<LeaseDto> getActiveLeaseByApartment(Long apartmentId);
 
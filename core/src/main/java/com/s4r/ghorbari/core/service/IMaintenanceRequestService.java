@@ -1,5 +1,6 @@
 package com.s4r.ghorbari.core.service;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.MaintenanceRequest;
 
 import java.time.LocalDateTime;
@@ -12,6 +13,8 @@ public interface IMaintenanceRequestService {
 
     List<MaintenanceRequest> getAllRequests();
 
+    CursorPage<MaintenanceRequest> getRequestPage(String cursor, Integer limit);
+
     Optional<MaintenanceRequest> getRequestById(Long id);
 
     Optional<MaintenanceRequest> getRequestByNumber(String requestNumber);
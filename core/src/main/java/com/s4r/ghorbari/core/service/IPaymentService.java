@@ -1,34 +1,48 @@
 package com.s4r.ghorbari.core.service;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.PaymentDto;
+import com.s4r.ghorbari.core.domain.PaymentSummary;
+import com.s4r.ghorbari.core.domain.PaymentImportRowResult;
+import com.s4r.ghorbari.core.domain.PaymentImportSummary;
 import com.s4r.ghorbari.core.entity.Payment;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IPaymentService {
 
     void recordPayment(PaymentDto dto);
 
-    List<PaymentDto> getAllPayments();
+    /**
+     * Import a settlement CSV, streaming each row's outcome to {@code results} as its chunk completes.
+     */
+    PaymentImportSummary importPayments(InputStream csv, Payment.PaymentMethod defaultMethod,
+                                        Consumer<PaymentImportRowResult> results);
+
+    List<PaymentSummary> getAllPayments();
+
+    CursorPage<PaymentSummary> getPaymentPage(String cursor, Integer limit);
 
     Optional<PaymentDto> getPaymentById(Long id);
 
     Optional<PaymentDto> getPaymentByReference(String paymentReference);
 
-    List<PaymentDto> getPaymentsByInvoiceId(Long invoiceId);
+    List<PaymentSummary> getPaymentsByInvoiceId(Long invoiceId);
 
-    List<PaymentDto> getPaymentsByResidentId(Long residentId);
+    List<PaymentSummary> getPaymentsByResidentId(Long residentId);
 
-    List<PaymentDto> getPaymentsByStatus(Payment.PaymentStatus status);
+    List<PaymentSummary> getPaymentsByStatus(Payment.PaymentStatus status);
 
-    List<PaymentDto> getPaymentsByMethod(Payment.PaymentMethod paymentMethod);
+    List<PaymentSummary> getPaymentsByMethod(Payment.PaymentMethod paymentMethod);
 
-    List<PaymentDto> getPaymentsByDateRange(LocalDate startDate, LocalDate endDate);
+    List<PaymentSummary> getPaymentsByDateRange(LocalDate startDate, LocalDate endDate);
 
-    List<PaymentDto> getPaymentsByResidentAndDateRange(Long residentId, LocalDate startDate, LocalDate endDate);
+    List<PaymentSummary> getPaymentsByResidentAndDateRange(Long residentId, LocalDate startDate, LocalDate endDate);
 
     void updatePayment(Long id, PaymentDto dto);
 
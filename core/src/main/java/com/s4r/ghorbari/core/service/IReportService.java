@@ -0,0 +1,22 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.BuildingAgingRow;
+import com.s4r.ghorbari.core.domain.CursorPage;
+import com.s4r.ghorbari.core.domain.ResidentAgingRow;
+import com.s4r.ghorbari.core.domain.RevenueBreakdownRow;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface IReportService {
+
+    List<RevenueBreakdownRow> getRevenueBreakdown(LocalDate startDate, LocalDate endDate, Long residentId);
+
+    void streamRevenueBreakdown(LocalDate startDate, LocalDate endDate, Long residentId,
+                                Consumer<RevenueBreakdownRow> rows);
+
+    CursorPage<ResidentAgingRow> getResidentAging(LocalDate asOf, String cursor, Integer limit);
+
+    List<BuildingAgingRow> getBuildingAging(LocalDate asOf);
+}
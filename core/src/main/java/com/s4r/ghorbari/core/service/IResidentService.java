@@ -1,5 +1,6 @@
 package com.s4r.ghorbari.core.service;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.ResidentDto;
 
 import java.util.List;
@@ -11,6 +12,8 @@ public interface IResidentService {
 
     List<ResidentDto> getAllResidents();
 
+    CursorPage<ResidentDto> getResidentPage(String cursor, Integer limit);
+
     Optional<ResidentDto> getResidentById(Long id);
 
     List<ResidentDto> getResidentsByApartmentId(Long apartmentId);
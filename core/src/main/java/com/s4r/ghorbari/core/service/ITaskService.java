@@ -0,0 +1,15 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.QueuedTask;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ITaskService {
+
+    Optional<QueuedTask> getTask(Long id);
+
+    List<QueuedTask> getDeadLetteredTasks(int limit);
+
+    QueuedTask retryTask(Long id);
+}
@@ -0,0 +1,10 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.TenantKpis;
+
+public interface ITenantKpiService {
+
+    TenantKpis getKpis();
+
+    TenantKpis recomputeKpis();
+}
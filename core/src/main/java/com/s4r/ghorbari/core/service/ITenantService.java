@@ -1,5 +1,6 @@
 package com.s4r.ghorbari.core.service;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.TenantDto;
 
 import java.util.List;
@@ -17,6 +18,8 @@ public interface ITenantService {
      */
     List<TenantDto> getAllTenants();
 
+    CursorPage<TenantDto> getTenantPage(String cursor, Integer limit);
+
     /**
      * Get tenant by ID
      */
@@ -1,10 +1,12 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.entity.User;
+import com.s4r.ghorbari.core.enums.RoleName;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface IUserService {
 
@@ -24,4 +26,19 @@ public interface IUserService {
                           LocalDate dateOfBirth, String nationalId, String passportNumber,
                           LocalDate passportExpiryDate, String nationality, String emergencyContactName,
                           String emergencyContactPhone, String emergencyContactRelationship);
+
+    void updateUserRoles(Long userId, Set<RoleName> roleNames);
+
+    /**
+     * Change the password of the authenticated user. Callers pass the principal's own id,
+     * after checking the current password; use {@link #resetPassword} for anyone else.
+     */
+    void changeOwnPassword(Long userId, String encodedPassword);
+
+    /**
+     * Set another user's password (admins only)
+     */
+    void resetPassword(Long userId, String encodedPassword);
+
+    void setUserEnabled(Long userId, boolean enabled);
 }
@@ -0,0 +1,93 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.event.TenantKpiChangedEvent;
+import com.s4r.ghorbari.core.repository.InvoiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Checks each invoice's stored paid amount against the sum of its payments.
+ * Mismatches are logged; with repair enabled they are corrected through the same delta update
+ * that payment posting uses, so the invoice status is recomputed as well.
+ */
+@Component
+public class InvoiceBalanceReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceBalanceReconciler.class);
+
+    // Ledger amount per payment, mirroring PaymentService#ledgerAmount
+    private static final String FIND_MISMATCHES_SQL = """
+            SELECT i.id, i.tenant_id,
+                   COALESCE(i.paid_amount, 0) AS stored_paid,
+                   COALESCE(l.net_paid, 0) AS ledger_paid
+            FROM invoices i
+            LEFT JOIN (
+                SELECT p.invoice_id,
+                       SUM(CASE WHEN p.status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED')
+                                THEN p.amount - COALESCE(p.refund_amount, 0)
+                                ELSE 0 END) AS net_paid
+                FROM payments p
+                WHERE p.invoice_id IS NOT NULL
+                GROUP BY p.invoice_id
+            ) l ON l.invoice_id = i.id
+            WHERE COALESCE(i.paid_amount, 0) <> COALESCE(l.net_paid, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InvoiceRepository invoiceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean repair;
+
+    public InvoiceBalanceReconciler(JdbcTemplate jdbcTemplate,
+                                    InvoiceRepository invoiceRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${app.invoicing.reconciliation.repair:false}") boolean repair) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.invoiceRepository = invoiceRepository;
+        this.eventPublisher = eventPublisher;
+        this.repair = repair;
+    }
+
+    @Transactional
+    public int reconcile() {
+        List<BalanceMismatch> mismatches = jdbcTemplate.query(FIND_MISMATCHES_SQL,
+                (rs, rowNum) -> new BalanceMismatch(
+                        rs.getLong("id"),
+                        rs.getLong("tenant_id"),
+                        rs.getBigDecimal("stored_paid"),
+                        rs.getBigDecimal("ledger_paid")));
+
+        for (BalanceMismatch mismatch : mismatches) {
+            logger.warn("Invoice {} (tenant {}) has paid amount {} but its payments total {}",
+                    mismatch.invoiceId(), mismatch.tenantId(), mismatch.storedPaid(), mismatch.ledgerPaid());
+            if (repair) {
+                invoiceRepository.applyPaymentDelta(mismatch.invoiceId(), mismatch.tenantId(),
+                        mismatch.ledgerPaid().subtract(mismatch.storedPaid()));
+            }
+        }
+
+        if (repair) {
+            mismatches.stream()
+                    .map(BalanceMismatch::tenantId)
+                    .distinct()
+                    .forEach(tenantId -> eventPublisher.publishEvent(TenantKpiChangedEvent.recompute(tenantId)));
+        }
+
+        if (!mismatches.isEmpty()) {
+            logger.warn("Invoice balance reconciliation found {} mismatches{}",
+                    mismatches.size(), repair ? " and repaired them" : "");
+        }
+        return mismatches.size();
+    }
+
+    private record BalanceMismatch(Long invoiceId, Long tenantId, BigDecimal storedPaid, BigDecimal ledgerPaid) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.InvoiceSweepResult;
+import com.s4r.ghorbari.core.event.TenantKpiChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves open invoices past their due date to OVERDUE and charges late fees.
+ * <p>
+ * Both steps are set-based UPDATEs per tenant, a chunk of invoices per transaction, so row locks are only held
+ * for one chunk. Rows locked by a concurrent payment are skipped and picked up by the next run.
+ * Each changed invoice gets a row in invoice_sweep_log in the same statement.
+ * <p>
+ * The late fee is charged once per invoice, after the grace period: the flat amount plus a percentage of the
+ * balance outstanding at that point. It is stored in late_fees and added to total_amount.
+ * <p>
+ * Runs daily per tenant through {@link com.s4r.ghorbari.core.job.OverdueSweepJob}.
+ */
+@Component
+public class InvoiceOverdueSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceOverdueSweeper.class);
+
+    private static final String MARK_OVERDUE_SQL = """
+            WITH due AS (
+                SELECT id FROM invoices
+                WHERE tenant_id = ? AND status IN ('PENDING', 'PARTIALLY_PAID') AND due_date < ?
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), marked AS (
+                UPDATE invoices i
+                SET status = 'OVERDUE',
+                    version = i.version + 1,
+                    updated_at = CURRENT_TIMESTAMP
+                FROM due
+                WHERE i.id = due.id
+                RETURNING i.id, i.tenant_id
+            )
+            INSERT INTO invoice_sweep_log (tenant_id, invoice_id, sweep_date, action, amount, created_at)
+            SELECT tenant_id, id, ?, 'MARKED_OVERDUE', NULL, CURRENT_TIMESTAMP FROM marked
+            """;
+
+    // Only invoices whose fee comes out positive qualify, so a chunk never selects rows it will not change
+    private static final String LATE_FEE = "ROUND(CAST(? AS NUMERIC) + (i.total_amount - COALESCE(i.paid_amount, 0)) * ? / 100, 2)";
+
+    private static final String CHARGE_LATE_FEES_SQL = """
+            WITH due AS (
+                SELECT i.id, %1$s AS fee
+                FROM invoices i
+                WHERE i.tenant_id = ? AND i.status = 'OVERDUE' AND i.due_date < ?
+                  AND COALESCE(i.late_fees, 0) = 0
+                  AND %1$s > 0
+                ORDER BY i.id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), charged AS (
+                UPDATE invoices i
+                SET late_fees = due.fee,
+                    total_amount = i.total_amount + due.fee,
+                    version = i.version + 1,
+                    updated_at = CURRENT_TIMESTAMP
+                FROM due
+                WHERE i.id = due.id
+                RETURNING i.id, i.tenant_id, due.fee
+            )
+            INSERT INTO invoice_sweep_log (tenant_id, invoice_id, sweep_date, action, amount, created_at)
+            SELECT tenant_id, id, ?, 'LATE_FEE', fee, CURRENT_TIMESTAMP FROM charged
+            RETURNING amount
+            """.formatted(LATE_FEE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int graceDays;
+    private final BigDecimal lateFeeFlatAmount;
+    private final BigDecimal lateFeeRatePercent;
+
+    public InvoiceOverdueSweeper(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${app.invoicing.overdue-sweep.chunk-size:1000}") int chunkSize,
+                                 @Value("${app.invoicing.late-fee.grace-days:5}") int graceDays,
+                                 @Value("${app.invoicing.late-fee.flat-amount:0}") BigDecimal lateFeeFlatAmount,
+                                 @Value("${app.invoicing.late-fee.rate-percent:0}") BigDecimal lateFeeRatePercent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.graceDays = graceDays;
+        this.lateFeeFlatAmount = lateFeeFlatAmount;
+        this.lateFeeRatePercent = lateFeeRatePercent;
+    }
+
+    public InvoiceSweepResult sweep(Long tenantId, LocalDate today) {
+        long startedAt = System.currentTimeMillis();
+        Date sweepDate = Date.valueOf(today);
+        int chunks = 0;
+
+        int markedOverdue = 0;
+        while (true) {
+            Integer marked = transactionTemplate.execute(status -> jdbcTemplate.update(MARK_OVERDUE_SQL,
+                    tenantId, sweepDate, chunkSize, sweepDate));
+            if (marked == null || marked == 0) {
+                break;
+            }
+            chunks++;
+            markedOverdue += marked;
+            if (marked < chunkSize) {
+                break;
+            }
+        }
+
+        int lateFeesCharged = 0;
+        BigDecimal lateFeeTotal = BigDecimal.ZERO;
+        if (lateFeeFlatAmount.signum() > 0 || lateFeeRatePercent.signum() > 0) {
+            Date feeDueBefore = Date.valueOf(today.minusDays(graceDays));
+            while (true) {
+                List<BigDecimal> fees = transactionTemplate.execute(status -> jdbcTemplate.queryForList(
+                        CHARGE_LATE_FEES_SQL, BigDecimal.class,
+                        lateFeeFlatAmount, lateFeeRatePercent, tenantId, feeDueBefore,
+                        lateFeeFlatAmount, lateFeeRatePercent, chunkSize, sweepDate));
+                if (fees == null || fees.isEmpty()) {
+                    break;
+                }
+                chunks++;
+                lateFeesCharged += fees.size();
+                lateFeeTotal = fees.stream().reduce(lateFeeTotal, BigDecimal::add);
+                if (fees.size() < chunkSize) {
+                    break;
+                }
+            }
+        }
+
+        if (markedOverdue > 0 || lateFeesCharged > 0) {
+            // Late fees raise the outstanding balance; the dashboard counters are rebuilt rather than patched
+            eventPublisher.publishEvent(TenantKpiChangedEvent.recompute(tenantId));
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        logger.info("Overdue sweep {} for tenant {}: {} marked overdue, {} late fees charged totalling {} in {} ms",
+                today, tenantId, markedOverdue, lateFeesCharged, lateFeeTotal, elapsed);
+        return new InvoiceSweepResult(today, markedOverdue, lateFeesCharged, lateFeeTotal, chunks, elapsed);
+    }
+}
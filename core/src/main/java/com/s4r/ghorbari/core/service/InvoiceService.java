@@ -1,17 +1,26 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.InvoiceDto;
+import com.s4r.ghorbari.core.domain.InvoiceSummary;
+import com.s4r.ghorbari.core.domain.PaymentDto;
+import com.s4r.ghorbari.core.domain.QueuedTask;
+import com.s4r.ghorbari.core.domain.TenantKpiDelta;
 import com.s4r.ghorbari.core.entity.Invoice;
-import com.s4r.ghorbari.core.entity.Lease;
+import com.s4r.ghorbari.core.entity.Payment;
+import com.s4r.ghorbari.core.event.DomainEvent;
 import com.s4r.ghorbari.core.exception.ErrorCode;
 import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.outbox.DomainEventOutbox;
+import com.s4r.ghorbari.core.queue.MonthlyInvoiceGenerationTask;
+import com.s4r.ghorbari.core.queue.OverdueSweepTask;
+import com.s4r.ghorbari.core.queue.TaskQueue;
 import com.s4r.ghorbari.core.repository.InvoiceRepository;
 import com.s4r.ghorbari.core.enums.RoleName;
 import com.s4r.ghorbari.core.security.RequiresRole;
-import com.s4r.ghorbari.core.repository.LeaseRepository;
-import com.s4r.ghorbari.core.enums.RoleName;
-import com.s4r.ghorbari.core.security.RequiresRole;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,18 +30,25 @@ import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class InvoiceService implements IInvoiceService {
 
     private final InvoiceRepository invoiceRepository;
-    private final LeaseRepository leaseRepository;
-
-    public InvoiceService(InvoiceRepository invoiceRepository, LeaseRepository leaseRepository) {
+    private final TaskQueue taskQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainEventOutbox outbox;
+    private final IPaymentService paymentService;
+
+    public InvoiceService(InvoiceRepository invoiceRepository, TaskQueue taskQueue,
+                          ApplicationEventPublisher eventPublisher, DomainEventOutbox outbox,
+                          IPaymentService paymentService) {
         this.invoiceRepository = invoiceRepository;
-        this.leaseRepository = leaseRepository;
+        this.taskQueue = taskQueue;
+        this.eventPublisher = eventPublisher;
+        this.outbox = outbox;
+        this.paymentService = paymentService;
     }
 
     @Override
@@ -52,67 +68,72 @@ public class InvoiceService implements IInvoiceService {
 
         invoice.setTenantId(tenantId);
         invoiceRepository.save(invoice);
+        KpiContributions.publish(eventPublisher, tenantId, TenantKpiDelta.ZERO, KpiContributions.invoice(invoice));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InvoiceSummary> getAllInvoices() {
+        return invoiceRepository.findAllSummaries();
     }
 
     @Override
-    public List<InvoiceDto> getAllInvoices() {
-        return invoiceRepository.findAll().stream()
-                .map(InvoiceDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<InvoiceSummary> getInvoicePage(String cursor, Integer limit) {
+        return KeysetPaging.projectionPage(cursor, limit,
+                invoiceRepository::findSummaryFirstPage,
+                (after, pageable) -> invoiceRepository.findSummaryPageAfter(after.createdAt(), after.id(), pageable),
+                InvoiceSummary::position);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<InvoiceDto> getInvoiceById(Long id) {
         return invoiceRepository.findById(id)
                 .map(InvoiceDto::new);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<InvoiceDto> getInvoiceByNumber(String invoiceNumber) {
         return invoiceRepository.findByInvoiceNumber(invoiceNumber)
                 .map(InvoiceDto::new);
     }
 
     @Override
-    public List<InvoiceDto> getInvoicesByStatus(Invoice.InvoiceStatus status) {
-        return invoiceRepository.findByStatus(status).stream()
-                .map(InvoiceDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<InvoiceSummary> getInvoicesByStatus(Invoice.InvoiceStatus status) {
+        return invoiceRepository.findSummariesByStatus(status);
     }
 
     @Override
-    public List<InvoiceDto> getInvoicesByLeaseId(Long leaseId) {
-        return invoiceRepository.findByLeaseId(leaseId).stream()
-                .map(InvoiceDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<InvoiceSummary> getInvoicesByLeaseId(Long leaseId) {
+        return invoiceRepository.findSummariesByLeaseId(leaseId);
     }
 
     @Override
-    public List<InvoiceDto> getInvoicesByResidentId(Long residentId) {
-        return invoiceRepository.findByResidentId(residentId).stream()
-                .map(InvoiceDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<InvoiceSummary> getInvoicesByResidentId(Long residentId) {
+        return invoiceRepository.findSummariesByResidentId(residentId);
     }
 
     @Override
-    public List<InvoiceDto> getUnpaidInvoices() {
-        return invoiceRepository.findUnpaidInvoices().stream()
-                .map(InvoiceDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<InvoiceSummary> getUnpaidInvoices() {
+        return invoiceRepository.findUnpaidSummaries();
     }
 
     @Override
-    public List<InvoiceDto> getOverdueInvoices() {
-        return invoiceRepository.findOverdueInvoices(LocalDate.now()).stream()
-                .map(InvoiceDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<InvoiceSummary> getOverdueInvoices() {
+        return invoiceRepository.findOverdueSummaries();
     }
 
     @Override
-    public List<InvoiceDto> getInvoicesByDateRange(LocalDate startDate, LocalDate endDate) {
-        return invoiceRepository.findInvoicesByDateRange(startDate, endDate).stream()
-                .map(InvoiceDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<InvoiceSummary> getInvoicesByDateRange(LocalDate startDate, LocalDate endDate) {
+        return invoiceRepository.findSummariesByDateRange(startDate, endDate);
     }
 
     @Override
@@ -123,72 +144,89 @@ public class InvoiceService implements IInvoiceService {
             throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
         }
 
-        invoiceRepository.findById(id)
+        if (dto.getVersion() == null) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION, "Invoice version is required");
+        }
+
+        Invoice existing = invoiceRepository.findById(id)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Invoice not found"));
+        // A copy read before the last payment or edit must not overwrite it
+        if (!existing.getVersion().equals(dto.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Invoice.class, id);
+        }
+        TenantKpiDelta before = KpiContributions.invoice(existing);
 
         Invoice invoice = dto.toEntity();
         invoice.setId(id);
         invoice.setTenantId(tenantId);
+        // The paid balance is owned by the payments ledger
+        invoice.setPaidAmount(existing.getPaidAmount());
         invoiceRepository.save(invoice);
+        KpiContributions.publish(eventPublisher, tenantId, before, KpiContributions.invoice(invoice));
     }
 
+    /**
+     * Settle the outstanding balance with a ledger payment, so the paid amount stays backed by payments
+     * and the status is derived from it like for any other payment
+     */
     @Override
     public void markAsPaid(Long id, LocalDate paidDate) {
         Invoice invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Invoice not found"));
 
-        invoice.setStatus(Invoice.InvoiceStatus.PAID);
-        invoice.setPaidAmount(invoice.getTotalAmount());
         invoice.setPaidDate(paidDate);
         invoiceRepository.save(invoice);
+
+        BigDecimal outstanding = invoice.getTotalAmount()
+                .subtract(invoice.getPaidAmount() != null ? invoice.getPaidAmount() : BigDecimal.ZERO);
+        if (outstanding.signum() > 0) {
+            PaymentDto settlement = new PaymentDto();
+            settlement.setInvoiceId(invoice.getId());
+            settlement.setResidentId(invoice.getResidentId());
+            settlement.setPaymentDate(paidDate);
+            settlement.setAmount(outstanding);
+            settlement.setPaymentMethod(Payment.PaymentMethod.OTHER);
+            settlement.setStatus(Payment.PaymentStatus.COMPLETED);
+            settlement.setDescription("Settlement of invoice " + invoice.getInvoiceNumber() + " marked as paid");
+            paymentService.recordPayment(settlement);
+        }
+
+        outbox.record(invoice.getTenantId(), DomainEvent.INVOICE, invoice.getId(), DomainEvent.INVOICE_PAID,
+                "residentId", invoice.getResidentId(),
+                "totalAmount", invoice.getTotalAmount(),
+                "paidDate", paidDate);
     }
 
     @Override
     public void cancelInvoice(Long id) {
         Invoice invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Invoice not found"));
+        TenantKpiDelta before = KpiContributions.invoice(invoice);
 
         invoice.setStatus(Invoice.InvoiceStatus.CANCELLED);
         invoiceRepository.save(invoice);
+        KpiContributions.publish(eventPublisher, invoice.getTenantId(), before, KpiContributions.invoice(invoice));
     }
 
     @Override
-    public void generateMonthlyInvoices(YearMonth month) {
-        Long tenantId = TenantContext.getCurrentTenantId();
-        if (tenantId == null) {
+    public QueuedTask queueMonthlyInvoiceGeneration(YearMonth month) {
+        if (TenantContext.getCurrentTenantId() == null) {
             throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
         }
 
-        // Find all active leases
-        List<Lease> activeLeases = leaseRepository.findByStatus(Lease.LeaseStatus.ACTIVE);
-
-        LocalDate issueDate = month.atDay(1);
-        LocalDate dueDate = month.atDay(5); // Due on 5th of the month
-
-        for (Lease lease : activeLeases) {
-            // Check if invoice already exists for this lease and month
-            boolean invoiceExists = invoiceRepository.findByLeaseId(lease.getId())
-                    .stream()
-                    .anyMatch(inv -> inv.getIssueDate().getYear() == month.getYear() &&
-                            inv.getIssueDate().getMonth() == month.getMonth());
-
-            if (!invoiceExists) {
-                Invoice invoice = new Invoice();
-                invoice.setInvoiceNumber(generateInvoiceNumber());
-                invoice.setLeaseId(lease.getId());
-                invoice.setResidentId(lease.getPrimaryResidentId());
-                invoice.setIssueDate(issueDate);
-                invoice.setDueDate(dueDate);
-                invoice.setRentAmount(lease.getMonthlyRent());
-                invoice.setTotalAmount(lease.getMonthlyRent());
-                invoice.setPaidAmount(BigDecimal.ZERO);
-                invoice.setStatus(Invoice.InvoiceStatus.PENDING);
-                invoice.setDescription("Monthly rent for " + month.getMonth() + " " + month.getYear());
-                invoice.setTenantId(tenantId);
-
-                invoiceRepository.save(invoice);
-            }
+        // Generation takes minutes for large tenants; the worker pool runs it chunk by chunk
+        return taskQueue.enqueue(MonthlyInvoiceGenerationTask.TYPE, month.toString());
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN})
+    public QueuedTask queueOverdueSweep() {
+        if (TenantContext.getCurrentTenantId() == null) {
+            throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
         }
+
+        // Same chunked sweep the daily job runs, limited to the current tenant and dated today
+        return taskQueue.enqueue(OverdueSweepTask.TYPE, LocalDate.now().toString());
     }
 
     @Override
@@ -198,9 +236,10 @@ public class InvoiceService implements IInvoiceService {
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Invoice not found"));
 
         invoiceRepository.delete(invoice);
+        KpiContributions.publish(eventPublisher, invoice.getTenantId(), KpiContributions.invoice(invoice), TenantKpiDelta.ZERO);
     }
 
-    private String generateInvoiceNumber() {
+    static String generateInvoiceNumber() {
         return "INV-" + LocalDate.now().getYear() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 }
@@ -0,0 +1,49 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.JobRun;
+import com.s4r.ghorbari.core.enums.RoleName;
+import com.s4r.ghorbari.core.exception.ErrorCode;
+import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.job.JobScheduler;
+import com.s4r.ghorbari.core.security.RequiresRole;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class JobService implements IJobService {
+
+    private static final int MAX_RUNS = 500;
+
+    private final JobScheduler jobScheduler;
+
+    public JobService(JobScheduler jobScheduler) {
+        this.jobScheduler = jobScheduler;
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN})
+    public List<JobRun> getRecentRuns(String jobName, int limit) {
+        if (jobName != null) {
+            requireKnownJob(jobName);
+        }
+        return jobScheduler.findRecentRuns(jobName, Math.clamp(limit, 1, MAX_RUNS));
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN})
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<JobRun> triggerJob(String jobName) {
+        requireKnownJob(jobName);
+        // Runs on the calling thread, slice by slice, and is recorded in job_runs like a scheduled run
+        return jobScheduler.trigger(jobName);
+    }
+
+    private void requireKnownJob(String jobName) {
+        if (!jobScheduler.jobNames().contains(jobName)) {
+            throw new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Job not found: " + jobName);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.CursorPage;
+import com.s4r.ghorbari.core.domain.PageCursor;
+import com.s4r.ghorbari.core.entity.BaseEntity;
+import com.s4r.ghorbari.core.exception.ErrorCode;
+import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.repository.KeysetPagingRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Shared keyset pagination for the list endpoints.
+ * Fetches one row more than requested to tell whether another page exists.
+ */
+final class KeysetPaging {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private KeysetPaging() {
+    }
+
+    static <E extends BaseEntity, D> CursorPage<D> page(KeysetPagingRepository<E> repository,
+                                                        String cursor, Integer limit,
+                                                        Function<E, D> mapper) {
+        return page(cursor, limit,
+                repository::findFirstPage,
+                (after, pageable) -> repository.findPageAfter(after.createdAt(), after.id(), pageable),
+                mapper);
+    }
+
+    static <E extends BaseEntity, D> CursorPage<D> page(String cursor, Integer limit,
+                                                        Function<Pageable, List<E>> firstPage,
+                                                        BiFunction<PageCursor, Pageable, List<E>> pageAfter,
+                                                        Function<E, D> mapper) {
+        return page(cursor, limit, firstPage, pageAfter, PageCursor::of, mapper);
+    }
+
+    /**
+     * Page over rows that are already projections, such as the summary records selected by constructor expression
+     */
+    static <R> CursorPage<R> projectionPage(String cursor, Integer limit,
+                                            Function<Pageable, List<R>> firstPage,
+                                            BiFunction<PageCursor, Pageable, List<R>> pageAfter,
+                                            Function<R, PageCursor> position) {
+        return page(cursor, limit, firstPage, pageAfter, position, Function.identity());
+    }
+
+    private static <R, D> CursorPage<D> page(String cursor, Integer limit,
+                                             Function<Pageable, List<R>> firstPage,
+                                             BiFunction<PageCursor, Pageable, List<R>> pageAfter,
+                                             Function<R, PageCursor> position,
+                                             Function<R, D> mapper) {
+        int pageSize = resolvePageSize(limit);
+        Pageable pageable = PageRequest.ofSize(pageSize + 1);
+
+        List<R> rows = (cursor == null || cursor.isBlank())
+                ? firstPage.apply(pageable)
+                : pageAfter.apply(PageCursor.decode(cursor), pageable);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<R> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? position.apply(pageRows.get(pageSize - 1)).encode() : null;
+
+        return new CursorPage<>(pageRows.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+
+    private static int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION,
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,101 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.TenantKpiDelta;
+import com.s4r.ghorbari.core.entity.Apartment;
+import com.s4r.ghorbari.core.entity.Invoice;
+import com.s4r.ghorbari.core.entity.MaintenanceRequest;
+import com.s4r.ghorbari.core.entity.Payment;
+import com.s4r.ghorbari.core.event.TenantKpiChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * What a single row contributes to its tenant's dashboard counters.
+ * A write publishes {@code after - before}; the definitions must stay in line with the recompute query
+ * in {@link TenantKpiCounters}, which is what corrects any drift.
+ */
+final class KpiContributions {
+
+    static final Set<Invoice.InvoiceStatus> OPEN_INVOICE_STATUSES =
+            EnumSet.of(Invoice.InvoiceStatus.PENDING, Invoice.InvoiceStatus.PARTIALLY_PAID, Invoice.InvoiceStatus.OVERDUE);
+
+    static final Set<MaintenanceRequest.RequestStatus> OPEN_REQUEST_STATUSES = EnumSet.of(
+            MaintenanceRequest.RequestStatus.OPEN,
+            MaintenanceRequest.RequestStatus.ASSIGNED,
+            MaintenanceRequest.RequestStatus.IN_PROGRESS);
+
+    private KpiContributions() {
+    }
+
+    static TenantKpiDelta apartment(Apartment apartment) {
+        if (apartment == null) {
+            return TenantKpiDelta.ZERO;
+        }
+        return TenantKpiDelta.units(1, apartment.getStatus() == Apartment.ApartmentStatus.OCCUPIED ? 1 : 0);
+    }
+
+    static TenantKpiDelta invoice(Invoice invoice) {
+        if (invoice == null) {
+            return TenantKpiDelta.ZERO;
+        }
+        return invoice(invoice.getStatus(), invoice.getTotalAmount(), invoice.getPaidAmount(), invoice.getDueDate());
+    }
+
+    static TenantKpiDelta invoice(Invoice.InvoiceStatus status, BigDecimal totalAmount, BigDecimal paidAmount,
+                                  LocalDate dueDate) {
+        if (!OPEN_INVOICE_STATUSES.contains(status)) {
+            return TenantKpiDelta.ZERO;
+        }
+        BigDecimal outstanding = orZero(totalAmount).subtract(orZero(paidAmount));
+        boolean overdue = dueDate != null && dueDate.isBefore(LocalDate.now());
+        return TenantKpiDelta.invoices(1, outstanding, overdue ? 1 : 0, overdue ? outstanding : BigDecimal.ZERO);
+    }
+
+    /**
+     * Status an invoice ends up with after a payment delta, mirroring InvoiceRepository#applyPaymentDelta
+     */
+    static Invoice.InvoiceStatus statusForPaidAmount(BigDecimal totalAmount, BigDecimal paidAmount, LocalDate dueDate) {
+        if (paidAmount.signum() > 0 && totalAmount != null && paidAmount.compareTo(totalAmount) >= 0) {
+            return Invoice.InvoiceStatus.PAID;
+        }
+        if (dueDate != null && dueDate.isBefore(LocalDate.now())) {
+            return Invoice.InvoiceStatus.OVERDUE;
+        }
+        if (paidAmount.signum() <= 0) {
+            return Invoice.InvoiceStatus.PENDING;
+        }
+        return Invoice.InvoiceStatus.PARTIALLY_PAID;
+    }
+
+    static TenantKpiDelta payment(Payment payment) {
+        if (payment == null || payment.getPaymentDate() == null
+                || !YearMonth.from(payment.getPaymentDate()).equals(YearMonth.now())) {
+            return TenantKpiDelta.ZERO;
+        }
+        return TenantKpiDelta.revenue(PaymentService.ledgerAmount(payment));
+    }
+
+    static TenantKpiDelta maintenanceRequest(MaintenanceRequest request) {
+        if (request == null || !OPEN_REQUEST_STATUSES.contains(request.getStatus())) {
+            return TenantKpiDelta.ZERO;
+        }
+        return TenantKpiDelta.maintenanceRequests(1);
+    }
+
+    static void publish(ApplicationEventPublisher eventPublisher, Long tenantId,
+                        TenantKpiDelta before, TenantKpiDelta after) {
+        TenantKpiDelta delta = after.minus(before);
+        if (tenantId != null && !delta.isZero()) {
+            eventPublisher.publishEvent(new TenantKpiChangedEvent(tenantId, delta));
+        }
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
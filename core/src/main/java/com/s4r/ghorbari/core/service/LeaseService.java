@@ -1,10 +1,14 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.LeaseDto;
+import com.s4r.ghorbari.core.domain.LeaseSummary;
 import com.s4r.ghorbari.core.entity.Lease;
+import com.s4r.ghorbari.core.event.DomainEvent;
 import com.s4r.ghorbari.core.exception.ErrorCode;
 import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.outbox.DomainEventOutbox;
 import com.s4r.ghorbari.core.repository.LeaseRepository;
 import com.s4r.ghorbari.core.enums.RoleName;
 import com.s4r.ghorbari.core.security.RequiresRole;
@@ -14,16 +18,17 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class LeaseService implements ILeaseService {
 
     private final LeaseRepository leaseRepository;
+    private final DomainEventOutbox outbox;
 
-    public LeaseService(LeaseRepository leaseRepository) {
+    public LeaseService(LeaseRepository leaseRepository, DomainEventOutbox outbox) {
         this.leaseRepository = leaseRepository;
+        this.outbox = outbox;
     }
 
     @Override
@@ -39,48 +44,54 @@ public class LeaseService implements ILeaseService {
     }
 
     @Override
-    public List<LeaseDto> getAllLeases() {
-        return leaseRepository.findAll().stream()
-                .map(LeaseDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<LeaseSummary> getAllLeases() {
+        return leaseRepository.findAllSummaries();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<LeaseSummary> getLeasePage(String cursor, Integer limit) {
+        return KeysetPaging.projectionPage(cursor, limit,
+                leaseRepository::findSummaryFirstPage,
+                (after, pageable) -> leaseRepository.findSummaryPageAfter(after.createdAt(), after.id(), pageable),
+                LeaseSummary::position);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<LeaseDto> getLeaseById(Long id) {
         return leaseRepository.findById(id)
                 .map(LeaseDto::new);
     }
 
     @Override
-    public List<LeaseDto> getLeasesByStatus(Lease.LeaseStatus status) {
-        return leaseRepository.findByStatus(status).stream()
-                .map(LeaseDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<LeaseSummary> getLeasesByStatus(Lease.LeaseStatus status) {
+        return leaseRepository.findSummariesByStatus(status);
     }
 
     @Override
-    public List<LeaseDto> getLeasesByApartmentId(Long apartmentId) {
-        return leaseRepository.findByApartmentId(apartmentId).stream()
-                .map(LeaseDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<LeaseSummary> getLeasesByApartmentId(Long apartmentId) {
+        return leaseRepository.findSummariesByApartmentId(apartmentId);
     }
 
     @Override
-    public List<LeaseDto> getLeasesByResidentId(Long residentId) {
-        return leaseRepository.findByPrimaryResidentId(residentId).stream()
-                .map(LeaseDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<LeaseSummary> getLeasesByResidentId(Long residentId) {
+        return leaseRepository.findSummariesByPrimaryResidentId(residentId);
     }
 
     @Override
-    public List<LeaseDto> getExpiringLeases(LocalDate beforeDate) {
+    @Transactional(readOnly = true)
+    public List<LeaseSummary> getExpiringLeases(LocalDate beforeDate) {
         LocalDate today = LocalDate.now();
-        return leaseRepository.findExpiringLeases(today, beforeDate).stream()
-                .map(LeaseDto::new)
-                .collect(Collectors.toList());
+        return leaseRepository.findExpiringSummaries(today, beforeDate);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<LeaseDto> getActiveLeaseByApartment(Long apartmentId) {
         return leaseRepository.findActiveLeaseByApartment(apartmentId)
                 .map(LeaseDto::new);
@@ -112,6 +123,10 @@ public class LeaseService implements ILeaseService {
         lease.setTerminationDate(terminationDate);
         lease.setTerminationReason(reason);
         leaseRepository.save(lease);
+        outbox.record(lease.getTenantId(), DomainEvent.LEASE, lease.getId(), DomainEvent.LEASE_TERMINATED,
+                "apartmentId", lease.getApartmentId(),
+                "residentId", lease.getPrimaryResidentId(),
+                "terminationDate", terminationDate);
     }
 
     @Override
@@ -1,10 +1,13 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.CursorPage;
+import com.s4r.ghorbari.core.domain.TenantKpiDelta;
 import com.s4r.ghorbari.core.entity.MaintenanceRequest;
 import com.s4r.ghorbari.core.exception.ErrorCode;
 import com.s4r.ghorbari.core.exception.ServiceException;
 import com.s4r.ghorbari.core.repository.MaintenanceRequestRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,15 +15,19 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class MaintenanceRequestService implements IMaintenanceRequestService {
 
     private final MaintenanceRequestRepository maintenanceRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MaintenanceRequestService(MaintenanceRequestRepository maintenanceRequestRepository) {
+    public MaintenanceRequestService(MaintenanceRequestRepository maintenanceRequestRepository,
+                                     ApplicationEventPublisher eventPublisher) {
         this.maintenanceRequestRepository = maintenanceRequestRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -37,59 +44,77 @@ public class MaintenanceRequestService implements IMaintenanceRequestService {
 
         request.setTenantId(tenantId);
         maintenanceRequestRepository.save(request);
+        KpiContributions.publish(eventPublisher, tenantId, TenantKpiDelta.ZERO, KpiContributions.maintenanceRequest(request));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MaintenanceRequest> getAllRequests() {
         return maintenanceRequestRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MaintenanceRequest> getRequestPage(String cursor, Integer limit) {
+        return KeysetPaging.page(maintenanceRequestRepository, cursor, limit, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<MaintenanceRequest> getRequestById(Long id) {
         return maintenanceRequestRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<MaintenanceRequest> getRequestByNumber(String requestNumber) {
         return maintenanceRequestRepository.findByRequestNumber(requestNumber);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MaintenanceRequest> getRequestsByStatus(MaintenanceRequest.RequestStatus status) {
         return maintenanceRequestRepository.findByStatus(status);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MaintenanceRequest> getRequestsByPriority(MaintenanceRequest.Priority priority) {
         return maintenanceRequestRepository.findByPriority(priority);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MaintenanceRequest> getRequestsByCategory(MaintenanceRequest.RequestCategory category) {
         return maintenanceRequestRepository.findByCategory(category);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MaintenanceRequest> getRequestsByApartmentId(Long apartmentId) {
         return maintenanceRequestRepository.findByApartmentId(apartmentId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MaintenanceRequest> getRequestsByResidentId(Long residentId) {
         return maintenanceRequestRepository.findByResidentId(residentId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MaintenanceRequest> getRequestsByAssignedTo(Long assignedToId) {
         return maintenanceRequestRepository.findByAssignedToId(assignedToId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MaintenanceRequest> getActiveRequests() {
         return maintenanceRequestRepository.findActiveRequests();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MaintenanceRequest> getRequestsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return maintenanceRequestRepository.findRequestsByDateRange(startDate, endDate);
     }
@@ -101,63 +126,75 @@ public class MaintenanceRequestService implements IMaintenanceRequestService {
             throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
         }
 
-        maintenanceRequestRepository.findById(request.getId())
+        MaintenanceRequest existing = maintenanceRequestRepository.findById(request.getId())
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Maintenance request not found"));
+        TenantKpiDelta before = KpiContributions.maintenanceRequest(existing);
 
         request.setTenantId(tenantId);
         maintenanceRequestRepository.save(request);
+        KpiContributions.publish(eventPublisher, tenantId, before, KpiContributions.maintenanceRequest(request));
     }
 
     @Override
     public void assignToStaff(Long requestId, Long staffId) {
         MaintenanceRequest request = maintenanceRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Maintenance request not found"));
+        TenantKpiDelta before = KpiContributions.maintenanceRequest(request);
 
         request.setAssignedToId(staffId);
         request.setStatus(MaintenanceRequest.RequestStatus.ASSIGNED);
         maintenanceRequestRepository.save(request);
+        KpiContributions.publish(eventPublisher, request.getTenantId(), before, KpiContributions.maintenanceRequest(request));
     }
 
     @Override
     public void updateStatus(Long requestId, MaintenanceRequest.RequestStatus status) {
         MaintenanceRequest request = maintenanceRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Maintenance request not found"));
+        TenantKpiDelta before = KpiContributions.maintenanceRequest(request);
 
         request.setStatus(status);
         maintenanceRequestRepository.save(request);
+        KpiContributions.publish(eventPublisher, request.getTenantId(), before, KpiContributions.maintenanceRequest(request));
     }
 
     @Override
     public void scheduleRequest(Long requestId, LocalDateTime scheduledDate) {
         MaintenanceRequest request = maintenanceRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Maintenance request not found"));
+        TenantKpiDelta before = KpiContributions.maintenanceRequest(request);
 
         request.setScheduledDate(scheduledDate);
         if (request.getStatus() == MaintenanceRequest.RequestStatus.OPEN) {
             request.setStatus(MaintenanceRequest.RequestStatus.ASSIGNED);
         }
         maintenanceRequestRepository.save(request);
+        KpiContributions.publish(eventPublisher, request.getTenantId(), before, KpiContributions.maintenanceRequest(request));
     }
 
     @Override
     public void completeRequest(Long requestId, String resolutionNotes) {
         MaintenanceRequest request = maintenanceRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Maintenance request not found"));
+        TenantKpiDelta before = KpiContributions.maintenanceRequest(request);
 
         request.setStatus(MaintenanceRequest.RequestStatus.COMPLETED);
         request.setCompletedAt(LocalDateTime.now());
         request.setResolutionNotes(resolutionNotes);
         maintenanceRequestRepository.save(request);
+        KpiContributions.publish(eventPublisher, request.getTenantId(), before, KpiContributions.maintenanceRequest(request));
     }
 
     @Override
     public void cancelRequest(Long requestId, String reason) {
         MaintenanceRequest request = maintenanceRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Maintenance request not found"));
+        TenantKpiDelta before = KpiContributions.maintenanceRequest(request);
 
         request.setStatus(MaintenanceRequest.RequestStatus.CANCELLED);
         request.setResolutionNotes(reason);
         maintenanceRequestRepository.save(request);
+        KpiContributions.publish(eventPublisher, request.getTenantId(), before, KpiContributions.maintenanceRequest(request));
     }
 
     @Override
@@ -166,6 +203,8 @@ public class MaintenanceRequestService implements IMaintenanceRequestService {
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Maintenance request not found"));
 
         maintenanceRequestRepository.delete(request);
+        KpiContributions.publish(eventPublisher, request.getTenantId(),
+                KpiContributions.maintenanceRequest(request), TenantKpiDelta.ZERO);
     }
 
     private String generateRequestNumber() {
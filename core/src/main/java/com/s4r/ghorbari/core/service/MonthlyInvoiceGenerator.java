@@ -0,0 +1,153 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.InvoiceGenerationResult;
+import com.s4r.ghorbari.core.entity.Invoice;
+import com.s4r.ghorbari.core.entity.Lease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Set-based monthly invoice generation.
+ * <p>
+ * Leases without an invoice for the month are found with a single anti-join per chunk and
+ * inserted with a JDBC batch. Each chunk commits in its own transaction, so an interrupted run
+ * keeps the chunks it finished and a re-run only picks up the leases that are still unbilled.
+ * Chunks for the same tenant are serialized with a transaction-scoped advisory lock, which keeps
+ * concurrent runs from billing a lease twice.
+ */
+@Component
+public class MonthlyInvoiceGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyInvoiceGenerator.class);
+
+    private static final String LOCK_SQL =
+            "SELECT pg_advisory_xact_lock(hashtext('monthly-invoice-generation'), ?)";
+
+    private static final String COUNT_ACTIVE_LEASES_SQL =
+            "SELECT count(*) FROM leases WHERE tenant_id = ? AND status = ?";
+
+    private static final String FIND_UNBILLED_LEASES_SQL = """
+            SELECT l.id, l.primary_resident_id, l.monthly_rent
+            FROM leases l
+            WHERE l.tenant_id = ? AND l.status = ? AND l.id > ?
+              AND NOT EXISTS (
+                  SELECT 1 FROM invoices i
+                  WHERE i.tenant_id = l.tenant_id
+                    AND i.lease_id = l.id
+                    AND i.issue_date >= ? AND i.issue_date < ?)
+            ORDER BY l.id
+            LIMIT ?
+            """;
+
+    private static final String INSERT_INVOICE_SQL = """
+            INSERT INTO invoices (created_at, updated_at, tenant_id, invoice_number, lease_id, resident_id,
+                                  issue_date, due_date, rent_amount, total_amount, paid_amount, status, description)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public MonthlyInvoiceGenerator(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.invoicing.generation-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public InvoiceGenerationResult generate(Long tenantId, YearMonth month) {
+        long startedAt = System.currentTimeMillis();
+
+        Integer activeLeases = jdbcTemplate.queryForObject(COUNT_ACTIVE_LEASES_SQL, Integer.class,
+                tenantId, Lease.LeaseStatus.ACTIVE.name());
+        int total = activeLeases != null ? activeLeases : 0;
+
+        int created = 0;
+        int chunks = 0;
+        long afterLeaseId = 0L;
+
+        while (true) {
+            long cursor = afterLeaseId;
+            List<UnbilledLease> billed = transactionTemplate.execute(status -> billChunk(tenantId, month, cursor));
+            if (billed == null || billed.isEmpty()) {
+                break;
+            }
+
+            chunks++;
+            created += billed.size();
+            afterLeaseId = billed.get(billed.size() - 1).leaseId();
+            logger.info("Monthly invoices {} for tenant {}: chunk {} billed {} leases ({} of {} active leases so far)",
+                    month, tenantId, chunks, billed.size(), created, total);
+
+            if (billed.size() < chunkSize) {
+                break;
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        int alreadyInvoiced = Math.max(total - created, 0);
+        logger.info("Monthly invoices {} for tenant {} done: {} created, {} already invoiced, {} chunks in {} ms",
+                month, tenantId, created, alreadyInvoiced, chunks, elapsed);
+
+        return new InvoiceGenerationResult(month, total, created, alreadyInvoiced, chunks, elapsed);
+    }
+
+    private List<UnbilledLease> billChunk(Long tenantId, YearMonth month, long afterLeaseId) {
+        jdbcTemplate.query(LOCK_SQL, rs -> null, Long.hashCode(tenantId));
+
+        LocalDate monthStart = month.atDay(1);
+        List<UnbilledLease> leases = jdbcTemplate.query(FIND_UNBILLED_LEASES_SQL,
+                (rs, rowNum) -> new UnbilledLease(
+                        rs.getLong("id"),
+                        rs.getObject("primary_resident_id", Long.class),
+                        rs.getBigDecimal("monthly_rent")),
+                tenantId, Lease.LeaseStatus.ACTIVE.name(), afterLeaseId,
+                Date.valueOf(monthStart), Date.valueOf(month.plusMonths(1).atDay(1)), chunkSize);
+
+        if (leases.isEmpty()) {
+            return leases;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date issueDate = Date.valueOf(monthStart);
+        Date dueDate = Date.valueOf(month.atDay(5)); // Due on 5th of the month
+        String description = "Monthly rent for " + month.getMonth() + " " + month.getYear();
+
+        jdbcTemplate.batchUpdate(INSERT_INVOICE_SQL, leases, leases.size(), (ps, lease) -> {
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setLong(3, tenantId);
+            ps.setString(4, InvoiceService.generateInvoiceNumber());
+            ps.setLong(5, lease.leaseId());
+            ps.setObject(6, lease.residentId(), Types.BIGINT);
+            ps.setDate(7, issueDate);
+            ps.setDate(8, dueDate);
+            ps.setBigDecimal(9, lease.monthlyRent());
+            ps.setBigDecimal(10, lease.monthlyRent());
+            ps.setBigDecimal(11, BigDecimal.ZERO);
+            ps.setString(12, Invoice.InvoiceStatus.PENDING.name());
+            ps.setString(13, description);
+        });
+
+        return leases;
+    }
+
+    private record UnbilledLease(Long leaseId, Long residentId, BigDecimal monthlyRent) {
+    }
+}
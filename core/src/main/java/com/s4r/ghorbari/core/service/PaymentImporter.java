@@ -0,0 +1,402 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.PaymentImportRowResult;
+import com.s4r.ghorbari.core.domain.PaymentImportSummary;
+import com.s4r.ghorbari.core.entity.Invoice;
+import com.s4r.ghorbari.core.entity.Payment;
+import com.s4r.ghorbari.core.exception.ErrorCode;
+import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.repository.InvoiceRepository;
+import com.s4r.ghorbari.core.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a settlement CSV into payments, one chunk of rows per transaction.
+ * <p>
+ * Rows are matched to an existing payment by {@code paymentReference} (settling it if still pending)
+ * or to an invoice by {@code invoiceNumber} (recording a new completed payment). A row without a reference
+ * gets one derived from its invoice number, amount, date and transaction id, so importing the same file
+ * again finds the payments it created instead of posting them twice. Each chunk resolves
+ * its references and invoice numbers with one query each, inserts the new payments as a batch and
+ * applies a single balance delta per invoice. References already used by another tenant fail their own
+ * row up front rather than the chunk's insert. Only the current chunk is held in memory, and row
+ * results are handed to the caller as soon as their chunk finishes.
+ */
+@Component
+public class PaymentImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentImporter.class);
+
+    private static final String PAYMENT_REFERENCE = "paymentreference";
+    private static final String INVOICE_NUMBER = "invoicenumber";
+    private static final String AMOUNT = "amount";
+    private static final String PAYMENT_DATE = "paymentdate";
+    private static final String PAYMENT_METHOD = "paymentmethod";
+    private static final String TRANSACTION_ID = "transactionid";
+    private static final String RESIDENT_ID = "residentid";
+    private static final String NOTES = "notes";
+
+    private final PaymentRepository paymentRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PaymentImporter(PaymentRepository paymentRepository,
+                           InvoiceRepository invoiceRepository,
+                           EntityManager entityManager,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.payments.import-chunk-size:500}") int chunkSize) {
+        this.paymentRepository = paymentRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public PaymentImportSummary importPayments(Long tenantId, InputStream csv, Payment.PaymentMethod defaultMethod,
+                                               Consumer<PaymentImportRowResult> results) {
+        long startedAt = System.currentTimeMillis();
+        ImportTotals totals = new ImportTotals();
+
+        try (Reader reader = new InputStreamReader(csv, StandardCharsets.UTF_8)) {
+            CsvRecordReader records = new CsvRecordReader(reader);
+            Map<String, Integer> columns = readHeader(records.next());
+
+            List<RawRow> chunk = new ArrayList<>(chunkSize);
+            long rowNumber = 0;
+            List<String> record;
+            while ((record = records.next()) != null) {
+                if (record.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                chunk.add(new RawRow(++rowNumber, record));
+                if (chunk.size() == chunkSize) {
+                    processChunk(tenantId, columns, defaultMethod, chunk, totals, results);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(tenantId, columns, defaultMethod, chunk, totals, results);
+            }
+        } catch (IOException e) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION, "Could not read payment file: " + e.getMessage());
+        }
+
+        PaymentImportSummary summary = totals.toSummary(System.currentTimeMillis() - startedAt);
+        logger.info("Payment import for tenant {} done: {}", tenantId, summary);
+        return summary;
+    }
+
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION, "Payment file is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalizeColumn(header.get(i)), i);
+        }
+
+        if (!columns.containsKey(AMOUNT)
+                || (!columns.containsKey(INVOICE_NUMBER) && !columns.containsKey(PAYMENT_REFERENCE))) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION,
+                    "Payment file needs an amount column and an invoiceNumber or paymentReference column");
+        }
+        return columns;
+    }
+
+    private void processChunk(Long tenantId, Map<String, Integer> columns, Payment.PaymentMethod defaultMethod,
+                              List<RawRow> chunk, ImportTotals totals, Consumer<PaymentImportRowResult> results) {
+        List<PaymentImportRowResult> chunkResults;
+        try {
+            ChunkOutcome outcome = transactionTemplate.execute(status -> importChunk(tenantId, columns, defaultMethod, chunk));
+            chunkResults = outcome.results();
+            totals.invoiceUpdates += outcome.invoiceUpdates();
+        } catch (RuntimeException e) {
+            logger.error("Payment import chunk starting at row {} rolled back: {}",
+                    chunk.get(0).rowNumber(), e.getMessage());
+            chunkResults = chunk.stream()
+                    .map(row -> new PaymentImportRowResult(row.rowNumber(), PaymentImportRowResult.Status.FAILED,
+                            null, null, null, "Rolled back with its chunk: " + e.getMessage()))
+                    .collect(Collectors.toList());
+        } finally {
+            // Keep the persistence context from growing with the file
+            entityManager.clear();
+        }
+
+        for (PaymentImportRowResult result : chunkResults) {
+            totals.add(result);
+            results.accept(result);
+        }
+    }
+
+    private ChunkOutcome importChunk(Long tenantId, Map<String, Integer> columns,
+                                                     Payment.PaymentMethod defaultMethod, List<RawRow> chunk) {
+        PaymentImportRowResult[] results = new PaymentImportRowResult[chunk.size()];
+        ImportRow[] rows = new ImportRow[chunk.size()];
+        Set<String> references = new HashSet<>();
+        Set<String> invoiceNumbers = new HashSet<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            RawRow raw = chunk.get(i);
+            try {
+                rows[i] = parse(raw, columns, defaultMethod);
+                if (rows[i].paymentReference() != null) {
+                    references.add(rows[i].paymentReference());
+                }
+                if (rows[i].invoiceNumber() != null) {
+                    invoiceNumbers.add(rows[i].invoiceNumber());
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                results[i] = failed(raw.rowNumber(), field(raw, columns, PAYMENT_REFERENCE),
+                        field(raw, columns, INVOICE_NUMBER), "Invalid row: " + e.getMessage());
+            }
+        }
+
+        Map<String, Payment> existingPayments = references.isEmpty() ? Map.of()
+                : paymentRepository.findByPaymentReferenceIn(references).stream()
+                        .filter(payment -> Objects.equals(payment.getTenantId(), tenantId))
+                        .collect(Collectors.toMap(Payment::getPaymentReference, Function.identity()));
+        Set<String> takenReferences = references.isEmpty() ? Set.of()
+                : new HashSet<>(paymentRepository.findTakenPaymentReferences(references));
+        Map<String, Invoice> invoices = invoiceNumbers.isEmpty() ? Map.of()
+                : invoiceRepository.findByInvoiceNumberIn(invoiceNumbers).stream()
+                        .filter(invoice -> Objects.equals(invoice.getTenantId(), tenantId))
+                        .collect(Collectors.toMap(Invoice::getInvoiceNumber, Function.identity()));
+
+        Map<Long, BigDecimal> invoiceDeltas = new HashMap<>();
+        Set<String> seenReferences = new HashSet<>();
+        List<Payment> newPayments = new ArrayList<>();
+        List<Integer> newPaymentRows = new ArrayList<>();
+
+        for (int i = 0; i < rows.length; i++) {
+            ImportRow row = rows[i];
+            if (row == null) {
+                continue;
+            }
+
+            if (row.paymentReference() != null && !seenReferences.add(row.paymentReference())) {
+                results[i] = failed(row, "Payment reference appears more than once in this file");
+                continue;
+            }
+
+            Payment existing = row.paymentReference() != null ? existingPayments.get(row.paymentReference()) : null;
+            if (existing != null) {
+                results[i] = settle(existing, row, invoiceDeltas);
+                continue;
+            }
+            if (row.paymentReference() != null && takenReferences.contains(row.paymentReference())) {
+                // Belongs to another tenant; inserting it would fail the unique index and roll back the chunk
+                results[i] = failed(row, "Payment reference is already in use");
+                continue;
+            }
+
+            Invoice invoice = row.invoiceNumber() != null ? invoices.get(row.invoiceNumber()) : null;
+            if (invoice == null) {
+                results[i] = failed(row, "No matching payment reference or invoice number");
+            } else if (invoice.getStatus() == Invoice.InvoiceStatus.CANCELLED) {
+                results[i] = failed(row, "Invoice is cancelled");
+            } else if (row.amount() == null) {
+                results[i] = failed(row, "Amount is required for a new payment");
+            } else {
+                newPayments.add(newPayment(tenantId, invoice, row));
+                newPaymentRows.add(i);
+                invoiceDeltas.merge(invoice.getId(), row.amount(), BigDecimal::add);
+            }
+        }
+
+        paymentRepository.saveAll(newPayments);
+        for (int n = 0; n < newPayments.size(); n++) {
+            Payment payment = newPayments.get(n);
+            int i = newPaymentRows.get(n);
+            results[i] = new PaymentImportRowResult(rows[i].rowNumber(), PaymentImportRowResult.Status.IMPORTED,
+                    payment.getPaymentReference(), rows[i].invoiceNumber(), payment.getId(), null);
+        }
+
+        invoiceDeltas.forEach((invoiceId, delta) -> invoiceRepository.applyPaymentDelta(invoiceId, tenantId, delta));
+        return new ChunkOutcome(Arrays.asList(results), invoiceDeltas.size());
+    }
+
+    private PaymentImportRowResult settle(Payment payment, ImportRow row, Map<Long, BigDecimal> invoiceDeltas) {
+        if (payment.getStatus() != Payment.PaymentStatus.PENDING) {
+            return new PaymentImportRowResult(row.rowNumber(), PaymentImportRowResult.Status.DUPLICATE,
+                    row.paymentReference(), row.invoiceNumber(), payment.getId(),
+                    "Payment is already " + payment.getStatus());
+        }
+
+        if (row.amount() != null) {
+            payment.setAmount(row.amount());
+        }
+        payment.setPaymentDate(row.paymentDate());
+        if (row.transactionId() != null) {
+            payment.setTransactionId(row.transactionId());
+        }
+        payment.setStatus(Payment.PaymentStatus.COMPLETED);
+
+        if (payment.getInvoiceId() != null) {
+            invoiceDeltas.merge(payment.getInvoiceId(), PaymentService.ledgerAmount(payment), BigDecimal::add);
+        }
+        return new PaymentImportRowResult(row.rowNumber(), PaymentImportRowResult.Status.SETTLED,
+                row.paymentReference(), row.invoiceNumber(), payment.getId(), null);
+    }
+
+    private Payment newPayment(Long tenantId, Invoice invoice, ImportRow row) {
+        Payment payment = new Payment();
+        payment.setPaymentReference(row.paymentReference());
+        payment.setInvoiceId(invoice.getId());
+        payment.setResidentId(row.residentId() != null ? row.residentId() : invoice.getResidentId());
+        payment.setPaymentDate(row.paymentDate());
+        payment.setAmount(row.amount());
+        payment.setPaymentMethod(row.paymentMethod());
+        payment.setStatus(Payment.PaymentStatus.COMPLETED);
+        payment.setTransactionId(row.transactionId());
+        payment.setNotes(row.notes());
+        payment.setTenantId(tenantId);
+        return payment;
+    }
+
+    private ImportRow parse(RawRow raw, Map<String, Integer> columns, Payment.PaymentMethod defaultMethod) {
+        String amountValue = field(raw, columns, AMOUNT);
+        BigDecimal amount = amountValue != null ? new BigDecimal(amountValue) : null;
+        if (amount != null && amount.signum() <= 0) {
+            throw new IllegalArgumentException("amount must be positive");
+        }
+
+        String dateValue = field(raw, columns, PAYMENT_DATE);
+        String methodValue = field(raw, columns, PAYMENT_METHOD);
+        String residentValue = field(raw, columns, RESIDENT_ID);
+
+        String transactionId = field(raw, columns, TRANSACTION_ID);
+        String paymentReference = field(raw, columns, PAYMENT_REFERENCE);
+        String invoiceNumber = field(raw, columns, INVOICE_NUMBER);
+        if (paymentReference == null && invoiceNumber == null) {
+            throw new IllegalArgumentException("paymentReference or invoiceNumber is required");
+        }
+        if (paymentReference == null) {
+            paymentReference = derivedReference(invoiceNumber, amount, dateValue, transactionId);
+        }
+
+        return new ImportRow(
+                raw.rowNumber(),
+                paymentReference,
+                invoiceNumber,
+                amount,
+                dateValue != null ? LocalDate.parse(dateValue) : LocalDate.now(),
+                methodValue != null ? Payment.PaymentMethod.valueOf(methodValue.toUpperCase(Locale.ROOT)) : defaultMethod,
+                transactionId,
+                residentValue != null ? Long.valueOf(residentValue) : null,
+                field(raw, columns, NOTES));
+    }
+
+    /**
+     * Reference for a row that has none, stable across imports of the same row
+     */
+    static String derivedReference(String invoiceNumber, BigDecimal amount, String paymentDate, String transactionId) {
+        String key = String.join("|", invoiceNumber,
+                amount != null ? amount.stripTrailingZeros().toPlainString() : "",
+                paymentDate != null ? paymentDate : "",
+                transactionId != null ? transactionId : "");
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return "IMP-" + HexFormat.of().withUpperCase().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String field(RawRow raw, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= raw.values().size()) {
+            return null;
+        }
+        String value = raw.values().get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalizeColumn(String name) {
+        return name.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static PaymentImportRowResult failed(ImportRow row, String message) {
+        return failed(row.rowNumber(), row.paymentReference(), row.invoiceNumber(), message);
+    }
+
+    private static PaymentImportRowResult failed(long rowNumber, String paymentReference, String invoiceNumber,
+                                                 String message) {
+        return new PaymentImportRowResult(rowNumber, PaymentImportRowResult.Status.FAILED,
+                paymentReference, invoiceNumber, null, message);
+    }
+
+    private record ChunkOutcome(List<PaymentImportRowResult> results, int invoiceUpdates) {
+    }
+
+    private record RawRow(long rowNumber, List<String> values) {
+    }
+
+    private record ImportRow(long rowNumber,
+                             String paymentReference,
+                             String invoiceNumber,
+                             BigDecimal amount,
+                             LocalDate paymentDate,
+                             Payment.PaymentMethod paymentMethod,
+                             String transactionId,
+                             Long residentId,
+                             String notes) {
+    }
+
+    private static final class ImportTotals {
+
+        private long rows;
+        private long imported;
+        private long settled;
+        private long duplicates;
+        private long failed;
+        private long invoiceUpdates;
+
+        void add(PaymentImportRowResult result) {
+            rows++;
+            switch (result.status()) {
+                case IMPORTED -> imported++;
+                case SETTLED -> settled++;
+                case DUPLICATE -> duplicates++;
+                case FAILED -> failed++;
+            }
+        }
+
+        PaymentImportSummary toSummary(long elapsedMillis) {
+            return new PaymentImportSummary(rows, imported, settled, duplicates, failed,
+                    invoiceUpdates, elapsedMillis);
+        }
+    }
+}
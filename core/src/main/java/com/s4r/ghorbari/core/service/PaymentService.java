@@ -1,26 +1,36 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.CursorPage;
+import com.s4r.ghorbari.core.domain.InvoiceSummary;
 import com.s4r.ghorbari.core.domain.PaymentDto;
-import com.s4r.ghorbari.core.entity.Invoice;
+import com.s4r.ghorbari.core.domain.PaymentSummary;
+import com.s4r.ghorbari.core.domain.PaymentImportRowResult;
+import com.s4r.ghorbari.core.domain.PaymentImportSummary;
+import com.s4r.ghorbari.core.domain.TenantKpiDelta;
 import com.s4r.ghorbari.core.entity.Payment;
+import com.s4r.ghorbari.core.event.DomainEvent;
+import com.s4r.ghorbari.core.event.TenantKpiChangedEvent;
 import com.s4r.ghorbari.core.exception.ErrorCode;
 import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.outbox.DomainEventOutbox;
 import com.s4r.ghorbari.core.repository.InvoiceRepository;
 import com.s4r.ghorbari.core.enums.RoleName;
 import com.s4r.ghorbari.core.security.RequiresRole;
 import com.s4r.ghorbari.core.repository.PaymentRepository;
-import com.s4r.ghorbari.core.enums.RoleName;
-import com.s4r.ghorbari.core.security.RequiresRole;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -28,10 +38,18 @@ public class PaymentService implements IPaymentService {
 
     private final PaymentRepository paymentRepository;
     private final InvoiceRepository invoiceRepository;
+    private final PaymentImporter paymentImporter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainEventOutbox outbox;
 
-    public PaymentService(PaymentRepository paymentRepository, InvoiceRepository invoiceRepository) {
+    public PaymentService(PaymentRepository paymentRepository, InvoiceRepository invoiceRepository,
+                          PaymentImporter paymentImporter, ApplicationEventPublisher eventPublisher,
+                          DomainEventOutbox outbox) {
         this.paymentRepository = paymentRepository;
         this.invoiceRepository = invoiceRepository;
+        this.paymentImporter = paymentImporter;
+        this.eventPublisher = eventPublisher;
+        this.outbox = outbox;
     }
 
     @Override
@@ -50,72 +68,96 @@ public class PaymentService implements IPaymentService {
 
         payment.setTenantId(tenantId);
         paymentRepository.save(payment);
+        KpiContributions.publish(eventPublisher, tenantId, TenantKpiDelta.ZERO, KpiContributions.payment(payment));
+
+        applyToInvoice(payment.getInvoiceId(), tenantId, ledgerAmount(payment));
+        outbox.record(tenantId, DomainEvent.PAYMENT, payment.getId(), DomainEvent.PAYMENT_RECORDED,
+                "invoiceId", payment.getInvoiceId(),
+                "residentId", payment.getResidentId(),
+                "amount", payment.getAmount(),
+                "method", payment.getPaymentMethod(),
+                "status", payment.getStatus());
+    }
 
-        // Update invoice status if payment is linked to an invoice
-        if (payment.getInvoiceId() != null && payment.getStatus() == Payment.PaymentStatus.COMPLETED) {
-            updateInvoiceAfterPayment(payment.getInvoiceId());
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN, RoleName.ROLE_MANAGER})
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PaymentImportSummary importPayments(InputStream csv, Payment.PaymentMethod defaultMethod,
+                                               Consumer<PaymentImportRowResult> results) {
+        Long tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
         }
+
+        // Commits chunk by chunk, so a long file never holds one large transaction
+        PaymentImportSummary summary = paymentImporter.importPayments(tenantId, csv, defaultMethod, results);
+        eventPublisher.publishEvent(TenantKpiChangedEvent.recompute(tenantId));
+        return summary;
     }
 
     @Override
-    public List<PaymentDto> getAllPayments() {
-        return paymentRepository.findAll().stream()
-                .map(PaymentDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PaymentSummary> getAllPayments() {
+        return paymentRepository.findAllSummaries();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentSummary> getPaymentPage(String cursor, Integer limit) {
+        return KeysetPaging.projectionPage(cursor, limit,
+                paymentRepository::findSummaryFirstPage,
+                (after, pageable) -> paymentRepository.findSummaryPageAfter(after.createdAt(), after.id(), pageable),
+                PaymentSummary::position);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<PaymentDto> getPaymentById(Long id) {
         return paymentRepository.findById(id)
                 .map(PaymentDto::new);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<PaymentDto> getPaymentByReference(String paymentReference) {
         return paymentRepository.findByPaymentReference(paymentReference)
                 .map(PaymentDto::new);
     }
 
     @Override
-    public List<PaymentDto> getPaymentsByInvoiceId(Long invoiceId) {
-        return paymentRepository.findByInvoiceId(invoiceId).stream()
-                .map(PaymentDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PaymentSummary> getPaymentsByInvoiceId(Long invoiceId) {
+        return paymentRepository.findSummariesByInvoiceId(invoiceId);
     }
 
     @Override
-    public List<PaymentDto> getPaymentsByResidentId(Long residentId) {
-        return paymentRepository.findByResidentId(residentId).stream()
-                .map(PaymentDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PaymentSummary> getPaymentsByResidentId(Long residentId) {
+        return paymentRepository.findSummariesByResidentId(residentId);
     }
 
     @Override
-    public List<PaymentDto> getPaymentsByStatus(Payment.PaymentStatus status) {
-        return paymentRepository.findByStatus(status).stream()
-                .map(PaymentDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PaymentSummary> getPaymentsByStatus(Payment.PaymentStatus status) {
+        return paymentRepository.findSummariesByStatus(status);
     }
 
     @Override
-    public List<PaymentDto> getPaymentsByMethod(Payment.PaymentMethod paymentMethod) {
-        return paymentRepository.findByPaymentMethod(paymentMethod).stream()
-                .map(PaymentDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PaymentSummary> getPaymentsByMethod(Payment.PaymentMethod paymentMethod) {
+        return paymentRepository.findSummariesByPaymentMethod(paymentMethod);
     }
 
     @Override
-    public List<PaymentDto> getPaymentsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return paymentRepository.findPaymentsByDateRange(startDate, endDate).stream()
-                .map(PaymentDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PaymentSummary> getPaymentsByDateRange(LocalDate startDate, LocalDate endDate) {
+        return paymentRepository.findSummariesByDateRange(startDate, endDate);
     }
 
     @Override
-    public List<PaymentDto> getPaymentsByResidentAndDateRange(Long residentId, LocalDate startDate, LocalDate endDate) {
-        return paymentRepository.findPaymentsByResidentAndDateRange(residentId, startDate, endDate).stream()
-                .map(PaymentDto::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PaymentSummary> getPaymentsByResidentAndDateRange(Long residentId, LocalDate startDate, LocalDate endDate) {
+        return paymentRepository.findSummariesByResidentAndDateRange(residentId, startDate, endDate);
     }
 
     @Override
@@ -126,13 +168,25 @@ public class PaymentService implements IPaymentService {
             throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
         }
 
-        paymentRepository.findById(id)
+        Payment existing = paymentRepository.findById(id)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Payment not found"));
+        Long previousInvoiceId = existing.getInvoiceId();
+        BigDecimal previousAmount = ledgerAmount(existing);
+        TenantKpiDelta before = KpiContributions.payment(existing);
 
         Payment payment = dto.toEntity();
         payment.setId(id);
         payment.setTenantId(tenantId);
         paymentRepository.save(payment);
+        KpiContributions.publish(eventPublisher, tenantId, before, KpiContributions.payment(payment));
+
+        BigDecimal newAmount = ledgerAmount(payment);
+        if (Objects.equals(previousInvoiceId, payment.getInvoiceId())) {
+            applyToInvoice(previousInvoiceId, tenantId, newAmount.subtract(previousAmount));
+        } else {
+            applyToInvoice(previousInvoiceId, tenantId, previousAmount.negate());
+            applyToInvoice(payment.getInvoiceId(), tenantId, newAmount);
+        }
     }
 
     @Override
@@ -143,6 +197,8 @@ public class PaymentService implements IPaymentService {
         if (refundAmount.compareTo(payment.getAmount()) > 0) {
             throw new ServiceException(ErrorCode.INVALID_OPERATION, "Refund amount cannot exceed payment amount");
         }
+        BigDecimal previousAmount = ledgerAmount(payment);
+        TenantKpiDelta before = KpiContributions.payment(payment);
 
         payment.setRefundAmount(refundAmount);
         payment.setRefundReason(reason);
@@ -155,25 +211,23 @@ public class PaymentService implements IPaymentService {
         }
 
         paymentRepository.save(payment);
+        KpiContributions.publish(eventPublisher, payment.getTenantId(), before, KpiContributions.payment(payment));
 
-        // Update invoice status if payment is linked to an invoice
-        if (payment.getInvoiceId() != null) {
-            updateInvoiceAfterPayment(payment.getInvoiceId());
-        }
+        applyToInvoice(payment.getInvoiceId(), payment.getTenantId(), ledgerAmount(payment).subtract(previousAmount));
     }
 
     @Override
     public void cancelPayment(Long id) {
         Payment payment = paymentRepository.findById(id)
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Payment not found"));
+        BigDecimal previousAmount = ledgerAmount(payment);
+        TenantKpiDelta before = KpiContributions.payment(payment);
 
         payment.setStatus(Payment.PaymentStatus.CANCELLED);
         paymentRepository.save(payment);
+        KpiContributions.publish(eventPublisher, payment.getTenantId(), before, KpiContributions.payment(payment));
 
-        // Update invoice status if payment is linked to an invoice
-        if (payment.getInvoiceId() != null) {
-            updateInvoiceAfterPayment(payment.getInvoiceId());
-        }
+        applyToInvoice(payment.getInvoiceId(), payment.getTenantId(), previousAmount.negate());
     }
 
     @Override
@@ -183,42 +237,50 @@ public class PaymentService implements IPaymentService {
                 .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Payment not found"));
 
         paymentRepository.delete(payment);
-    }
+        KpiContributions.publish(eventPublisher, payment.getTenantId(), KpiContributions.payment(payment), TenantKpiDelta.ZERO);
 
-    private void updateInvoiceAfterPayment(Long invoiceId) {
-        Invoice invoice = invoiceRepository.findById(invoiceId)
-                .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Invoice not found"));
-
-        // Calculate total paid amount from all completed payments
-        List<Payment> payments = paymentRepository.findByInvoiceId(invoiceId);
-        BigDecimal totalPaid = payments.stream()
-                .filter(p -> p.getStatus() == Payment.PaymentStatus.COMPLETED)
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        applyToInvoice(payment.getInvoiceId(), payment.getTenantId(), ledgerAmount(payment).negate());
+    }
 
-        // Subtract refunded amounts
-        BigDecimal totalRefunded = payments.stream()
-                .filter(p -> p.getRefundAmount() != null)
-                .map(Payment::getRefundAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Shift the invoice balance by the change in this payment's ledger amount.
+     * Constant time regardless of how many payments the invoice already has.
+     */
+    private void applyToInvoice(Long invoiceId, Long tenantId, BigDecimal delta) {
+        if (invoiceId == null || delta.signum() == 0) {
+            return;
+        }
 
-        BigDecimal netPaid = totalPaid.subtract(totalRefunded);
+        InvoiceSummary invoice = invoiceRepository.findSummaryById(invoiceId)
+                .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Invoice not found"));
+        if (invoiceRepository.applyPaymentDelta(invoiceId, tenantId, delta) == 0) {
+            throw new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Invoice not found");
+        }
 
-        invoice.setPaidAmount(netPaid);
+        BigDecimal paidAmount = (invoice.paidAmount() != null ? invoice.paidAmount() : BigDecimal.ZERO).add(delta);
+        KpiContributions.publish(eventPublisher, tenantId,
+                KpiContributions.invoice(invoice.status(), invoice.totalAmount(), invoice.paidAmount(), invoice.dueDate()),
+                KpiContributions.invoice(KpiContributions.statusForPaidAmount(invoice.totalAmount(), paidAmount, invoice.dueDate()),
+                        invoice.totalAmount(), paidAmount, invoice.dueDate()));
+    }
 
-        // Update invoice status
-        if (netPaid.compareTo(BigDecimal.ZERO) == 0) {
-            invoice.setStatus(Invoice.InvoiceStatus.PENDING);
-        } else if (netPaid.compareTo(invoice.getTotalAmount()) >= 0) {
-            invoice.setStatus(Invoice.InvoiceStatus.PAID);
-        } else {
-            invoice.setStatus(Invoice.InvoiceStatus.PARTIALLY_PAID);
+    /**
+     * Amount a payment contributes to its invoice's paid balance.
+     * Must stay in line with the ledger query in {@link InvoiceBalanceReconciler}.
+     */
+    static BigDecimal ledgerAmount(Payment payment) {
+        if (payment.getStatus() == null || payment.getAmount() == null) {
+            return BigDecimal.ZERO;
         }
-
-        invoiceRepository.save(invoice);
+        return switch (payment.getStatus()) {
+            case COMPLETED, REFUNDED, PARTIALLY_REFUNDED -> payment.getRefundAmount() != null
+                    ? payment.getAmount().subtract(payment.getRefundAmount())
+                    : payment.getAmount();
+            default -> BigDecimal.ZERO;
+        };
     }
 
-    private String generatePaymentReference() {
+    static String generatePaymentReference() {
         return "PAY-" + LocalDate.now().getYear() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 }
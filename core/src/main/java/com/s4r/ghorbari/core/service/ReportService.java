@@ -0,0 +1,248 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.AgingBuckets;
+import com.s4r.ghorbari.core.domain.BuildingAgingRow;
+import com.s4r.ghorbari.core.domain.CursorPage;
+import com.s4r.ghorbari.core.domain.ResidentAgingRow;
+import com.s4r.ghorbari.core.domain.RevenueBreakdownRow;
+import com.s4r.ghorbari.core.entity.Payment;
+import com.s4r.ghorbari.core.enums.RoleName;
+import com.s4r.ghorbari.core.exception.ErrorCode;
+import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.security.RequiresRole;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reporting queries that aggregate in the database and hand back only the grouped rows.
+ * Revenue rows are streamed from the cursor with a bounded fetch size. Aging reads open invoices only,
+ * through a partial index, so its cost does not grow with the paid-off invoice history.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReportService implements IReportService {
+
+    // Ledger statuses mirror PaymentService#ledgerAmount
+    private static final String REVENUE_BREAKDOWN_SQL = """
+            SELECT CAST(date_trunc('month', p.payment_date) AS DATE) AS month,
+                   a.building_id,
+                   b.name AS building_name,
+                   p.payment_method,
+                   p.status,
+                   COUNT(*) AS payment_count,
+                   COALESCE(SUM(p.amount) FILTER (WHERE p.status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED')), 0)
+                       AS collected_amount,
+                   COALESCE(SUM(p.refund_amount) FILTER (WHERE p.status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED')), 0)
+                       AS refunded_amount
+            FROM payments p
+            LEFT JOIN invoices i ON i.id = p.invoice_id
+            LEFT JOIN leases l ON l.id = i.lease_id
+            LEFT JOIN apartments a ON a.id = l.apartment_id
+            LEFT JOIN buildings b ON b.id = a.building_id
+            WHERE p.tenant_id = ?
+              AND p.payment_date >= ? AND p.payment_date < ?
+              AND (CAST(? AS BIGINT) IS NULL OR p.resident_id = ?)
+            GROUP BY 1, a.building_id, b.name, p.payment_method, p.status
+            ORDER BY 1, a.building_id NULLS LAST, p.payment_method, p.status
+            """;
+
+    // Open invoices with their days past due as of the bound date; statuses mirror InvoiceRepository#findUnpaidSummaries
+    private static final String AGED_OPEN_INVOICES = """
+            FROM invoices i
+            CROSS JOIN LATERAL (
+                SELECT CAST(? AS DATE) - i.due_date AS days_past_due,
+                       i.total_amount - COALESCE(i.paid_amount, 0) AS outstanding
+            ) o
+            """;
+
+    private static final String AGING_BUCKETS = """
+            COUNT(*) AS open_invoices,
+            COALESCE(SUM(o.outstanding) FILTER (WHERE o.days_past_due < 0), 0) AS current_amount,
+            COALESCE(SUM(o.outstanding) FILTER (WHERE o.days_past_due BETWEEN 0 AND 30), 0) AS days_0_30,
+            COALESCE(SUM(o.outstanding) FILTER (WHERE o.days_past_due BETWEEN 31 AND 60), 0) AS days_31_60,
+            COALESCE(SUM(o.outstanding) FILTER (WHERE o.days_past_due BETWEEN 61 AND 90), 0) AS days_61_90,
+            COALESCE(SUM(o.outstanding) FILTER (WHERE o.days_past_due > 90), 0) AS over_90_days,
+            COALESCE(SUM(o.outstanding), 0) AS total_outstanding
+            """;
+
+    /*
+     * Walks residents in listing order and aggregates each one's open invoices through the partial
+     * open-invoice index, so a page costs one index probe per resident scanned, however long the invoice history.
+     */
+    private static final String RESIDENT_AGING_SQL = """
+            SELECT r.id AS resident_id, r.created_at,
+                   NULLIF(TRIM(CONCAT_WS(' ', u.first_name, u.last_name)), '') AS resident_name,
+                   a.id AS apartment_id, a.apartment_number,
+                   b.id AS building_id, b.name AS building_name,
+                   x.*
+            FROM residents r
+            JOIN apartments a ON a.id = r.apartment_id
+            LEFT JOIN buildings b ON b.id = a.building_id
+            LEFT JOIN users u ON u.id = r.user_id
+            CROSS JOIN LATERAL (
+                SELECT %s
+                %s
+                WHERE i.tenant_id = r.tenant_id AND i.resident_id = r.id
+                  AND i.status IN ('PENDING', 'PARTIALLY_PAID', 'OVERDUE')
+            ) x
+            WHERE r.tenant_id = ? AND x.open_invoices > 0
+            %s
+            ORDER BY r.created_at DESC, r.id DESC
+            LIMIT ?
+            """;
+
+    private static final String RESIDENT_AGING_FIRST_PAGE_SQL =
+            RESIDENT_AGING_SQL.formatted(AGING_BUCKETS, AGED_OPEN_INVOICES, "");
+    private static final String RESIDENT_AGING_PAGE_AFTER_SQL =
+            RESIDENT_AGING_SQL.formatted(AGING_BUCKETS, AGED_OPEN_INVOICES,
+                    "AND (r.created_at < ? OR (r.created_at = ? AND r.id < ?))");
+
+    private static final String BUILDING_AGING_SQL = """
+            SELECT a.building_id, b.name AS building_name,
+                   %s
+            %s
+            LEFT JOIN leases l ON l.id = i.lease_id
+            LEFT JOIN apartments a ON a.id = l.apartment_id
+            LEFT JOIN buildings b ON b.id = a.building_id
+            WHERE i.tenant_id = ? AND i.status IN ('PENDING', 'PARTIALLY_PAID', 'OVERDUE')
+            GROUP BY a.building_id, b.name
+            ORDER BY b.name NULLS LAST, a.building_id
+            """.formatted(AGING_BUCKETS, AGED_OPEN_INVOICES);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxRangeDays;
+
+    public ReportService(DataSource dataSource,
+                         @Value("${app.reports.fetch-size:500}") int fetchSize,
+                         @Value("${app.reports.max-range-days:366}") long maxRangeDays) {
+        // Own template so the fetch size only applies to report cursors
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN, RoleName.ROLE_MANAGER})
+    public List<RevenueBreakdownRow> getRevenueBreakdown(LocalDate startDate, LocalDate endDate, Long residentId) {
+        List<RevenueBreakdownRow> rows = new ArrayList<>();
+        streamRevenueBreakdown(startDate, endDate, residentId, rows::add);
+        return rows;
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN, RoleName.ROLE_MANAGER})
+    public void streamRevenueBreakdown(LocalDate startDate, LocalDate endDate, Long residentId,
+                                       Consumer<RevenueBreakdownRow> rows) {
+        Long tenantId = currentTenantId();
+        validateRange(startDate, endDate);
+
+        // Plain JDBC bypasses the Hibernate tenant filter, so the tenant is an explicit predicate
+        jdbcTemplate.query(REVENUE_BREAKDOWN_SQL,
+                rs -> {
+                    rows.accept(new RevenueBreakdownRow(
+                            YearMonth.from(rs.getDate("month").toLocalDate()),
+                            nullableLong(rs, "building_id"),
+                            rs.getString("building_name"),
+                            Payment.PaymentMethod.valueOf(rs.getString("payment_method")),
+                            Payment.PaymentStatus.valueOf(rs.getString("status")),
+                            rs.getLong("payment_count"),
+                            rs.getBigDecimal("collected_amount"),
+                            rs.getBigDecimal("refunded_amount"),
+                            rs.getBigDecimal("collected_amount").subtract(rs.getBigDecimal("refunded_amount"))));
+                },
+                tenantId, Date.valueOf(startDate), Date.valueOf(endDate.plusDays(1)), residentId, residentId);
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN, RoleName.ROLE_MANAGER})
+    public CursorPage<ResidentAgingRow> getResidentAging(LocalDate asOf, String cursor, Integer limit) {
+        Long tenantId = currentTenantId();
+        Date asOfDate = Date.valueOf(asOf != null ? asOf : LocalDate.now());
+
+        return KeysetPaging.projectionPage(cursor, limit,
+                pageable -> jdbcTemplate.query(RESIDENT_AGING_FIRST_PAGE_SQL,
+                        (rs, rowNum) -> mapResidentAging(rs),
+                        asOfDate, tenantId, pageable.getPageSize()),
+                (after, pageable) -> jdbcTemplate.query(RESIDENT_AGING_PAGE_AFTER_SQL,
+                        (rs, rowNum) -> mapResidentAging(rs),
+                        asOfDate, tenantId, Timestamp.valueOf(after.createdAt()), Timestamp.valueOf(after.createdAt()),
+                        after.id(), pageable.getPageSize()),
+                ResidentAgingRow::position);
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN, RoleName.ROLE_MANAGER})
+    public List<BuildingAgingRow> getBuildingAging(LocalDate asOf) {
+        Long tenantId = currentTenantId();
+        Date asOfDate = Date.valueOf(asOf != null ? asOf : LocalDate.now());
+
+        return jdbcTemplate.query(BUILDING_AGING_SQL,
+                (rs, rowNum) -> new BuildingAgingRow(nullableLong(rs, "building_id"), rs.getString("building_name"),
+                        mapAgingBuckets(rs)),
+                asOfDate, tenantId);
+    }
+
+    private static ResidentAgingRow mapResidentAging(ResultSet rs) throws SQLException {
+        return new ResidentAgingRow(
+                rs.getLong("resident_id"),
+                rs.getString("resident_name"),
+                rs.getLong("apartment_id"),
+                rs.getString("apartment_number"),
+                nullableLong(rs, "building_id"),
+                rs.getString("building_name"),
+                mapAgingBuckets(rs),
+                rs.getTimestamp("created_at").toLocalDateTime());
+    }
+
+    private static AgingBuckets mapAgingBuckets(ResultSet rs) throws SQLException {
+        return new AgingBuckets(
+                rs.getLong("open_invoices"),
+                rs.getBigDecimal("current_amount"),
+                rs.getBigDecimal("days_0_30"),
+                rs.getBigDecimal("days_31_60"),
+                rs.getBigDecimal("days_61_90"),
+                rs.getBigDecimal("over_90_days"),
+                rs.getBigDecimal("total_outstanding"));
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Long currentTenantId() {
+        Long tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
+        }
+        return tenantId;
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION, "Start and end dates are required");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION, "End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxRangeDays) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION,
+                    "Date range must not exceed " + maxRangeDays + " days");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.core.service;
 
 import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.ResidentDto;
 import com.s4r.ghorbari.core.entity.Resident;
 import com.s4r.ghorbari.core.exception.ErrorCode;
@@ -57,6 +58,7 @@ public class ResidentService implements IResidentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ResidentDto> getAllResidents() {
         return residentRepository.findAll().stream()
                 .map(ResidentDto::new)
@@ -64,12 +66,20 @@ public class ResidentService implements IResidentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ResidentDto> getResidentPage(String cursor, Integer limit) {
+        return KeysetPaging.page(residentRepository, cursor, limit, ResidentDto::new);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<ResidentDto> getResidentById(Long id) {
         return residentRepository.findById(id)
                 .map(ResidentDto::new);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ResidentDto> getResidentsByApartmentId(Long apartmentId) {
         return residentRepository.findByApartmentId(apartmentId).stream()
                 .map(ResidentDto::new)
@@ -77,6 +87,7 @@ public class ResidentService implements IResidentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ResidentDto> getResidentsByUserId(Long userId) {
         return residentRepository.findByUserId(userId).stream()
                 .map(ResidentDto::new)
@@ -84,6 +95,7 @@ public class ResidentService implements IResidentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<ResidentDto> getPrimaryResidentByApartmentId(Long apartmentId) {
         return residentRepository.findByApartmentIdAndIsPrimaryResident(apartmentId, true)
                 .map(ResidentDto::new);
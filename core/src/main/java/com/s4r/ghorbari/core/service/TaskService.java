@@ -0,0 +1,52 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.QueuedTask;
+import com.s4r.ghorbari.core.enums.RoleName;
+import com.s4r.ghorbari.core.exception.ErrorCode;
+import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.queue.TaskQueue;
+import com.s4r.ghorbari.core.security.RequiresRole;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class TaskService implements ITaskService {
+
+    private static final int MAX_DEAD_LETTERS = 200;
+
+    private final TaskQueue taskQueue;
+
+    public TaskService(TaskQueue taskQueue) {
+        this.taskQueue = taskQueue;
+    }
+
+    @Override
+    public Optional<QueuedTask> getTask(Long id) {
+        // Read from the primary, without a read-only transaction, so a poll right after enqueueing sees the task
+        return taskQueue.find(id, currentTenantId());
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN})
+    public List<QueuedTask> getDeadLetteredTasks(int limit) {
+        return taskQueue.findDeadLettered(currentTenantId(), Math.clamp(limit, 1, MAX_DEAD_LETTERS));
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN})
+    public QueuedTask retryTask(Long id) {
+        return taskQueue.retry(id, currentTenantId())
+                .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "Dead-lettered task not found"));
+    }
+
+    private static Long currentTenantId() {
+        Long tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
+        }
+        return tenantId;
+    }
+}
@@ -0,0 +1,215 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.domain.TenantKpiDelta;
+import com.s4r.ghorbari.core.domain.TenantKpis;
+import com.s4r.ghorbari.core.event.TenantKpiChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard counters per tenant, kept in the tenant_kpis table and cached in memory.
+ * <p>
+ * Writes publish a {@link TenantKpiChangedEvent} with the change they made; after commit the delta is added to
+ * the row and to the cached copy, so a dashboard read is a map lookup or at worst a primary-key select.
+ * Cached copies are re-read from the table after the refresh interval to pick up deltas applied on other nodes.
+ * A nightly recompute rebuilds every row from the source tables, which corrects drift and moves the
+ * date-dependent counters (overdue invoices, revenue of the current month) forward.
+ */
+@Component
+public class TenantKpiCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantKpiCounters.class);
+
+    // Definitions must stay in line with KpiContributions
+    private static final String RECOMPUTE_SQL = """
+            INSERT INTO tenant_kpis (tenant_id, total_units, occupied_units, open_invoices, outstanding_amount,
+                                     overdue_invoices, overdue_amount, revenue_month, revenue_amount,
+                                     open_maintenance_requests, recomputed_at, updated_at)
+            SELECT t.id, a.total_units, a.occupied_units, i.open_invoices, i.outstanding_amount,
+                   i.overdue_invoices, i.overdue_amount, ?, p.revenue_amount,
+                   m.open_requests, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM tenants t
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) AS total_units,
+                       COUNT(*) FILTER (WHERE status = 'OCCUPIED') AS occupied_units
+                FROM apartments WHERE tenant_id = t.id
+            ) a
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) AS open_invoices,
+                       COALESCE(SUM(total_amount - COALESCE(paid_amount, 0)), 0) AS outstanding_amount,
+                       COUNT(*) FILTER (WHERE due_date < ?) AS overdue_invoices,
+                       COALESCE(SUM(total_amount - COALESCE(paid_amount, 0)) FILTER (WHERE due_date < ?), 0) AS overdue_amount
+                FROM invoices WHERE tenant_id = t.id AND status IN ('PENDING', 'PARTIALLY_PAID', 'OVERDUE')
+            ) i
+            CROSS JOIN LATERAL (
+                SELECT COALESCE(SUM(CASE WHEN status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED')
+                                         THEN amount - COALESCE(refund_amount, 0)
+                                         ELSE 0 END), 0) AS revenue_amount
+                FROM payments WHERE tenant_id = t.id AND payment_date >= ? AND payment_date < ?
+            ) p
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) AS open_requests
+                FROM maintenance_requests
+                WHERE tenant_id = t.id AND status IN ('OPEN', 'ASSIGNED', 'IN_PROGRESS')
+            ) m
+            %s
+            ON CONFLICT (tenant_id) DO UPDATE SET
+                total_units = EXCLUDED.total_units,
+                occupied_units = EXCLUDED.occupied_units,
+                open_invoices = EXCLUDED.open_invoices,
+                outstanding_amount = EXCLUDED.outstanding_amount,
+                overdue_invoices = EXCLUDED.overdue_invoices,
+                overdue_amount = EXCLUDED.overdue_amount,
+                revenue_month = EXCLUDED.revenue_month,
+                revenue_amount = EXCLUDED.revenue_amount,
+                open_maintenance_requests = EXCLUDED.open_maintenance_requests,
+                recomputed_at = EXCLUDED.recomputed_at,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String RECOMPUTE_TENANT_SQL = RECOMPUTE_SQL.formatted("WHERE t.id = ?");
+    private static final String RECOMPUTE_ALL_SQL = RECOMPUTE_SQL.formatted("");
+
+    private static final String APPLY_DELTA_SQL = """
+            UPDATE tenant_kpis
+            SET total_units = total_units + ?,
+                occupied_units = occupied_units + ?,
+                open_invoices = open_invoices + ?,
+                outstanding_amount = outstanding_amount + ?,
+                overdue_invoices = overdue_invoices + ?,
+                overdue_amount = overdue_amount + ?,
+                revenue_amount = revenue_amount + ?,
+                open_maintenance_requests = open_maintenance_requests + ?,
+                updated_at = CURRENT_TIMESTAMP
+            WHERE tenant_id = ?
+            """;
+
+    private static final String FIND_SQL = """
+            SELECT tenant_id, total_units, occupied_units, open_invoices, outstanding_amount,
+                   overdue_invoices, overdue_amount, revenue_month, revenue_amount,
+                   open_maintenance_requests, recomputed_at
+            FROM tenant_kpis WHERE tenant_id = ?
+            """;
+
+    private static final RowMapper<TenantKpis> ROW_MAPPER = (rs, rowNum) -> new TenantKpis(
+            rs.getLong("tenant_id"),
+            rs.getLong("total_units"),
+            rs.getLong("occupied_units"),
+            rs.getLong("open_invoices"),
+            rs.getBigDecimal("outstanding_amount"),
+            rs.getLong("overdue_invoices"),
+            rs.getBigDecimal("overdue_amount"),
+            YearMonth.from(rs.getDate("revenue_month").toLocalDate()),
+            rs.getBigDecimal("revenue_amount"),
+            rs.getLong("open_maintenance_requests"),
+            rs.getTimestamp("recomputed_at").toLocalDateTime());
+
+    private record CachedKpis(TenantKpis kpis, long loadedAtNanos) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+    private final long refreshIntervalNanos;
+    private final ConcurrentHashMap<Long, CachedKpis> cache = new ConcurrentHashMap<>();
+
+    public TenantKpiCounters(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.kpi.refresh-interval-seconds:30}") long refreshIntervalSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Deltas are applied after the business transaction committed, so they need their own
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshIntervalNanos = TimeUnit.SECONDS.toNanos(refreshIntervalSeconds);
+    }
+
+    public TenantKpis get(Long tenantId) {
+        CachedKpis cached = cache.get(tenantId);
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() < refreshIntervalNanos) {
+            return cached.kpis();
+        }
+
+        TenantKpis kpis = find(tenantId);
+        if (kpis == null || !kpis.revenueMonth().equals(YearMonth.now())) {
+            kpis = recompute(tenantId);
+        }
+        cache.put(tenantId, new CachedKpis(kpis, System.nanoTime()));
+        return kpis;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onKpiChanged(TenantKpiChangedEvent event) {
+        TenantKpiDelta delta = event.delta();
+        if (delta == null) {
+            recompute(event.tenantId());
+            return;
+        }
+
+        Integer updated = requiresNew.execute(status -> jdbcTemplate.update(APPLY_DELTA_SQL,
+                delta.totalUnits(), delta.occupiedUnits(), delta.openInvoices(), delta.outstandingAmount(),
+                delta.overdueInvoices(), delta.overdueAmount(), delta.revenueAmount(),
+                delta.openMaintenanceRequests(), event.tenantId()));
+        if (updated == null || updated == 0) {
+            // No row yet: build it from the source tables, which already include this change
+            recompute(event.tenantId());
+            return;
+        }
+        cache.computeIfPresent(event.tenantId(),
+                (tenantId, cached) -> new CachedKpis(cached.kpis().plus(delta), cached.loadedAtNanos()));
+    }
+
+    /**
+     * Rebuild one tenant's row from the source tables
+     */
+    public TenantKpis recompute(Long tenantId) {
+        TenantKpis kpis = requiresNew.execute(status -> {
+            jdbcTemplate.update(RECOMPUTE_TENANT_SQL, recomputeArgs(tenantId));
+            return find(tenantId);
+        });
+        if (kpis != null) {
+            cache.put(tenantId, new CachedKpis(kpis, System.nanoTime()));
+        }
+        return kpis;
+    }
+
+    /**
+     * Rebuild every tenant's row in one statement, run nightly by {@link com.s4r.ghorbari.core.job.KpiRecomputeJob}
+     */
+    public void recomputeAll() {
+        long startedAt = System.currentTimeMillis();
+        Integer tenants = requiresNew.execute(status -> jdbcTemplate.update(RECOMPUTE_ALL_SQL, recomputeArgs(null)));
+        cache.clear();
+        logger.info("Recomputed dashboard counters of {} tenants in {} ms",
+                tenants, System.currentTimeMillis() - startedAt);
+    }
+
+    private TenantKpis find(Long tenantId) {
+        List<TenantKpis> rows = jdbcTemplate.query(FIND_SQL, ROW_MAPPER, tenantId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static Object[] recomputeArgs(Long tenantId) {
+        LocalDate today = LocalDate.now();
+        YearMonth month = YearMonth.from(today);
+        Date monthStart = Date.valueOf(month.atDay(1));
+        Date nextMonthStart = Date.valueOf(month.plusMonths(1).atDay(1));
+        Date todayDate = Date.valueOf(today);
+        return tenantId == null
+                ? new Object[]{monthStart, todayDate, todayDate, monthStart, nextMonthStart}
+                : new Object[]{monthStart, todayDate, todayDate, monthStart, nextMonthStart, tenantId};
+    }
+}
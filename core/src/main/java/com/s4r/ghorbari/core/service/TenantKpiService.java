@@ -0,0 +1,42 @@
+package com.s4r.ghorbari.core.service;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.TenantKpis;
+import com.s4r.ghorbari.core.enums.RoleName;
+import com.s4r.ghorbari.core.exception.ErrorCode;
+import com.s4r.ghorbari.core.exception.ServiceException;
+import com.s4r.ghorbari.core.security.RequiresRole;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional
+public class TenantKpiService implements ITenantKpiService {
+
+    private final TenantKpiCounters kpiCounters;
+
+    public TenantKpiService(TenantKpiCounters kpiCounters) {
+        this.kpiCounters = kpiCounters;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN, RoleName.ROLE_MANAGER})
+    public TenantKpis getKpis() {
+        return kpiCounters.get(currentTenantId());
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN})
+    public TenantKpis recomputeKpis() {
+        return kpiCounters.recompute(currentTenantId());
+    }
+
+    private static Long currentTenantId() {
+        Long tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
+        }
+        return tenantId;
+    }
+}
@@ -1,11 +1,16 @@
 package com.s4r.ghorbari.core.service;
 
+import com.s4r.ghorbari.core.context.TenantRegistry;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.TenantDto;
 import com.s4r.ghorbari.core.entity.Tenant;
+import com.s4r.ghorbari.core.event.TenantChangedEvent;
 import com.s4r.ghorbari.core.exception.ErrorCode;
 import com.s4r.ghorbari.core.exception.ServiceException;
 import com.s4r.ghorbari.core.repository.TenantRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -17,9 +22,14 @@ import java.util.stream.Collectors;
 public class TenantService implements ITenantService {
 
     private final TenantRepository tenantRepository;
+    private final TenantRegistry tenantRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TenantService(TenantRepository tenantRepository) {
+    public TenantService(TenantRepository tenantRepository, TenantRegistry tenantRegistry,
+                         ApplicationEventPublisher eventPublisher) {
         this.tenantRepository = tenantRepository;
+        this.tenantRegistry = tenantRegistry;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -29,8 +39,13 @@ public class TenantService implements ITenantService {
         tenant.setName(tenantDto.getName());
         tenant.setActive(tenantDto.getActive() != null ? tenantDto.getActive() : true);
         tenant.setDescription(tenantDto.getDescription());
+        tenant.setRateLimitReadPerMinute(tenantDto.getRateLimitReadPerMinute());
+        tenant.setRateLimitWritePerMinute(tenantDto.getRateLimitWritePerMinute());
+        tenant.setRateLimitReportPerMinute(tenantDto.getRateLimitReportPerMinute());
+        tenant.setMaxConcurrentRequests(tenantDto.getMaxConcurrentRequests());
 
         Tenant savedTenant = tenantRepository.save(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(savedTenant.getId()));
         return mapToDto(savedTenant);
     }
 
@@ -42,6 +57,12 @@ public class TenantService implements ITenantService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TenantDto> getTenantPage(String cursor, Integer limit) {
+        return KeysetPaging.page(tenantRepository, cursor, limit, this::mapToDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<TenantDto> getTenantById(Long id) {
@@ -57,9 +78,10 @@ public class TenantService implements ITenantService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<TenantDto> getActiveTenantByKey(String tenantKey) {
-        return tenantRepository.findByTenantKeyAndActiveTrue(tenantKey)
+        // Served from the registry snapshot, which is reloaded after every tenant write
+        return tenantRegistry.findActiveTenant(tenantKey)
                 .map(this::mapToDto);
     }
 
@@ -72,8 +94,13 @@ public class TenantService implements ITenantService {
         tenant.setName(tenantDto.getName());
         tenant.setActive(tenantDto.getActive());
         tenant.setDescription(tenantDto.getDescription());
+        tenant.setRateLimitReadPerMinute(tenantDto.getRateLimitReadPerMinute());
+        tenant.setRateLimitWritePerMinute(tenantDto.getRateLimitWritePerMinute());
+        tenant.setRateLimitReportPerMinute(tenantDto.getRateLimitReportPerMinute());
+        tenant.setMaxConcurrentRequests(tenantDto.getMaxConcurrentRequests());
 
         Tenant updatedTenant = tenantRepository.save(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(id));
         return mapToDto(updatedTenant);
     }
 
@@ -82,6 +109,7 @@ public class TenantService implements ITenantService {
         Tenant tenant = tenantRepository.findById(id)
                 .orElseThrow(() -> new ServiceException(ErrorCode.TENANT_NOT_FOUND, id));
         tenantRepository.delete(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(id));
     }
 
     @Override
@@ -90,6 +118,7 @@ public class TenantService implements ITenantService {
                 .orElseThrow(() -> new ServiceException(ErrorCode.TENANT_NOT_FOUND, id));
         tenant.setActive(true);
         tenantRepository.save(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(id));
     }
 
     @Override
@@ -98,6 +127,7 @@ public class TenantService implements ITenantService {
                 .orElseThrow(() -> new ServiceException(ErrorCode.TENANT_NOT_FOUND, id));
         tenant.setActive(false);
         tenantRepository.save(tenant);
+        eventPublisher.publishEvent(new TenantChangedEvent(id));
     }
 
     private TenantDto mapToDto(Tenant tenant) {
@@ -107,6 +137,10 @@ public class TenantService implements ITenantService {
         dto.setName(tenant.getName());
         dto.setActive(tenant.getActive());
         dto.setDescription(tenant.getDescription());
+        dto.setRateLimitReadPerMinute(tenant.getRateLimitReadPerMinute());
+        dto.setRateLimitWritePerMinute(tenant.getRateLimitWritePerMinute());
+        dto.setRateLimitReportPerMinute(tenant.getRateLimitReportPerMinute());
+        dto.setMaxConcurrentRequests(tenant.getMaxConcurrentRequests());
         dto.setCreatedAt(tenant.getCreatedAt());
         dto.setUpdatedAt(tenant.getUpdatedAt());
         return dto;
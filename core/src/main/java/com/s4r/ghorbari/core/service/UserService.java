@@ -4,10 +4,13 @@ import com.s4r.ghorbari.core.context.TenantContext;
 import com.s4r.ghorbari.core.entity.Role;
 import com.s4r.ghorbari.core.entity.User;
 import com.s4r.ghorbari.core.enums.RoleName;
+import com.s4r.ghorbari.core.event.UserSecurityChangedEvent;
 import com.s4r.ghorbari.core.exception.ErrorCode;
 import com.s4r.ghorbari.core.exception.ServiceException;
 import com.s4r.ghorbari.core.repository.RoleRepository;
 import com.s4r.ghorbari.core.repository.UserRepository;
+import com.s4r.ghorbari.core.security.RequiresRole;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,10 +26,13 @@ public class UserService implements IUserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, RoleRepository roleRepository) {
+    public UserService(UserRepository userRepository, RoleRepository roleRepository,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -129,4 +135,71 @@ public class UserService implements IUserService {
 
         userRepository.save(user);
     }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN})
+    public void updateUserRoles(Long userId, Set<RoleName> roleNames) {
+        User user = findUserInCurrentTenant(userId);
+
+        Set<Role> roles = new HashSet<>();
+        for (RoleName roleName : roleNames) {
+            roles.add(roleRepository.findByName(roleName)
+                    .orElseThrow(() -> new ServiceException(ErrorCode.ROLE_NOT_FOUND, roleName)));
+        }
+        user.setRoles(roles);
+        user.incrementTokenVersion();
+
+        userRepository.save(user);
+        publishSecurityChange(user);
+    }
+
+    @Override
+    public void changeOwnPassword(Long userId, String encodedPassword) {
+        updatePassword(userId, encodedPassword);
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN})
+    public void resetPassword(Long userId, String encodedPassword) {
+        updatePassword(userId, encodedPassword);
+    }
+
+    @Override
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN})
+    public void setUserEnabled(Long userId, boolean enabled) {
+        User user = findUserInCurrentTenant(userId);
+        user.setEnabled(enabled);
+        user.incrementTokenVersion();
+
+        userRepository.save(user);
+        publishSecurityChange(user);
+    }
+
+    private void updatePassword(Long userId, String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            throw new ServiceException(ErrorCode.USER_PASSWORD_REQUIRED);
+        }
+
+        User user = findUserInCurrentTenant(userId);
+        user.setPassword(encodedPassword);
+        user.incrementTokenVersion();
+
+        userRepository.save(user);
+        publishSecurityChange(user);
+    }
+
+    private User findUserInCurrentTenant(Long userId) {
+        Long tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            throw new ServiceException(ErrorCode.TENANT_NOT_FOUND, "Tenant context not set");
+        }
+
+        return userRepository.findByIdAndTenantId(userId, tenantId)
+                .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "User not found"));
+    }
+
+    private void publishSecurityChange(User user) {
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getTenantId(), user.getUsername(),
+                user.getId(), user.getTokenVersion()));
+    }
 }
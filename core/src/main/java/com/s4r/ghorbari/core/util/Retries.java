@@ -0,0 +1,42 @@
+package com.s4r.ghorbari.core.util;
+
+/**
+ * Helpers shared by the job scheduler, the task queue and the outbox dispatcher for retrying failed work and
+ * recording why it failed.
+ */
+public final class Retries {
+
+    /**
+     * Longest failure message stored with a job run, task or outbox event
+     */
+    public static final int MAX_FAILURE_MESSAGE_LENGTH = 2000;
+
+    private Retries() {
+    }
+
+    /**
+     * Initial backoff doubled for every attempt after the first, capped at the maximum.
+     * {@code attempts} counts the attempt that just failed.
+     */
+    public static long backoffSeconds(int attempts, long initialBackoffSeconds, long maxBackoffSeconds) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(maxBackoffSeconds, initialBackoffSeconds << doublings);
+    }
+
+    /**
+     * Message of the failure, cut to {@link #MAX_FAILURE_MESSAGE_LENGTH}
+     */
+    public static String failureMessage(Throwable failure) {
+        return truncate(String.valueOf(failure.getMessage()), MAX_FAILURE_MESSAGE_LENGTH);
+    }
+
+    /**
+     * The value cut to {@code maxLength} characters; null stays null
+     */
+    public static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,10 @@
+package com.s4r.ghorbari.core;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Configuration root for the core module's slice tests; the application itself lives in the web module
+ */
+@SpringBootApplication
+public class CoreTestApplication {
+}
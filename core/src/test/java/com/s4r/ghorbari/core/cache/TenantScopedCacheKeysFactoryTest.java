@@ -0,0 +1,77 @@
+package com.s4r.ghorbari.core.cache;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.entity.Apartment;
+import com.s4r.ghorbari.core.entity.Role;
+import com.s4r.ghorbari.core.entity.User;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TenantScopedCacheKeysFactoryTest {
+
+    private final TenantScopedCacheKeysFactory factory = new TenantScopedCacheKeysFactory();
+
+    @AfterEach
+    public void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    public void tenantAwareEntityKeysAreScopedToTheCurrentTenant() {
+        EntityPersister persister = entityPersister(Apartment.class);
+
+        TenantContext.setCurrentTenantId(1L);
+        Object firstTenantKey = factory.createEntityKey(42L, persister, null, null);
+        Object firstTenantKeyAgain = factory.createEntityKey(42L, persister, null, null);
+        TenantContext.setCurrentTenantId(2L);
+        Object secondTenantKey = factory.createEntityKey(42L, persister, null, null);
+
+        assertEquals(firstTenantKey, firstTenantKeyAgain);
+        assertEquals(firstTenantKey.hashCode(), firstTenantKeyAgain.hashCode());
+        assertNotEquals(firstTenantKey, secondTenantKey);
+        assertEquals(42L, factory.getEntityId(secondTenantKey));
+    }
+
+    @Test
+    public void globalEntityKeysAreSharedAcrossTenants() {
+        EntityPersister persister = entityPersister(Role.class);
+
+        TenantContext.setCurrentTenantId(1L);
+        Object firstTenantKey = factory.createEntityKey(3L, persister, null, null);
+        TenantContext.setCurrentTenantId(2L);
+        Object secondTenantKey = factory.createEntityKey(3L, persister, null, null);
+
+        assertEquals(firstTenantKey, secondTenantKey);
+    }
+
+    @Test
+    public void collectionKeysFollowTheOwnerEntity() {
+        EntityPersister owner = entityPersister(User.class);
+        CollectionPersister persister = mock(CollectionPersister.class);
+        when(persister.getRole()).thenReturn(User.class.getName() + ".roles");
+        when(persister.getOwnerEntityPersister()).thenReturn(owner);
+
+        TenantContext.setCurrentTenantId(1L);
+        Object firstTenantKey = factory.createCollectionKey(7L, persister, null, null);
+        TenantContext.setCurrentTenantId(2L);
+        Object secondTenantKey = factory.createCollectionKey(7L, persister, null, null);
+
+        assertNotEquals(firstTenantKey, secondTenantKey);
+        assertEquals(7L, factory.getCollectionId(firstTenantKey));
+    }
+
+    private static EntityPersister entityPersister(Class<?> mappedClass) {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getRootEntityName()).thenReturn(mappedClass.getName());
+        doReturn(mappedClass).when(persister).getMappedClass();
+        return persister;
+    }
+}
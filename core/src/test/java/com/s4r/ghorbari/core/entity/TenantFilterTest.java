@@ -0,0 +1,94 @@
+package com.s4r.ghorbari.core.entity;
+
+import com.s4r.ghorbari.core.cache.TenantScopedCacheKeysFactory;
+import com.s4r.ghorbari.core.context.TenantContext;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+        "spring.jpa.properties.hibernate.cache.keys_factory=com.s4r.ghorbari.core.cache.TenantScopedCacheKeysFactory"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class TenantFilterTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    public void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    public void findByIdDoesNotReachAnotherTenantsRow() {
+        Long buildingId = persistBuilding(1L, "Tower A");
+
+        useTenant(2L);
+        assertNull(entityManager.find(Building.class, buildingId));
+
+        useTenant(1L);
+        Building building = entityManager.find(Building.class, buildingId);
+        assertNotNull(building);
+        assertEquals("Tower A", building.getName());
+    }
+
+    /**
+     * The row is in the second-level cache after tenant 1 loads it; {@link TenantScopedCacheKeysFactory}
+     * keeps tenant 2 from being served that entry, and the filtered load that follows finds nothing
+     */
+    @Test
+    public void cachedRowIsNotServedToAnotherTenant() {
+        Long buildingId = persistBuilding(1L, "Tower B");
+
+        useTenant(1L);
+        assertNotNull(entityManager.find(Building.class, buildingId));
+        entityManager.clear();
+
+        useTenant(2L);
+        assertNull(entityManager.find(Building.class, buildingId));
+    }
+
+    private Long persistBuilding(Long tenantId, String name) {
+        useTenant(tenantId);
+        Building building = new Building(name, "1 Main Street");
+        entityManager.persist(building);
+        entityManager.flush();
+        entityManager.clear();
+        return building.getId();
+    }
+
+    /**
+     * What TenantInterceptor does for a request: set the tenant context and enable the filter for it
+     */
+    private void useTenant(Long tenantId) {
+        entityManager.clear();
+        TenantContext.setCurrentTenantId(tenantId);
+        entityManager.unwrap(Session.class)
+                .enableFilter("tenantFilter")
+                .setParameter("tenantId", tenantId);
+    }
+}
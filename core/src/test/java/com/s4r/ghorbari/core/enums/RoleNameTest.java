@@ -0,0 +1,47 @@
+package com.s4r.ghorbari.core.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class RoleNameTest {
+
+    @Test
+    public void everyRoleHasItsOwnBit() {
+        for (RoleName role : RoleName.values()) {
+            assertEquals(1, Integer.bitCount(role.mask()), role::name);
+            for (RoleName other : RoleName.values()) {
+                if (other != role) {
+                    assertEquals(0, role.mask() & other.mask(), () -> role + " shares a bit with " + other);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void maskOfIsTheUnionOfTheRolesBits() {
+        int mask = RoleName.maskOf(RoleName.ROLE_TENANT_ADMIN, RoleName.ROLE_RESIDENT);
+
+        assertEquals(RoleName.ROLE_TENANT_ADMIN.mask() | RoleName.ROLE_RESIDENT.mask(), mask);
+        assertNotEquals(0, mask & RoleName.ROLE_RESIDENT.mask());
+        assertEquals(0, mask & RoleName.ROLE_MANAGER.mask());
+    }
+
+    @Test
+    public void maskOfNoRolesIsEmpty() {
+        assertEquals(0, RoleName.maskOf());
+    }
+
+    @Test
+    public void repeatedRolesCountOnce() {
+        assertEquals(RoleName.ROLE_STAFF.mask(), RoleName.maskOf(RoleName.ROLE_STAFF, RoleName.ROLE_STAFF));
+    }
+
+    @Test
+    public void maskOfAuthorityMatchesRoleNamesOnly() {
+        assertEquals(RoleName.ROLE_MANAGER.mask(), RoleName.maskOfAuthority("ROLE_MANAGER"));
+        assertEquals(0, RoleName.maskOfAuthority("role_manager"));
+        assertEquals(0, RoleName.maskOfAuthority("SCOPE_read"));
+    }
+}
@@ -0,0 +1,326 @@
+package com.s4r.ghorbari.core.repository;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.entity.AmenityBooking;
+import com.s4r.ghorbari.core.entity.Invoice;
+import com.s4r.ghorbari.core.entity.Lease;
+import com.s4r.ghorbari.core.entity.Payment;
+import jakarta.persistence.EntityManager;
+import liquibase.integration.spring.SpringLiquibase;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the main repository lookups with the tenant filter enabled, records the SQL Hibernate sends for each one,
+ * and checks its plan is served by the index added for it (5-query_indexes.xml and later changelogs).
+ * <p>
+ * The schema comes from Liquibase and every table is seeded with enough rows across enough tenants that a
+ * sequential scan is the more expensive plan on its own merits. Statements are planned with
+ * {@code EXPLAIN (GENERIC_PLAN)}, the plan a prepared statement settles on whatever its parameters, so the
+ * lookups run as a tenant without rows and nothing is hydrated.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.s4r.ghorbari.core.repository.QueryIndexesTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class QueryIndexesTest {
+
+    private static final int TENANTS = 50;
+    private static final int ROWS_PER_TABLE = 20_000;
+    private static final Long TENANT_WITHOUT_ROWS = 1_000L;
+    private static final Pattern TENANT_RESTRICTION = Pattern.compile("tenant_id\\s*=\\s*\\?");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    /**
+     * Keeps every statement Hibernate prepares, for the test to plan
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @FunctionalInterface
+    interface RepositoryCall {
+        void run(QueryIndexesTest test);
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private AmenityBookingRepository amenityBookingRepository;
+
+    @Autowired
+    private LeaseRepository leaseRepository;
+
+    @Autowired
+    private MaintenanceRequestRepository maintenanceRequestRepository;
+
+    @Autowired
+    private ApartmentRepository apartmentRepository;
+
+    @Autowired
+    private ResidentRepository residentRepository;
+
+    @BeforeAll
+    public static void migrateAndSeed() throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword()));
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        // One connection, so foreign key triggers stay off for the whole seed; the referenced rows do not matter here
+        SingleConnectionDataSource connection = new SingleConnectionDataSource(postgres.getJdbcUrl(),
+                postgres.getUsername(), postgres.getPassword(), true);
+        try {
+            seed(new JdbcTemplate(connection));
+        } finally {
+            connection.destroy();
+        }
+    }
+
+    @AfterEach
+    public void clearTenant() {
+        TenantContext.clear();
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        LocalDate day = LocalDate.of(2025, 1, 1);
+        LocalDateTime time = day.atStartOfDay();
+        PageRequest page = PageRequest.of(0, 20);
+        return Stream.of(
+                Arguments.of(List.of("idx_invoices_tenant_lease"),
+                        (RepositoryCall) t -> t.invoiceRepository.findSummariesByLeaseId(10L)),
+                Arguments.of(List.of("idx_invoices_tenant_resident"),
+                        (RepositoryCall) t -> t.invoiceRepository.findSummariesByResidentId(10L)),
+                Arguments.of(List.of("idx_invoices_tenant_status_due_date"),
+                        (RepositoryCall) t -> t.invoiceRepository.findSummariesByStatus(Invoice.InvoiceStatus.PAID)),
+                // The open-invoice aging index is partial on exactly these statuses
+                Arguments.of(List.of("idx_invoices_open_aging", "idx_invoices_tenant_status_due_date"),
+                        (RepositoryCall) t -> t.invoiceRepository.findUnpaidSummaries()),
+                Arguments.of(List.of("idx_invoices_tenant_status_due_date", "idx_invoices_open_aging"),
+                        (RepositoryCall) t -> t.invoiceRepository.findOverdueSummaries()),
+                Arguments.of(List.of("idx_invoices_tenant_issue_date"),
+                        (RepositoryCall) t -> t.invoiceRepository.findSummariesByDateRange(day, day.plusMonths(1))),
+                Arguments.of(List.of("idx_invoices_tenant_created"),
+                        (RepositoryCall) t -> t.invoiceRepository.findSummaryFirstPage(page)),
+                Arguments.of(List.of("idx_invoices_tenant_created"),
+                        (RepositoryCall) t -> t.invoiceRepository.findSummaryPageAfter(time, 100L, page)),
+                Arguments.of(List.of("idx_payments_tenant_invoice"),
+                        (RepositoryCall) t -> t.paymentRepository.findSummariesByInvoiceId(10L)),
+                Arguments.of(List.of("idx_payments_tenant_resident_date"),
+                        (RepositoryCall) t -> t.paymentRepository.findSummariesByResidentId(10L)),
+                Arguments.of(List.of("idx_payments_tenant_resident_date"),
+                        (RepositoryCall) t -> t.paymentRepository.findSummariesByResidentAndDateRange(10L, day,
+                                day.plusMonths(1))),
+                Arguments.of(List.of("idx_payments_tenant_status"),
+                        (RepositoryCall) t -> t.paymentRepository.findSummariesByStatus(Payment.PaymentStatus.PENDING)),
+                Arguments.of(List.of("idx_payments_tenant_payment_date"),
+                        (RepositoryCall) t -> t.paymentRepository.findSummariesByDateRange(day, day.plusMonths(1))),
+                Arguments.of(List.of("idx_payments_tenant_created"),
+                        (RepositoryCall) t -> t.paymentRepository.findSummaryPageAfter(time, 100L, page)),
+                // The exclusion constraint's GiST index serves the same lookup
+                Arguments.of(List.of("idx_amenity_bookings_tenant_amenity_time", "amenity_bookings_no_overlap"),
+                        (RepositoryCall) t -> t.amenityBookingRepository.findConflictingBookings(10L, time,
+                                time.plusHours(2))),
+                Arguments.of(List.of("idx_amenity_bookings_tenant_resident_time"),
+                        (RepositoryCall) t -> t.amenityBookingRepository.findBookingsByResidentAndDateRange(10L, time,
+                                time.plusMonths(1))),
+                Arguments.of(List.of("idx_amenity_bookings_tenant_status"),
+                        (RepositoryCall) t -> t.amenityBookingRepository.findByStatus(
+                                AmenityBooking.BookingStatus.PENDING)),
+                Arguments.of(List.of("idx_amenity_bookings_tenant_created"),
+                        (RepositoryCall) t -> t.amenityBookingRepository.findPageAfter(time, 100L, page)),
+                Arguments.of(List.of("idx_leases_tenant_apartment_status"),
+                        (RepositoryCall) t -> t.leaseRepository.findActiveLeaseByApartment(10L)),
+                Arguments.of(List.of("idx_leases_tenant_status"),
+                        (RepositoryCall) t -> t.leaseRepository.findSummariesByStatus(Lease.LeaseStatus.ACTIVE)),
+                Arguments.of(List.of("idx_leases_tenant_primary_resident"),
+                        (RepositoryCall) t -> t.leaseRepository.findSummariesByPrimaryResidentId(10L)),
+                Arguments.of(List.of("idx_leases_tenant_end_date"),
+                        (RepositoryCall) t -> t.leaseRepository.findExpiringSummaries(day, day.plusMonths(3))),
+                Arguments.of(List.of("idx_leases_tenant_created"),
+                        (RepositoryCall) t -> t.leaseRepository.findSummaryPageAfter(time, 100L, page)),
+                Arguments.of(List.of("idx_maintenance_requests_tenant_status"),
+                        (RepositoryCall) t -> t.maintenanceRequestRepository.findActiveRequests()),
+                Arguments.of(List.of("idx_maintenance_requests_tenant_assigned_to"),
+                        (RepositoryCall) t -> t.maintenanceRequestRepository.findByAssignedToId(10L)),
+                Arguments.of(List.of("idx_maintenance_requests_tenant_apartment"),
+                        (RepositoryCall) t -> t.maintenanceRequestRepository.findByApartmentId(10L)),
+                Arguments.of(List.of("idx_maintenance_requests_tenant_requested_at"),
+                        (RepositoryCall) t -> t.maintenanceRequestRepository.findRequestsByDateRange(time,
+                                time.plusMonths(1))),
+                Arguments.of(List.of("idx_apartments_tenant_building"),
+                        (RepositoryCall) t -> t.apartmentRepository.findByBuildingId(10L)),
+                Arguments.of(List.of("idx_residents_tenant_user"),
+                        (RepositoryCall) t -> t.residentRepository.findByUserId(10L)),
+                Arguments.of(List.of("idx_residents_tenant_apartment_primary"),
+                        (RepositoryCall) t -> t.residentRepository.findByApartmentIdAndIsPrimaryResident(10L, true)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    public void queryUsesItsIndex(List<String> indexes, RepositoryCall call) {
+        useTenant(TENANT_WITHOUT_ROWS);
+        RecordingStatementInspector.statements.clear();
+
+        call.run(this);
+
+        List<String> statements = List.copyOf(RecordingStatementInspector.statements);
+        assertEquals(1, statements.size(), () -> "Expected a single statement, got " + statements);
+        String sql = statements.getFirst();
+        assertTrue(TENANT_RESTRICTION.matcher(sql).find(), () -> "Tenant filter missing from " + sql);
+
+        String plan = String.join("\n", new JdbcTemplate(dataSource)
+                .queryForList("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class));
+        assertTrue(indexes.stream().anyMatch(plan::contains), () -> "Expected one of " + indexes + " in plan of\n"
+                + sql + "\n" + plan);
+        assertFalse(plan.contains("Seq Scan"), () -> "Unexpected sequential scan in plan of\n" + sql + "\n" + plan);
+    }
+
+    /**
+     * What TenantInterceptor does for a request: set the tenant context and enable the filter for it
+     */
+    private void useTenant(Long tenantId) {
+        entityManager.clear();
+        TenantContext.setCurrentTenantId(tenantId);
+        entityManager.unwrap(Session.class)
+                .enableFilter("tenantFilter")
+                .setParameter("tenantId", tenantId);
+    }
+
+    /**
+     * JDBC placeholders as the $n parameters EXPLAIN (GENERIC_PLAN) accepts; literals are left alone
+     */
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    /**
+     * {@value #ROWS_PER_TABLE} rows per table spread over {@value #TENANTS} tenants, with the looked-up columns
+     * spread over many values, so each lookup selects a small share of a table too big to scan
+     */
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("SET session_replication_role = replica");
+        String rows = " FROM generate_series(1, " + ROWS_PER_TABLE + ") g";
+        String tenant = "1 + g % " + TENANTS;
+        String createdAt = "TIMESTAMP '2024-01-01' + g * INTERVAL '1 minute'";
+
+        jdbcTemplate.execute("""
+                INSERT INTO invoices (tenant_id, invoice_number, lease_id, resident_id, issue_date, due_date,
+                                      total_amount, paid_amount, status, created_at)
+                SELECT %s, 'SEED-INV-' || g, g %% 2000, g %% 2000, DATE '2024-01-01' + g %% 730,
+                       DATE '2024-01-15' + g %% 730, 1000, 0,
+                       (ARRAY['PENDING', 'PARTIALLY_PAID', 'PAID', 'OVERDUE', 'CANCELLED'])[1 + g / %d %% 5], %s
+                """.formatted(tenant, TENANTS, createdAt) + rows);
+        jdbcTemplate.execute("""
+                INSERT INTO payments (tenant_id, payment_reference, invoice_id, resident_id, amount, payment_date,
+                                      payment_method, status, created_at)
+                SELECT %s, 'SEED-PAY-' || g, g, g %% 2000, 1000, DATE '2024-01-01' + g %% 730, 'BANK_TRANSFER',
+                       (ARRAY['PENDING', 'COMPLETED', 'FAILED', 'REFUNDED', 'PARTIALLY_REFUNDED', 'CANCELLED'])
+                           [1 + g / %d %% 6], %s
+                """.formatted(tenant, TENANTS, createdAt) + rows);
+        jdbcTemplate.execute("""
+                INSERT INTO amenity_bookings (tenant_id, booking_reference, amenity_id, resident_id, start_time,
+                                              end_time, status, created_at)
+                SELECT %s, 'SEED-BKG-' || g, g %% 500, g %% 2000, TIMESTAMP '2024-01-01' + g * INTERVAL '2 hours',
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '2 hours' + INTERVAL '1 hour',
+                       (ARRAY['PENDING', 'APPROVED', 'REJECTED', 'CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW'])
+                           [1 + g / %d %% 7], %s
+                """.formatted(tenant, TENANTS, createdAt) + rows);
+        jdbcTemplate.execute("""
+                INSERT INTO leases (tenant_id, apartment_id, primary_resident_id, lease_type, monthly_rent,
+                                    start_date, end_date, status, created_at)
+                SELECT %s, g %% 2000, g %% 2000, 'FIXED_TERM', 1000, DATE '2024-01-01' + g %% 730,
+                       DATE '2025-01-01' + g %% 730,
+                       (ARRAY['DRAFT', 'ACTIVE', 'TERMINATED', 'EXPIRED'])[1 + g / %d %% 4], %s
+                """.formatted(tenant, TENANTS, createdAt) + rows);
+        jdbcTemplate.execute("""
+                INSERT INTO maintenance_requests (tenant_id, request_number, apartment_id, resident_id,
+                                                  assigned_to_id, category, priority, status, title, requested_at,
+                                                  created_at)
+                SELECT %s, 'SEED-REQ-' || g, g %% 2000, g %% 2000, g %% 500, 'PLUMBING', 'MEDIUM',
+                       (ARRAY['OPEN', 'ASSIGNED', 'IN_PROGRESS', 'ON_HOLD', 'COMPLETED', 'CANCELLED', 'REJECTED'])
+                           [1 + g / %d %% 7], 'Leaking tap', %s, %s
+                """.formatted(tenant, TENANTS, createdAt, createdAt) + rows);
+        jdbcTemplate.execute("""
+                INSERT INTO apartments (tenant_id, building_id, apartment_number, floor, bedrooms, bathrooms, status,
+                                        created_at)
+                SELECT %s, g %% 500, 'A-' || g, g %% 20, 2, 1,
+                       (ARRAY['VACANT', 'OCCUPIED', 'MAINTENANCE', 'RESERVED'])[1 + g / %d %% 4], %s
+                """.formatted(tenant, TENANTS, createdAt) + rows);
+        jdbcTemplate.execute("""
+                INSERT INTO residents (tenant_id, user_id, apartment_id, is_primary_resident, created_at)
+                SELECT %s, g, g %% 2000, g %% 3 = 0, %s
+                """.formatted(tenant, createdAt) + rows);
+
+        jdbcTemplate.execute("SET session_replication_role = DEFAULT");
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,199 @@
+package com.s4r.ghorbari.core.repository;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.InvoiceSummary;
+import com.s4r.ghorbari.core.domain.LeaseSummary;
+import com.s4r.ghorbari.core.domain.PaymentSummary;
+import com.s4r.ghorbari.core.entity.Invoice;
+import com.s4r.ghorbari.core.entity.Lease;
+import com.s4r.ghorbari.core.entity.Payment;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the summary projections with the tenant filter enabled, as the list and report endpoints do, and checks
+ * they return the current tenant's rows only, with every column landing in the right record component.
+ */
+@DataJpaTest(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+public class SummaryQueriesTest {
+
+    private static final LocalDate ISSUE_DATE = LocalDate.of(2025, 3, 1);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LeaseRepository leaseRepository;
+
+    private Lease ownLease;
+    private Invoice ownInvoice;
+    private Payment ownPayment;
+    private Lease otherLease;
+    private Invoice otherInvoice;
+
+    @BeforeEach
+    public void seedTwoTenants() {
+        useTenant(2L);
+        otherLease = persist(new Lease(null, null, ISSUE_DATE, ISSUE_DATE.plusYears(1), new BigDecimal("900.00")));
+        otherInvoice = persist(new Invoice("INV-2-1", otherLease.getId(), null, ISSUE_DATE, ISSUE_DATE.plusDays(14),
+                new BigDecimal("900.00")));
+        persist(new Payment("PAY-2-1", otherInvoice.getId(), null, ISSUE_DATE, new BigDecimal("900.00"),
+                Payment.PaymentMethod.CASH));
+        entityManager.flush();
+
+        useTenant(1L);
+        ownLease = new Lease(null, null, ISSUE_DATE, ISSUE_DATE.plusYears(1), new BigDecimal("1200.00"));
+        ownLease.setLeaseType(Lease.LeaseType.FIXED_TERM);
+        ownLease.setStatus(Lease.LeaseStatus.ACTIVE);
+        ownLease = persist(ownLease);
+        ownInvoice = new Invoice("INV-1-1", ownLease.getId(), null, ISSUE_DATE, ISSUE_DATE.plusDays(14),
+                new BigDecimal("1200.00"));
+        ownInvoice.setStatus(Invoice.InvoiceStatus.PARTIALLY_PAID);
+        ownInvoice.setPaidAmount(new BigDecimal("500.00"));
+        ownInvoice.setNotes("Not part of the summary");
+        ownInvoice = persist(ownInvoice);
+        ownPayment = persist(new Payment("PAY-1-1", ownInvoice.getId(), null, ISSUE_DATE.plusDays(3),
+                new BigDecimal("500.00"), Payment.PaymentMethod.BANK_TRANSFER));
+
+        entityManager.flush();
+        useTenant(1L);
+    }
+
+    @AfterEach
+    public void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    public void invoiceSummaryCarriesTheListColumns() {
+        List<InvoiceSummary> summaries = invoiceRepository.findAllSummaries();
+
+        assertEquals(1, summaries.size());
+        InvoiceSummary summary = summaries.getFirst();
+        assertEquals(ownInvoice.getId(), summary.id());
+        assertEquals("INV-1-1", summary.invoiceNumber());
+        assertEquals(ownLease.getId(), summary.leaseId());
+        assertEquals(ISSUE_DATE, summary.issueDate());
+        assertEquals(ISSUE_DATE.plusDays(14), summary.dueDate());
+        assertEquals(0, new BigDecimal("1200.00").compareTo(summary.totalAmount()));
+        assertEquals(0, new BigDecimal("500.00").compareTo(summary.paidAmount()));
+        assertEquals(Invoice.InvoiceStatus.PARTIALLY_PAID, summary.status());
+        assertNotNull(summary.createdAt());
+    }
+
+    @Test
+    public void paymentSummaryCarriesTheListColumns() {
+        List<PaymentSummary> summaries = paymentRepository.findAllSummaries();
+
+        assertEquals(1, summaries.size());
+        PaymentSummary summary = summaries.getFirst();
+        assertEquals(ownPayment.getId(), summary.id());
+        assertEquals("PAY-1-1", summary.paymentReference());
+        assertEquals(ownInvoice.getId(), summary.invoiceId());
+        assertEquals(ISSUE_DATE.plusDays(3), summary.paymentDate());
+        assertEquals(0, new BigDecimal("500.00").compareTo(summary.amount()));
+        assertEquals(Payment.PaymentMethod.BANK_TRANSFER, summary.paymentMethod());
+        assertEquals(Payment.PaymentStatus.COMPLETED, summary.status());
+        assertNotNull(summary.createdAt());
+    }
+
+    @Test
+    public void leaseSummaryCarriesTheListColumns() {
+        List<LeaseSummary> summaries = leaseRepository.findAllSummaries();
+
+        assertEquals(1, summaries.size());
+        LeaseSummary summary = summaries.getFirst();
+        assertEquals(ownLease.getId(), summary.id());
+        assertEquals(Lease.LeaseType.FIXED_TERM, summary.leaseType());
+        assertEquals(ISSUE_DATE, summary.startDate());
+        assertEquals(ISSUE_DATE.plusYears(1), summary.endDate());
+        assertEquals(0, new BigDecimal("1200.00").compareTo(summary.monthlyRent()));
+        assertEquals(Lease.LeaseStatus.ACTIVE, summary.status());
+        assertNotNull(summary.createdAt());
+    }
+
+    @Test
+    public void lookupsByIdDoNotReachAnotherTenantsRows() {
+        assertTrue(invoiceRepository.findSummaryById(otherInvoice.getId()).isEmpty());
+        assertTrue(invoiceRepository.findSummariesByLeaseId(otherLease.getId()).isEmpty());
+        assertTrue(paymentRepository.findSummariesByInvoiceId(otherInvoice.getId()).isEmpty());
+
+        assertEquals(List.of(ownInvoice.getId()), invoiceRepository.findSummariesByLeaseId(ownLease.getId()).stream()
+                .map(InvoiceSummary::id)
+                .toList());
+    }
+
+    @Test
+    public void filteredListsOnlyReturnTheCurrentTenantsRows() {
+        assertEquals(List.of(ownInvoice.getId()), invoiceRepository.findUnpaidSummaries().stream()
+                .map(InvoiceSummary::id)
+                .toList());
+        assertEquals(List.of(ownPayment.getId()),
+                paymentRepository.findSummariesByDateRange(ISSUE_DATE, ISSUE_DATE.plusMonths(1)).stream()
+                        .map(PaymentSummary::id)
+                        .toList());
+        assertEquals(List.of(ownLease.getId()),
+                leaseRepository.findExpiringSummaries(ISSUE_DATE, ISSUE_DATE.plusYears(2)).stream()
+                        .map(LeaseSummary::id)
+                        .toList());
+    }
+
+    @Test
+    public void keysetPagesOnlyReturnTheCurrentTenantsRows() {
+        List<InvoiceSummary> firstPage = invoiceRepository.findSummaryFirstPage(PageRequest.of(0, 10));
+
+        assertEquals(List.of(ownInvoice.getId()), firstPage.stream().map(InvoiceSummary::id).toList());
+        assertTrue(invoiceRepository.findSummaryPageAfter(firstPage.getFirst().createdAt(),
+                firstPage.getFirst().id(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    /**
+     * What TenantInterceptor does for a request: set the tenant context and enable the filter for it
+     */
+    private void useTenant(Long tenantId) {
+        entityManager.clear();
+        TenantContext.setCurrentTenantId(tenantId);
+        entityManager.unwrap(Session.class)
+                .enableFilter("tenantFilter")
+                .setParameter("tenantId", tenantId);
+    }
+}
@@ -0,0 +1,36 @@
+package com.s4r.ghorbari.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PaymentImporterTest {
+
+    @Test
+    public void derivedReferenceIsStableForTheSameRow() {
+        String first = PaymentImporter.derivedReference("INV-2026-0001", new BigDecimal("1500.00"), "2026-10-01", "TX-1");
+        String second = PaymentImporter.derivedReference("INV-2026-0001", new BigDecimal("1500"), "2026-10-01", "TX-1");
+
+        assertEquals(first, second);
+        assertTrue(first.startsWith("IMP-"));
+        assertTrue(first.length() <= 100);
+    }
+
+    @Test
+    public void derivedReferenceDiffersWhenTheRowDiffers() {
+        String reference = PaymentImporter.derivedReference("INV-2026-0001", new BigDecimal("1500"), "2026-10-01", null);
+
+        assertNotEquals(reference,
+                PaymentImporter.derivedReference("INV-2026-0002", new BigDecimal("1500"), "2026-10-01", null));
+        assertNotEquals(reference,
+                PaymentImporter.derivedReference("INV-2026-0001", new BigDecimal("1400"), "2026-10-01", null));
+        assertNotEquals(reference,
+                PaymentImporter.derivedReference("INV-2026-0001", new BigDecimal("1500"), "2026-10-02", null));
+        assertNotEquals(reference,
+                PaymentImporter.derivedReference("INV-2026-0001", new BigDecimal("1500"), "2026-10-01", "TX-2"));
+    }
+}
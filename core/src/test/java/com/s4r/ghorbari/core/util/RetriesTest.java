@@ -0,0 +1,44 @@
+package com.s4r.ghorbari.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RetriesTest {
+
+    @Test
+    public void backoffDoublesAfterEveryFailedAttempt() {
+        assertEquals(5, Retries.backoffSeconds(1, 5, 600));
+        assertEquals(10, Retries.backoffSeconds(2, 5, 600));
+        assertEquals(40, Retries.backoffSeconds(4, 5, 600));
+    }
+
+    @Test
+    public void backoffIsCappedAtTheMaximum() {
+        assertEquals(600, Retries.backoffSeconds(8, 5, 600));
+        // Past 30 doublings the shift would overflow; the cap still holds
+        assertEquals(600, Retries.backoffSeconds(1_000, 5, 600));
+    }
+
+    @Test
+    public void backoffBeforeAnyAttemptIsTheInitialOne() {
+        assertEquals(5, Retries.backoffSeconds(0, 5, 600));
+    }
+
+    @Test
+    public void failureMessageIsCutToTheStoredLength() {
+        String message = "x".repeat(Retries.MAX_FAILURE_MESSAGE_LENGTH + 10);
+
+        assertEquals(Retries.MAX_FAILURE_MESSAGE_LENGTH,
+                Retries.failureMessage(new IllegalStateException(message)).length());
+        assertEquals("null", Retries.failureMessage(new IllegalStateException()));
+    }
+
+    @Test
+    public void truncateKeepsShortValuesAndNull() {
+        assertEquals("done", Retries.truncate("done", 10));
+        assertEquals("do", Retries.truncate("done", 2));
+        assertNull(Retries.truncate(null, 10));
+    }
+}
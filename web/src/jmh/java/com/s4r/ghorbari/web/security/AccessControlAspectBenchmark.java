@@ -0,0 +1,121 @@
+package com.s4r.ghorbari.web.security;
+
+import com.s4r.ghorbari.core.context.TenantContext;
+import com.s4r.ghorbari.core.domain.AmenityBookingDto;
+import com.s4r.ghorbari.core.outbox.DomainEventOutbox;
+import com.s4r.ghorbari.core.repository.AmenityBookingRepository;
+import com.s4r.ghorbari.core.security.AccessControlAspect;
+import com.s4r.ghorbari.core.service.AmenityBookingIndex;
+import com.s4r.ghorbari.core.service.AmenityBookingService;
+import com.s4r.ghorbari.core.service.IAmenityBookingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@code @RequiresRole} check on {@link AmenityBookingService#createBooking}, called directly, through
+ * a proxy without advice, and through a proxy advised by {@link AccessControlAspect} as Spring advises the bean.
+ * The service runs against an in-memory repository and without its transaction, whose cost would bury the check.
+ * <pre>
+ * mvn -Pbenchmark -pl web exec:exec -Djmh.args="AccessControlAspectBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessControlAspectBenchmark {
+
+    private static final Long TENANT_ID = 1L;
+
+    private IAmenityBookingService direct;
+    private IAmenityBookingService proxied;
+    private IAmenityBookingService advised;
+    private AmenityBookingDto booking;
+
+    @Setup
+    public void setUp() {
+        AmenityBookingRepository repository = inMemoryRepository();
+        AmenityBookingService service = new AmenityBookingService(repository,
+                new AmenityBookingIndex(repository, TimeUnit.HOURS.toSeconds(1)), event -> { },
+                new DomainEventOutbox(null));
+
+        direct = service;
+        proxied = proxy(service, false);
+        advised = proxy(service, true);
+
+        // The index never hears of the saved bookings, so the same slot stays free on every call
+        booking = new AmenityBookingDto();
+        booking.setAmenityId(10L);
+        booking.setResidentId(20L);
+        booking.setStartTime(LocalDateTime.now().plusDays(1));
+        booking.setEndTime(booking.getStartTime().plusHours(1));
+
+        // State is per thread, so setup runs on the thread that calls the benchmarks
+        TenantContext.setCurrentTenantId(TENANT_ID);
+        UserDetailsImpl principal = UserDetailsImpl.fromClaims(1L, "resident", "resident@example.com", TENANT_ID,
+                List.of("ROLE_RESIDENT"), 0);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null,
+                principal.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        TenantContext.clear();
+    }
+
+    @Benchmark
+    public void direct() {
+        direct.createBooking(booking);
+    }
+
+    @Benchmark
+    public void proxied() {
+        proxied.createBooking(booking);
+    }
+
+    @Benchmark
+    public void advised() {
+        advised.createBooking(booking);
+    }
+
+    private static IAmenityBookingService proxy(AmenityBookingService target, boolean withAspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        if (withAspect) {
+            factory.addAspect(new AccessControlAspect());
+        }
+        return factory.getProxy();
+    }
+
+    /**
+     * Just the two repository calls createBooking makes: the index load finds no bookings and saves succeed
+     */
+    private static AmenityBookingRepository inMemoryRepository() {
+        return (AmenityBookingRepository) Proxy.newProxyInstance(AmenityBookingRepository.class.getClassLoader(),
+                new Class<?>[]{AmenityBookingRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findActiveBookingsEndingAfter" -> List.of();
+                    case "saveAndFlush" -> args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.persistence.autoconfigure.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.s4r.ghorbari")
 @EnableJpaRepositories(basePackages = "com.s4r.ghorbari.core.repository")
 @EntityScan(basePackages = "com.s4r.ghorbari.core.entity")
+@EnableScheduling
 public class GhorbariApplication {
 
 	public static void main(String[] args) {
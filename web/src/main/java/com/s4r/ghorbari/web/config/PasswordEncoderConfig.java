@@ -1,15 +1,26 @@
 package com.s4r.ghorbari.web.config;
 
+import com.s4r.ghorbari.web.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class PasswordEncoderConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${app.security.password-hashing.threads:0}") int threads,
+                                           @Value("${app.security.password-hashing.queue-capacity:32}") int queueCapacity,
+                                           @Value("${app.security.password-hashing.max-wait-millis:5000}") long maxWaitMillis) {
+        // By default half the cores hash, leaving the rest to regular API traffic during a login flood
+        int hashingThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), hashingThreads, queueCapacity,
+                Duration.ofMillis(maxWaitMillis), meterRegistry);
     }
 }
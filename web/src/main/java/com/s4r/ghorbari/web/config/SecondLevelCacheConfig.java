@@ -0,0 +1,67 @@
+package com.s4r.ghorbari.web.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.s4r.ghorbari.core.cache.CacheRegions;
+import com.s4r.ghorbari.core.cache.TenantScopedCacheKeysFactory;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for reference data, held in-process by Caffeine through JCache.
+ *
+ * Every region is created here with its own size bound and time-to-live, read from app.cache.regions.&lt;region&gt;;
+ * Hibernate is told to fail on any region not created here instead of silently making an unbounded one.
+ * Cache keys come from {@link TenantScopedCacheKeysFactory}. Writes through Hibernate update the local cache;
+ * the time-to-live bounds how long another node may serve a row changed elsewhere.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private record Region(String name, long defaultMaxSize, long defaultTtlSeconds) {
+    }
+
+    private static final List<Region> REGIONS = List.of(
+            new Region(CacheRegions.TENANTS, 1_000, 3600),
+            new Region(CacheRegions.ROLES, 100, 3600),
+            new Region(CacheRegions.USER_ROLES, 20_000, 600),
+            new Region(CacheRegions.BUILDINGS, 5_000, 600),
+            new Region(CacheRegions.AMENITIES, 5_000, 600),
+            new Region(CacheRegions.APARTMENTS, 50_000, 300));
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (Region region : REGIONS) {
+            String prefix = "app.cache.regions." + region.name();
+            long maxSize = environment.getProperty(prefix + ".max-size", Long.class, region.defaultMaxSize());
+            long ttlSeconds = environment.getProperty(prefix + ".ttl-seconds", Long.class, region.defaultTtlSeconds());
+
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region.name(), configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.put("hibernate.cache.keys_factory", TenantScopedCacheKeysFactory.class.getName());
+        };
+    }
+}
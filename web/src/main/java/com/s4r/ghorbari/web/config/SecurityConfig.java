@@ -1,5 +1,6 @@
 package com.s4r.ghorbari.web.config;
 
+import com.s4r.ghorbari.web.ratelimit.TenantRateLimitFilter;
 import com.s4r.ghorbari.web.security.AuthEntryPointJwt;
 import com.s4r.ghorbari.web.security.AuthTokenFilter;
 import com.s4r.ghorbari.web.security.CustomAuthenticationProvider;
@@ -34,13 +35,16 @@ public class SecurityConfig {
     private final AuthEntryPointJwt unauthorizedHandler;
     private final AuthTokenFilter authTokenFilter;
     private final CustomAuthenticationProvider customAuthenticationProvider;
+    private final TenantRateLimitFilter tenantRateLimitFilter;
 
     public SecurityConfig(AuthEntryPointJwt unauthorizedHandler,
                          AuthTokenFilter authTokenFilter,
-                         CustomAuthenticationProvider customAuthenticationProvider) {
+                         CustomAuthenticationProvider customAuthenticationProvider,
+                         TenantRateLimitFilter tenantRateLimitFilter) {
         this.unauthorizedHandler = unauthorizedHandler;
         this.authTokenFilter = authTokenFilter;
         this.customAuthenticationProvider = customAuthenticationProvider;
+        this.tenantRateLimitFilter = tenantRateLimitFilter;
     }
 
     @Bean
@@ -61,6 +65,8 @@ public class SecurityConfig {
 
         http.authenticationProvider(customAuthenticationProvider);
         http.addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        // After the token filter, which identifies the tenant of authenticated requests
+        http.addFilterAfter(tenantRateLimitFilter, AuthTokenFilter.class);
 
         return http.build();
     }
@@ -1,6 +1,8 @@
 package com.s4r.ghorbari.web.controller;
 
 import com.s4r.ghorbari.core.domain.AmenityBookingDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
+import com.s4r.ghorbari.core.domain.TimeSlot;
 import com.s4r.ghorbari.core.entity.AmenityBooking;
 import com.s4r.ghorbari.core.service.IAmenityBookingService;
 import com.s4r.ghorbari.web.dto.AmenityBookingRequest;
@@ -19,6 +21,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -49,13 +52,28 @@ public class AmenityBookingController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Get all bookings", description = "Retrieve all amenity bookings for the current tenant")
+    @Operation(summary = "List bookings", description = "Retrieve all amenity bookings for the current tenant, newest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Bookings retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
+    public ResponseEntity<CursorPage<AmenityBookingDto>> getBookingPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(amenityBookingService.getBookingPage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all bookings (unpaged)", description = "Retrieve all amenity bookings for the current tenant in a single response. Opt-in only; prefer the paginated listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bookings retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/all")
     public ResponseEntity<List<AmenityBookingDto>> getAllBookings() {
         List<AmenityBookingDto> bookings = amenityBookingService.getAllBookings();
         return ResponseEntity.ok(bookings);
@@ -186,6 +204,27 @@ public class AmenityBookingController {
         return ResponseEntity.ok(available);
     }
 
+    @Operation(summary = "Find free slots", description = "List the free time slots of an amenity within a window")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Free slots retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid time window",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/amenity/{amenityId}/free-slots")
+    public ResponseEntity<List<TimeSlot>> findFreeSlots(
+            @Parameter(description = "Amenity ID") @PathVariable Long amenityId,
+            @Parameter(description = "Window start (yyyy-MM-dd'T'HH:mm:ss)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Window end (yyyy-MM-dd'T'HH:mm:ss)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Shortest slot to return, in minutes")
+            @RequestParam(defaultValue = "30") long minMinutes) {
+        List<TimeSlot> slots = amenityBookingService.findFreeSlots(amenityId, from, to, Duration.ofMinutes(minMinutes));
+        return ResponseEntity.ok(slots);
+    }
+
     @Operation(summary = "Update booking", description = "Update an existing booking")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Booking updated successfully"),
@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.web.controller;
 
 import com.s4r.ghorbari.core.domain.AmenityDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Amenity;
 import com.s4r.ghorbari.core.service.IAmenityService;
 import com.s4r.ghorbari.web.dto.AmenityRequest;
@@ -47,13 +48,28 @@ public class AmenityController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Get all amenities", description = "Retrieve all amenities for the current tenant")
+    @Operation(summary = "List amenities", description = "Retrieve all amenities for the current tenant, newest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Amenities retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
+    public ResponseEntity<CursorPage<AmenityDto>> getAmenityPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(amenityService.getAmenityPage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all amenities (unpaged)", description = "Retrieve all amenities for the current tenant in a single response. Opt-in only; prefer the paginated listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Amenities retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/all")
     public ResponseEntity<List<AmenityDto>> getAllAmenities() {
         List<AmenityDto> amenities = amenityService.getAllAmenities();
         return ResponseEntity.ok(amenities);
@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.web.controller;
 
 import com.s4r.ghorbari.core.domain.AnnouncementDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Announcement;
 import com.s4r.ghorbari.core.service.IAnnouncementService;
 import com.s4r.ghorbari.web.dto.AnnouncementRequest;
@@ -49,13 +50,28 @@ public class AnnouncementController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Get all announcements", description = "Retrieve all announcements for the current tenant")
+    @Operation(summary = "List announcements", description = "Retrieve all announcements for the current tenant, newest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Announcements retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
+    public ResponseEntity<CursorPage<AnnouncementDto>> getAnnouncementPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(announcementService.getAnnouncementPage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all announcements (unpaged)", description = "Retrieve all announcements for the current tenant in a single response. Opt-in only; prefer the paginated listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Announcements retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/all")
     public ResponseEntity<List<AnnouncementDto>> getAllAnnouncements() {
         List<AnnouncementDto> announcements = announcementService.getAllAnnouncements();
         return ResponseEntity.ok(announcements);
@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.web.controller;
 
 import com.s4r.ghorbari.core.domain.ApartmentDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Apartment;
 import com.s4r.ghorbari.core.service.IApartmentService;
 import com.s4r.ghorbari.web.dto.ApartmentRequest;
@@ -44,12 +45,26 @@ public class ApartmentController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Get all apartments", description = "Retrieve all apartments for the current tenant")
+    @Operation(summary = "List apartments", description = "Retrieve all apartments for the current tenant, newest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Apartments retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
+    public ResponseEntity<CursorPage<ApartmentDto>> getApartmentPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(apartmentService.getApartmentPage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all apartments (unpaged)", description = "Retrieve all apartments for the current tenant in a single response. Opt-in only; prefer the paginated listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Apartments retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/all")
     public ResponseEntity<List<ApartmentDto>> getAllApartments() {
         List<ApartmentDto> apartments = apartmentService.getAllApartments();
         return ResponseEntity.ok(apartments);
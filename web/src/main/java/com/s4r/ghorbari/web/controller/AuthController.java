@@ -5,12 +5,18 @@ import com.s4r.ghorbari.core.enums.RoleName;
 import com.s4r.ghorbari.core.service.IUserService;
 import com.s4r.ghorbari.web.dto.LoginRequest;
 import com.s4r.ghorbari.web.dto.LoginResponse;
+import com.s4r.ghorbari.web.dto.RefreshTokenRequest;
 import com.s4r.ghorbari.web.dto.RegisterRequest;
+import com.s4r.ghorbari.web.dto.TokenResponse;
 import com.s4r.ghorbari.web.dto.UserInfoResponse;
 import com.s4r.ghorbari.web.exception.ErrorResponse;
 import com.s4r.ghorbari.web.exception.UnauthorizedException;
+import com.s4r.ghorbari.web.security.AccessTokenRevocations;
 import com.s4r.ghorbari.web.security.IJwtUtils;
+import com.s4r.ghorbari.web.security.RefreshTokens;
 import com.s4r.ghorbari.web.security.UserDetailsImpl;
+import com.s4r.ghorbari.web.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,6 +24,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -27,6 +34,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Set;
@@ -41,15 +49,24 @@ public class AuthController {
     private final IUserService userService;
     private final PasswordEncoder passwordEncoder;
     private final IJwtUtils jwtUtils;
+    private final RefreshTokens refreshTokens;
+    private final AccessTokenRevocations accessTokenRevocations;
+    private final UserDetailsServiceImpl userDetailsService;
 
     public AuthController(AuthenticationManager authenticationManager,
                          IUserService userService,
                          PasswordEncoder passwordEncoder,
-                         IJwtUtils jwtUtils) {
+                         IJwtUtils jwtUtils,
+                         RefreshTokens refreshTokens,
+                         AccessTokenRevocations accessTokenRevocations,
+                         UserDetailsServiceImpl userDetailsService) {
         this.authenticationManager = authenticationManager;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtils = jwtUtils;
+        this.refreshTokens = refreshTokens;
+        this.accessTokenRevocations = accessTokenRevocations;
+        this.userDetailsService = userDetailsService;
     }
 
     @Operation(summary = "User login", description = "Authenticate user and receive JWT token")
@@ -57,27 +74,34 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(schema = @Schema(implementation = LoginResponse.class))),
             @ApiResponse(responseCode = "401", description = "Invalid credentials",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts for this account or address",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Too many logins in progress",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest request) {
         // Tenant context is already set by TenantInterceptor from subdomain
         Long tenantId = TenantContext.getCurrentTenantId();
         if (tenantId == null) {
             throw new UnauthorizedException("Tenant context not found");
         }
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsername(),
-                        loginRequest.getPassword()
-                )
+        UsernamePasswordAuthenticationToken loginToken = new UsernamePasswordAuthenticationToken(
+                loginRequest.getUsername(),
+                loginRequest.getPassword()
         );
+        // Client address for the per-address failure counters of LoginAttemptGuard
+        loginToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        Authentication authentication = authenticationManager.authenticate(loginToken);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
         String jwt = jwtUtils.generateJwtToken(authentication, tenantId);
+        String refreshToken = refreshTokens.issue(userDetails.id(), tenantId);
 
         Set<RoleName> roles = userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
@@ -91,17 +115,75 @@ public class AuthController {
                 roles
         );
 
-        LoginResponse response = new LoginResponse(jwt, userInfo);
+        LoginResponse response = new LoginResponse(jwt, refreshToken, userInfo);
 
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Refresh access token",
+            description = "Redeem a refresh token for a new access token and a new refresh token. Each refresh token can be used once")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens issued",
+                    content = @Content(schema = @Schema(implementation = TokenResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Refresh token invalid, expired, revoked or already used",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        // Tenant context is already set by TenantInterceptor from subdomain
+        Long tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            throw new UnauthorizedException("Tenant context not found");
+        }
+
+        RefreshTokens.Rotation rotation = refreshTokens.rotate(refreshRequest.getRefreshToken(), tenantId)
+                .orElseThrow(() -> new UnauthorizedException("Invalid or expired refresh token"));
+
+        // Reloaded so the new access token carries the user's current roles and token version
+        UserDetailsImpl userDetails = userDetailsService.loadUserByIdAndTenantId(rotation.userId(), tenantId);
+        if (!userDetails.isEnabled()) {
+            refreshTokens.revoke(rotation.refreshToken(), tenantId);
+            throw new UnauthorizedException("User account is disabled");
+        }
+
+        String jwt = jwtUtils.generateAccessToken(userDetails, tenantId);
+        return ResponseEntity.ok(new TokenResponse(jwt, rotation.refreshToken()));
+    }
+
+    @Operation(summary = "Logout",
+            description = "Revoke the refresh token and its successors, and the access token sent with the request",
+            security = @SecurityRequirement(name = "Bearer Authentication"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Logged out"),
+            @ApiResponse(responseCode = "400", description = "Validation failed",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest logoutRequest,
+                                       HttpServletRequest request) {
+        Long tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            throw new UnauthorizedException("Tenant context not found");
+        }
+
+        refreshTokens.revoke(logoutRequest.getRefreshToken(), tenantId);
+
+        // Verified by AuthTokenFilter when a valid bearer token was sent
+        if (request.getAttribute(IJwtUtils.CLAIMS_ATTRIBUTE) instanceof Claims claims && claims.getId() != null) {
+            accessTokenRevocations.revoke(claims.getId(), claims.getExpiration().toInstant());
+        }
+
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(summary = "Register new user", description = "Create a new user account for a tenant")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "User registered successfully"),
             @ApiResponse(responseCode = "400", description = "Validation failed",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "409", description = "Email already in use",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Too many registrations in progress",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/register")
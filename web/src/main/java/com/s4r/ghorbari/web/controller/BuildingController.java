@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.web.controller;
 
 import com.s4r.ghorbari.core.domain.BuildingDto;
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.Building;
 import com.s4r.ghorbari.core.service.IBuildingService;
 import com.s4r.ghorbari.web.dto.BuildingRequest;
@@ -47,13 +48,28 @@ public class BuildingController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Get all buildings", description = "Retrieve all buildings for the current tenant")
+    @Operation(summary = "List buildings", description = "Retrieve all buildings for the current tenant, newest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Buildings retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
+    public ResponseEntity<CursorPage<BuildingDto>> getBuildingPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(buildingService.getBuildingPage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all buildings (unpaged)", description = "Retrieve all buildings for the current tenant in a single response. Opt-in only; prefer the paginated listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Buildings retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/all")
     public ResponseEntity<List<BuildingDto>> getAllBuildings() {
         List<BuildingDto> buildings = buildingService.getAllBuildings();
         return ResponseEntity.ok(buildings);
@@ -0,0 +1,64 @@
+package com.s4r.ghorbari.web.controller;
+
+import com.s4r.ghorbari.core.domain.CacheRegionStats;
+import com.s4r.ghorbari.core.service.ICacheStatisticsService;
+import com.s4r.ghorbari.web.exception.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Cache", description = "Second-level cache endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final ICacheStatisticsService cacheStatisticsService;
+
+    public CacheController(ICacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @Operation(summary = "Get cache statistics", description = "Retrieve hit, miss and put counts and the entry count of each second-level cache region on this node")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/regions")
+    public ResponseEntity<List<CacheRegionStats>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getCacheStatistics());
+    }
+
+    @Operation(summary = "Evict cache region", description = "Drop every entry of a second-level cache region on this node")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Region evicted"),
+            @ApiResponse(responseCode = "404", description = "Region not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/regions/{region}")
+    public ResponseEntity<Void> evictRegion(
+            @Parameter(description = "Region name, e.g. apartments") @PathVariable String region) {
+        cacheStatisticsService.evictRegion(region);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.s4r.ghorbari.web.controller;
+
+import com.s4r.ghorbari.core.domain.TenantKpis;
+import com.s4r.ghorbari.core.service.ITenantKpiService;
+import com.s4r.ghorbari.web.exception.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Dashboard", description = "Dashboard KPI endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final ITenantKpiService tenantKpiService;
+
+    public DashboardController(ITenantKpiService tenantKpiService) {
+        this.tenantKpiService = tenantKpiService;
+    }
+
+    @Operation(summary = "Get dashboard KPIs", description = "Retrieve occupancy, receivables, revenue of the current month and open maintenance counts for the current tenant")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "KPIs retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/kpis")
+    public ResponseEntity<TenantKpis> getKpis() {
+        return ResponseEntity.ok(tenantKpiService.getKpis());
+    }
+
+    @Operation(summary = "Recompute dashboard KPIs", description = "Rebuild the current tenant's KPIs from the source tables")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "KPIs recomputed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/kpis/recompute")
+    public ResponseEntity<TenantKpis> recomputeKpis() {
+        return ResponseEntity.ok(tenantKpiService.recomputeKpis());
+    }
+}
@@ -1,6 +1,9 @@
 package com.s4r.ghorbari.web.controller;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.InvoiceDto;
+import com.s4r.ghorbari.core.domain.InvoiceSummary;
+import com.s4r.ghorbari.core.domain.QueuedTask;
 import com.s4r.ghorbari.core.entity.Invoice;
 import com.s4r.ghorbari.core.service.IInvoiceService;
 import com.s4r.ghorbari.web.dto.InvoiceRequest;
@@ -20,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
@@ -51,15 +55,30 @@ public class InvoiceController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Get all invoices", description = "Retrieve all invoices for the current tenant")
+    @Operation(summary = "List invoices", description = "Retrieve all invoices for the current tenant, newest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Invoices retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
-    public ResponseEntity<List<InvoiceDto>> getAllInvoices() {
-        List<InvoiceDto> invoices = invoiceService.getAllInvoices();
+    public ResponseEntity<CursorPage<InvoiceSummary>> getInvoicePage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(invoiceService.getInvoicePage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all invoices (unpaged)", description = "Retrieve all invoices for the current tenant in a single response. Opt-in only; prefer the paginated listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Invoices retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/all")
+    public ResponseEntity<List<InvoiceSummary>> getAllInvoices() {
+        List<InvoiceSummary> invoices = invoiceService.getAllInvoices();
         return ResponseEntity.ok(invoices);
     }
 
@@ -104,10 +123,10 @@ public class InvoiceController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<InvoiceDto>> getInvoicesByStatus(
+    public ResponseEntity<List<InvoiceSummary>> getInvoicesByStatus(
             @Parameter(description = "Invoice status (PENDING, PARTIALLY_PAID, PAID, OVERDUE, CANCELLED)")
             @PathVariable Invoice.InvoiceStatus status) {
-        List<InvoiceDto> invoices = invoiceService.getInvoicesByStatus(status);
+        List<InvoiceSummary> invoices = invoiceService.getInvoicesByStatus(status);
         return ResponseEntity.ok(invoices);
     }
 
@@ -118,9 +137,9 @@ public class InvoiceController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/lease/{leaseId}")
-    public ResponseEntity<List<InvoiceDto>> getInvoicesByLease(
+    public ResponseEntity<List<InvoiceSummary>> getInvoicesByLease(
             @Parameter(description = "Lease ID") @PathVariable Long leaseId) {
-        List<InvoiceDto> invoices = invoiceService.getInvoicesByLeaseId(leaseId);
+        List<InvoiceSummary> invoices = invoiceService.getInvoicesByLeaseId(leaseId);
         return ResponseEntity.ok(invoices);
     }
 
@@ -131,9 +150,9 @@ public class InvoiceController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/resident/{residentId}")
-    public ResponseEntity<List<InvoiceDto>> getInvoicesByResident(
+    public ResponseEntity<List<InvoiceSummary>> getInvoicesByResident(
             @Parameter(description = "Resident ID") @PathVariable Long residentId) {
-        List<InvoiceDto> invoices = invoiceService.getInvoicesByResidentId(residentId);
+        List<InvoiceSummary> invoices = invoiceService.getInvoicesByResidentId(residentId);
         return ResponseEntity.ok(invoices);
     }
 
@@ -144,20 +163,20 @@ public class InvoiceController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/unpaid")
-    public ResponseEntity<List<InvoiceDto>> getUnpaidInvoices() {
-        List<InvoiceDto> invoices = invoiceService.getUnpaidInvoices();
+    public ResponseEntity<List<InvoiceSummary>> getUnpaidInvoices() {
+        List<InvoiceSummary> invoices = invoiceService.getUnpaidInvoices();
         return ResponseEntity.ok(invoices);
     }
 
-    @Operation(summary = "Get overdue invoices", description = "Retrieve all overdue invoices")
+    @Operation(summary = "Get overdue invoices", description = "Retrieve invoices marked OVERDUE by the daily sweep, oldest due date first")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Invoices retrieved successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/overdue")
-    public ResponseEntity<List<InvoiceDto>> getOverdueInvoices() {
-        List<InvoiceDto> invoices = invoiceService.getOverdueInvoices();
+    public ResponseEntity<List<InvoiceSummary>> getOverdueInvoices() {
+        List<InvoiceSummary> invoices = invoiceService.getOverdueInvoices();
         return ResponseEntity.ok(invoices);
     }
 
@@ -168,20 +187,25 @@ public class InvoiceController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/date-range")
-    public ResponseEntity<List<InvoiceDto>> getInvoicesByDateRange(
+    public ResponseEntity<List<InvoiceSummary>> getInvoicesByDateRange(
             @Parameter(description = "Start date (yyyy-MM-dd)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (yyyy-MM-dd)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<InvoiceDto> invoices = invoiceService.getInvoicesByDateRange(startDate, endDate);
+        List<InvoiceSummary> invoices = invoiceService.getInvoicesByDateRange(startDate, endDate);
         return ResponseEntity.ok(invoices);
     }
 
-    @Operation(summary = "Update invoice", description = "Update an existing invoice")
+    @Operation(summary = "Update invoice",
+            description = "Update an existing invoice. The request must carry the version the client last read.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Invoice updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or missing version",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Invoice not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Invoice was changed since the client read it",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
@@ -190,6 +214,7 @@ public class InvoiceController {
             @Parameter(description = "Invoice ID") @PathVariable Long id,
             @Valid @RequestBody InvoiceRequest request) {
         InvoiceDto dto = mapToDto(request);
+        dto.setVersion(request.getVersion());
         invoiceService.updateInvoice(id, dto);
         return ResponseEntity.noContent().build();
     }
@@ -227,18 +252,30 @@ public class InvoiceController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Generate monthly invoices", description = "Generate invoices for all active leases for a specific month")
+    @Operation(summary = "Generate monthly invoices", description = "Queue generation of invoices for all active leases that have none for a specific month. Safe to re-run; only missing invoices are created. Poll the returned task for the outcome")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Monthly invoices generated successfully"),
+            @ApiResponse(responseCode = "202", description = "Generation queued",
+                    content = @Content(schema = @Schema(implementation = QueuedTask.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @PostMapping("/generate-monthly")
-    public ResponseEntity<?> generateMonthlyInvoices(
+    public ResponseEntity<QueuedTask> generateMonthlyInvoices(
             @Parameter(description = "Year-Month (yyyy-MM)")
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
-        invoiceService.generateMonthlyInvoices(month);
-        return ResponseEntity.noContent().build();
+        return accepted(invoiceService.queueMonthlyInvoiceGeneration(month));
+    }
+
+    @Operation(summary = "Sweep overdue invoices", description = "Queue a sweep that marks open invoices past their due date as OVERDUE and charges late fees, as the daily sweep does. Safe to re-run; late fees are charged once per invoice. Poll the returned task for the outcome")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Sweep queued",
+                    content = @Content(schema = @Schema(implementation = QueuedTask.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/sweep-overdue")
+    public ResponseEntity<QueuedTask> sweepOverdueInvoices() {
+        return accepted(invoiceService.queueOverdueSweep());
     }
 
     @Operation(summary = "Delete invoice", description = "Delete an invoice from the system")
@@ -256,6 +293,10 @@ public class InvoiceController {
         return ResponseEntity.noContent().build();
     }
 
+    private static ResponseEntity<QueuedTask> accepted(QueuedTask task) {
+        return ResponseEntity.accepted().location(URI.create("/api/tasks/" + task.id())).body(task);
+    }
+
     private InvoiceDto mapToDto(InvoiceRequest request) {
         InvoiceDto dto = new InvoiceDto();
         dto.setInvoiceNumber(request.getInvoiceNumber());
@@ -0,0 +1,67 @@
+package com.s4r.ghorbari.web.controller;
+
+import com.s4r.ghorbari.core.domain.JobRun;
+import com.s4r.ghorbari.core.service.IJobService;
+import com.s4r.ghorbari.web.exception.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Jobs", description = "Background job endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private final IJobService jobService;
+
+    public JobController(IJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @Operation(summary = "Get job runs", description = "Retrieve the most recent job runs across all nodes, one entry per claimed slice")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job runs retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/runs")
+    public ResponseEntity<List<JobRun>> getRecentRuns(
+            @Parameter(description = "Only runs of this job") @RequestParam(required = false) String job,
+            @Parameter(description = "Maximum number of runs, up to 500") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(jobService.getRecentRuns(job, limit));
+    }
+
+    @Operation(summary = "Run a job now", description = "Run a background job immediately on this node and return the slices it ran")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job run completed"),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{name}/run")
+    public ResponseEntity<List<JobRun>> triggerJob(@PathVariable String name) {
+        return ResponseEntity.ok(jobService.triggerJob(name));
+    }
+}
@@ -1,6 +1,8 @@
 package com.s4r.ghorbari.web.controller;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.LeaseDto;
+import com.s4r.ghorbari.core.domain.LeaseSummary;
 import com.s4r.ghorbari.core.entity.Lease;
 import com.s4r.ghorbari.core.service.ILeaseService;
 import com.s4r.ghorbari.web.dto.LeaseRenewalRequest;
@@ -51,15 +53,30 @@ public class LeaseController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Get all leases", description = "Retrieve all leases for the current tenant")
+    @Operation(summary = "List leases", description = "Retrieve all leases for the current tenant, newest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Leases retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
-    public ResponseEntity<List<LeaseDto>> getAllLeases() {
-        List<LeaseDto> leases = leaseService.getAllLeases();
+    public ResponseEntity<CursorPage<LeaseSummary>> getLeasePage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(leaseService.getLeasePage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all leases (unpaged)", description = "Retrieve all leases for the current tenant in a single response. Opt-in only; prefer the paginated listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Leases retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/all")
+    public ResponseEntity<List<LeaseSummary>> getAllLeases() {
+        List<LeaseSummary> leases = leaseService.getAllLeases();
         return ResponseEntity.ok(leases);
     }
 
@@ -87,10 +104,10 @@ public class LeaseController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<LeaseDto>> getLeasesByStatus(
+    public ResponseEntity<List<LeaseSummary>> getLeasesByStatus(
             @Parameter(description = "Lease status (DRAFT, ACTIVE, EXPIRING_SOON, EXPIRED, TERMINATED, RENEWED)")
             @PathVariable Lease.LeaseStatus status) {
-        List<LeaseDto> leases = leaseService.getLeasesByStatus(status);
+        List<LeaseSummary> leases = leaseService.getLeasesByStatus(status);
         return ResponseEntity.ok(leases);
     }
 
@@ -101,9 +118,9 @@ public class LeaseController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/apartment/{apartmentId}")
-    public ResponseEntity<List<LeaseDto>> getLeasesByApartment(
+    public ResponseEntity<List<LeaseSummary>> getLeasesByApartment(
             @Parameter(description = "Apartment ID") @PathVariable Long apartmentId) {
-        List<LeaseDto> leases = leaseService.getLeasesByApartmentId(apartmentId);
+        List<LeaseSummary> leases = leaseService.getLeasesByApartmentId(apartmentId);
         return ResponseEntity.ok(leases);
     }
 
@@ -114,9 +131,9 @@ public class LeaseController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/resident/{residentId}")
-    public ResponseEntity<List<LeaseDto>> getLeasesByResident(
+    public ResponseEntity<List<LeaseSummary>> getLeasesByResident(
             @Parameter(description = "Resident ID") @PathVariable Long residentId) {
-        List<LeaseDto> leases = leaseService.getLeasesByResidentId(residentId);
+        List<LeaseSummary> leases = leaseService.getLeasesByResidentId(residentId);
         return ResponseEntity.ok(leases);
     }
 
@@ -127,10 +144,10 @@ public class LeaseController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/expiring")
-    public ResponseEntity<List<LeaseDto>> getExpiringLeases(
+    public ResponseEntity<List<LeaseSummary>> getExpiringLeases(
             @Parameter(description = "Before date (yyyy-MM-dd)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate beforeDate) {
-        List<LeaseDto> leases = leaseService.getExpiringLeases(beforeDate);
+        List<LeaseSummary> leases = leaseService.getExpiringLeases(beforeDate);
         return ResponseEntity.ok(leases);
     }
 
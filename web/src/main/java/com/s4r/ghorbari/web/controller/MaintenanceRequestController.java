@@ -1,5 +1,6 @@
 package com.s4r.ghorbari.web.controller;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.entity.MaintenanceRequest;
 import com.s4r.ghorbari.core.service.IMaintenanceRequestService;
 import com.s4r.ghorbari.web.dto.MaintenanceRequestRequest;
@@ -48,13 +49,28 @@ public class MaintenanceRequestController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Get all requests", description = "Retrieve all maintenance requests for the current tenant")
+    @Operation(summary = "List requests", description = "Retrieve all maintenance requests for the current tenant, newest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requests retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
+    public ResponseEntity<CursorPage<MaintenanceRequest>> getRequestPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(maintenanceRequestService.getRequestPage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all requests (unpaged)", description = "Retrieve all maintenance requests for the current tenant in a single response. Opt-in only; prefer the paginated listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Requests retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/all")
     public ResponseEntity<List<MaintenanceRequest>> getAllRequests() {
         List<MaintenanceRequest> requests = maintenanceRequestService.getAllRequests();
         return ResponseEntity.ok(requests);
@@ -1,6 +1,9 @@
 package com.s4r.ghorbari.web.controller;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.PaymentDto;
+import com.s4r.ghorbari.core.domain.PaymentSummary;
+import com.s4r.ghorbari.core.domain.PaymentImportRowResult;
 import com.s4r.ghorbari.core.entity.Payment;
 import com.s4r.ghorbari.core.service.IPaymentService;
 import com.s4r.ghorbari.web.dto.PaymentRequest;
@@ -14,14 +17,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Tag(name = "Payments", description = "Payment processing and management endpoints")
 @SecurityRequirement(name = "Bearer Authentication")
@@ -50,15 +63,57 @@ public class PaymentController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Get all payments", description = "Retrieve all payments for the current tenant")
+    @Operation(summary = "Import payments from a settlement file",
+            description = "Stream a bank or mobile-money settlement CSV. Each row settles a pending payment matched by "
+                    + "paymentReference or records a new payment against the invoice matched by invoiceNumber. "
+                    + "Responds with a CSV report holding one line per row")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File processed; per-row report in the body",
+                    content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "400", description = "Unreadable file or missing required columns",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public void importPayments(
+            @Parameter(description = "Settlement CSV with a header row: amount plus invoiceNumber and/or paymentReference; "
+                    + "optional paymentDate, paymentMethod, transactionId, residentId, notes")
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Payment method for rows that do not specify one")
+            @RequestParam(defaultValue = "BANK_TRANSFER") Payment.PaymentMethod paymentMethod,
+            HttpServletResponse response) throws IOException {
+        ImportReportWriter report = new ImportReportWriter(response);
+        try (InputStream csv = file.getInputStream()) {
+            paymentService.importPayments(csv, paymentMethod, report);
+        }
+        report.finish();
+    }
+
+    @Operation(summary = "List payments", description = "Retrieve all payments for the current tenant, newest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Payments retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
-    public ResponseEntity<List<PaymentDto>> getAllPayments() {
-        List<PaymentDto> payments = paymentService.getAllPayments();
+    public ResponseEntity<CursorPage<PaymentSummary>> getPaymentPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(paymentService.getPaymentPage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all payments (unpaged)", description = "Retrieve all payments for the current tenant in a single response. Opt-in only; prefer the paginated listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Payments retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/all")
+    public ResponseEntity<List<PaymentSummary>> getAllPayments() {
+        List<PaymentSummary> payments = paymentService.getAllPayments();
         return ResponseEntity.ok(payments);
     }
 
@@ -103,9 +158,9 @@ public class PaymentController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/invoice/{invoiceId}")
-    public ResponseEntity<List<PaymentDto>> getPaymentsByInvoice(
+    public ResponseEntity<List<PaymentSummary>> getPaymentsByInvoice(
             @Parameter(description = "Invoice ID") @PathVariable Long invoiceId) {
-        List<PaymentDto> payments = paymentService.getPaymentsByInvoiceId(invoiceId);
+        List<PaymentSummary> payments = paymentService.getPaymentsByInvoiceId(invoiceId);
         return ResponseEntity.ok(payments);
     }
 
@@ -116,9 +171,9 @@ public class PaymentController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/resident/{residentId}")
-    public ResponseEntity<List<PaymentDto>> getPaymentsByResident(
+    public ResponseEntity<List<PaymentSummary>> getPaymentsByResident(
             @Parameter(description = "Resident ID") @PathVariable Long residentId) {
-        List<PaymentDto> payments = paymentService.getPaymentsByResidentId(residentId);
+        List<PaymentSummary> payments = paymentService.getPaymentsByResidentId(residentId);
         return ResponseEntity.ok(payments);
     }
 
@@ -129,10 +184,10 @@ public class PaymentController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<PaymentDto>> getPaymentsByStatus(
+    public ResponseEntity<List<PaymentSummary>> getPaymentsByStatus(
             @Parameter(description = "Payment status (PENDING, COMPLETED, FAILED, REFUNDED, PARTIALLY_REFUNDED, CANCELLED)")
             @PathVariable Payment.PaymentStatus status) {
-        List<PaymentDto> payments = paymentService.getPaymentsByStatus(status);
+        List<PaymentSummary> payments = paymentService.getPaymentsByStatus(status);
         return ResponseEntity.ok(payments);
     }
 
@@ -143,10 +198,10 @@ public class PaymentController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/method/{paymentMethod}")
-    public ResponseEntity<List<PaymentDto>> getPaymentsByMethod(
+    public ResponseEntity<List<PaymentSummary>> getPaymentsByMethod(
             @Parameter(description = "Payment method (CASH, BANK_TRANSFER, CREDIT_CARD, etc.)")
             @PathVariable Payment.PaymentMethod paymentMethod) {
-        List<PaymentDto> payments = paymentService.getPaymentsByMethod(paymentMethod);
+        List<PaymentSummary> payments = paymentService.getPaymentsByMethod(paymentMethod);
         return ResponseEntity.ok(payments);
     }
 
@@ -157,12 +212,12 @@ public class PaymentController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/date-range")
-    public ResponseEntity<List<PaymentDto>> getPaymentsByDateRange(
+    public ResponseEntity<List<PaymentSummary>> getPaymentsByDateRange(
             @Parameter(description = "Start date (yyyy-MM-dd)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (yyyy-MM-dd)")
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<PaymentDto> payments = paymentService.getPaymentsByDateRange(startDate, endDate);
+        List<PaymentSummary> payments = paymentService.getPaymentsByDateRange(startDate, endDate);
         return ResponseEntity.ok(payments);
     }
 
@@ -245,4 +300,58 @@ public class PaymentController {
         dto.setNotes(request.getNotes());
         return dto;
     }
+
+    /**
+     * Writes the per-row report as rows arrive. Nothing is written until the first row,
+     * so header errors still reach the client as a regular error response.
+     */
+    private static final class ImportReportWriter implements Consumer<PaymentImportRowResult> {
+
+        private final HttpServletResponse response;
+        private PrintWriter writer;
+
+        ImportReportWriter(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void accept(PaymentImportRowResult row) {
+            writer().println(String.join(",",
+                    String.valueOf(row.rowNumber()),
+                    row.status().name(),
+                    csvValue(row.paymentReference()),
+                    csvValue(row.invoiceNumber()),
+                    row.paymentId() != null ? row.paymentId().toString() : "",
+                    csvValue(row.message())));
+        }
+
+        void finish() {
+            writer().flush();
+        }
+
+        private PrintWriter writer() {
+            if (writer == null) {
+                response.setContentType("text/csv");
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payment-import-report.csv\"");
+                try {
+                    writer = response.getWriter();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                writer.println("row,status,paymentReference,invoiceNumber,paymentId,message");
+            }
+            return writer;
+        }
+
+        private static String csvValue(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+            return value;
+        }
+    }
 }
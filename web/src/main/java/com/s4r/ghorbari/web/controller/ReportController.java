@@ -0,0 +1,172 @@
+package com.s4r.ghorbari.web.controller;
+
+import com.s4r.ghorbari.core.domain.BuildingAgingRow;
+import com.s4r.ghorbari.core.domain.CursorPage;
+import com.s4r.ghorbari.core.domain.ResidentAgingRow;
+import com.s4r.ghorbari.core.domain.RevenueBreakdownRow;
+import com.s4r.ghorbari.core.service.IReportService;
+import com.s4r.ghorbari.web.exception.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Tag(name = "Reports", description = "Aggregated reporting endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final IReportService reportService;
+
+    public ReportController(IReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    @Operation(summary = "Revenue breakdown",
+            description = "Payment counts and collected, refunded and net amounts grouped by month, building, "
+                    + "payment method and status, aggregated in the database")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Breakdown retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Missing dates or date range too long",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/revenue")
+    public ResponseEntity<List<RevenueBreakdownRow>> getRevenueBreakdown(
+            @Parameter(description = "First payment date, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Last payment date, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Only count payments of this resident") @RequestParam(required = false) Long residentId) {
+        return ResponseEntity.ok(reportService.getRevenueBreakdown(startDate, endDate, residentId));
+    }
+
+    @Operation(summary = "Export revenue breakdown",
+            description = "Same grouping as the revenue breakdown, streamed as CSV while the database returns rows")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Breakdown streamed in the body",
+                    content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "400", description = "Missing dates or date range too long",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/revenue/export")
+    public void exportRevenueBreakdown(
+            @Parameter(description = "First payment date, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "Last payment date, inclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Only count payments of this resident") @RequestParam(required = false) Long residentId,
+            HttpServletResponse response) {
+        RevenueCsvWriter csv = new RevenueCsvWriter(response);
+        reportService.streamRevenueBreakdown(startDate, endDate, residentId, csv);
+        csv.finish();
+    }
+
+    @Operation(summary = "Receivables aging by resident",
+            description = "Outstanding balance of each resident's open invoices split into current, 0-30, 31-60, "
+                    + "61-90 and 90+ days past due. Only residents with open invoices are listed, newest first, one page at a time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Aging retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/receivables-aging/residents")
+    public ResponseEntity<CursorPage<ResidentAgingRow>> getResidentAging(
+            @Parameter(description = "Date the ages are measured at (default today)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(reportService.getResidentAging(asOf, cursor, limit));
+    }
+
+    @Operation(summary = "Receivables aging by building",
+            description = "Outstanding balance of open invoices per building, split into the same aging buckets")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Aging retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/receivables-aging/buildings")
+    public ResponseEntity<List<BuildingAgingRow>> getBuildingAging(
+            @Parameter(description = "Date the ages are measured at (default today)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(reportService.getBuildingAging(asOf));
+    }
+
+    /**
+     * Writes rows as the cursor yields them. Nothing is written until the first row,
+     * so validation errors still reach the client as a regular error response.
+     */
+    private static final class RevenueCsvWriter implements Consumer<RevenueBreakdownRow> {
+
+        private final HttpServletResponse response;
+        private PrintWriter writer;
+
+        RevenueCsvWriter(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void accept(RevenueBreakdownRow row) {
+            writer().println(String.join(",",
+                    row.month().toString(),
+                    row.buildingId() != null ? row.buildingId().toString() : "",
+                    csvValue(row.buildingName()),
+                    row.paymentMethod().name(),
+                    row.status().name(),
+                    String.valueOf(row.paymentCount()),
+                    row.collectedAmount().toPlainString(),
+                    row.refundedAmount().toPlainString(),
+                    row.netAmount().toPlainString()));
+        }
+
+        void finish() {
+            writer().flush();
+        }
+
+        private PrintWriter writer() {
+            if (writer == null) {
+                response.setContentType("text/csv");
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"revenue-breakdown.csv\"");
+                try {
+                    writer = response.getWriter();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                writer.println("month,buildingId,buildingName,paymentMethod,status,paymentCount,collectedAmount,refundedAmount,netAmount");
+            }
+            return writer;
+        }
+
+        private static String csvValue(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+            return value;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.s4r.ghorbari.web.controller;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.ResidentDto;
 import com.s4r.ghorbari.core.service.IResidentService;
 import com.s4r.ghorbari.web.dto.ResidentRequest;
@@ -46,13 +47,28 @@ public class ResidentController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    @Operation(summary = "Get all residents", description = "Retrieve all residents for the current tenant")
+    @Operation(summary = "List residents", description = "Retrieve all residents for the current tenant, newest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Residents retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping
+    public ResponseEntity<CursorPage<ResidentDto>> getResidentPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(residentService.getResidentPage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all residents (unpaged)", description = "Retrieve all residents for the current tenant in a single response. Opt-in only; prefer the paginated listing")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Residents retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/all")
     public ResponseEntity<List<ResidentDto>> getAllResidents() {
         List<ResidentDto> residents = residentService.getAllResidents();
         return ResponseEntity.ok(residents);
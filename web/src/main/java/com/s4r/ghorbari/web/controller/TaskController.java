@@ -0,0 +1,83 @@
+package com.s4r.ghorbari.web.controller;
+
+import com.s4r.ghorbari.core.domain.QueuedTask;
+import com.s4r.ghorbari.core.service.ITaskService;
+import com.s4r.ghorbari.web.exception.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Tag(name = "Tasks", description = "Queued task endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+@RestController
+@RequestMapping("/api/tasks")
+public class TaskController {
+
+    private final ITaskService taskService;
+
+    public TaskController(ITaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @Operation(summary = "Get task", description = "Retrieve the status of a queued task, with its result once it has succeeded or its last error")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task found",
+                    content = @Content(schema = @Schema(implementation = QueuedTask.class))),
+            @ApiResponse(responseCode = "404", description = "Task not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<QueuedTask> getTask(
+            @Parameter(description = "Task ID") @PathVariable Long id) {
+        return taskService.getTask(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "List dead-lettered tasks", description = "Retrieve tasks of the current tenant that failed on every attempt, newest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/dead-letter")
+    public ResponseEntity<List<QueuedTask>> getDeadLetteredTasks(
+            @Parameter(description = "Maximum number of tasks, up to 200") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(taskService.getDeadLetteredTasks(limit));
+    }
+
+    @Operation(summary = "Retry dead-lettered task", description = "Put a dead-lettered task back on its queue with a fresh set of attempts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task queued again",
+                    content = @Content(schema = @Schema(implementation = QueuedTask.class))),
+            @ApiResponse(responseCode = "404", description = "No dead-lettered task with this ID",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<QueuedTask> retryTask(
+            @Parameter(description = "Task ID") @PathVariable Long id) {
+        return ResponseEntity.ok(taskService.retryTask(id));
+    }
+}
@@ -1,5 +1,6 @@
 package com.s4r.ghorbari.web.controller;
 
+import com.s4r.ghorbari.core.domain.CursorPage;
 import com.s4r.ghorbari.core.domain.TenantDto;
 import com.s4r.ghorbari.core.service.ITenantService;
 import com.s4r.ghorbari.web.dto.TenantRequest;
@@ -67,10 +68,12 @@ public class TenantController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTenant);
     }
 
-    @Operation(summary = "Get all tenants", description = "Retrieve all tenants (Super Admin only)")
+    @Operation(summary = "List tenants", description = "Retrieve all tenants (Super Admin only), newest first, one page at a time")
     @SecurityRequirement(name = "Bearer Authentication")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tenants retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403", description = "Forbidden - Super Admin role required",
@@ -78,6 +81,23 @@ public class TenantController {
     })
     @GetMapping("/api/tenants")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<CursorPage<TenantDto>> getTenantPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, 1 to 200 (default 50)") @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(tenantService.getTenantPage(cursor, limit));
+    }
+
+    @Operation(summary = "Get all tenants (unpaged)", description = "Retrieve all tenants (Super Admin only) in a single response. Opt-in only; prefer the paginated listing")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tenants retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Super Admin role required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/api/tenants/all")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
     public ResponseEntity<List<TenantDto>> getAllTenants() {
         List<TenantDto> tenants = tenantService.getAllTenants();
         return ResponseEntity.ok(tenants);
@@ -189,6 +209,10 @@ public class TenantController {
         dto.setName(request.getName());
         dto.setActive(request.getActive());
         dto.setDescription(request.getDescription());
+        dto.setRateLimitReadPerMinute(request.getRateLimitReadPerMinute());
+        dto.setRateLimitWritePerMinute(request.getRateLimitWritePerMinute());
+        dto.setRateLimitReportPerMinute(request.getRateLimitReportPerMinute());
+        dto.setMaxConcurrentRequests(request.getMaxConcurrentRequests());
         return dto;
     }
 }
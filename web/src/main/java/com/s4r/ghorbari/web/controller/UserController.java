@@ -1,12 +1,20 @@
 package com.s4r.ghorbari.web.controller;
 
+import com.s4r.ghorbari.core.context.TenantContext;
 import com.s4r.ghorbari.core.entity.User;
 import com.s4r.ghorbari.core.enums.RoleName;
+import com.s4r.ghorbari.core.exception.ErrorCode;
+import com.s4r.ghorbari.core.exception.ServiceException;
 import com.s4r.ghorbari.core.security.RequiresRole;
 import com.s4r.ghorbari.core.service.IUserService;
+import com.s4r.ghorbari.web.dto.ChangePasswordRequest;
+import com.s4r.ghorbari.web.dto.PasswordResetRequest;
 import com.s4r.ghorbari.web.dto.UserInfoResponse;
 import com.s4r.ghorbari.web.dto.UserProfileUpdateRequest;
+import com.s4r.ghorbari.web.dto.UserRolesRequest;
+import com.s4r.ghorbari.web.dto.UserStatusRequest;
 import com.s4r.ghorbari.web.exception.ErrorResponse;
+import com.s4r.ghorbari.web.security.RefreshTokens;
 import com.s4r.ghorbari.web.security.UserDetailsImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,6 +28,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 @Tag(name = "Users", description = "User profile management endpoints")
@@ -29,9 +38,13 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final IUserService userService;
+    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokens refreshTokens;
 
-    public UserController(IUserService userService) {
+    public UserController(IUserService userService, PasswordEncoder passwordEncoder, RefreshTokens refreshTokens) {
         this.userService = userService;
+        this.passwordEncoder = passwordEncoder;
+        this.refreshTokens = refreshTokens;
     }
 
     @Operation(summary = "Get current user profile", description = "Retrieve the profile of the currently authenticated user")
@@ -135,6 +148,136 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Change current user password",
+            description = "Change the password of the currently authenticated user. Signs out all sessions, " +
+                    "including the current one, so the user has to sign in again with the new password")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Password changed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or current password is incorrect",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/profile/password")
+    public ResponseEntity<?> changeCurrentUserPassword(@Valid @RequestBody ChangePasswordRequest request) {
+        Long currentUserId = getCurrentUserId();
+        User user = userService.findById(currentUserId)
+                .orElseThrow(() -> new ServiceException(ErrorCode.RESOURCE_NOT_FOUND, "User not found"));
+        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+            throw new ServiceException(ErrorCode.INVALID_OPERATION, "Current password is incorrect");
+        }
+
+        userService.changeOwnPassword(currentUserId, passwordEncoder.encode(request.getNewPassword()));
+        refreshTokens.revokeAllForUser(currentUserId, TenantContext.getCurrentTenantId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Reset user password by ID",
+            description = "Set a new password for a specific user and sign out all their sessions (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Password reset successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN})
+    @PutMapping("/{id}/password")
+    public ResponseEntity<?> resetUserPassword(
+            @Parameter(description = "User ID") @PathVariable Long id,
+            @Valid @RequestBody PasswordResetRequest request) {
+        requireCanManage(id);
+        userService.resetPassword(id, passwordEncoder.encode(request.getNewPassword()));
+        refreshTokens.revokeAllForUser(id, TenantContext.getCurrentTenantId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Update user roles by ID",
+            description = "Replace the roles of a specific user. Only super admins can grant or revoke the super admin role (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Roles updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "User or role not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN})
+    @PutMapping("/{id}/roles")
+    public ResponseEntity<?> updateUserRoles(
+            @Parameter(description = "User ID") @PathVariable Long id,
+            @Valid @RequestBody UserRolesRequest request) {
+        requireCanManage(id);
+        if (request.getRoles().contains(RoleName.ROLE_SUPER_ADMIN) && !currentUserIsSuperAdmin()) {
+            throw new ServiceException(ErrorCode.OPERATION_NOT_ALLOWED, "Only super admins can grant the super admin role");
+        }
+        if (id.equals(getCurrentUserId()) && !request.getRoles().contains(RoleName.ROLE_SUPER_ADMIN)
+                && !request.getRoles().contains(RoleName.ROLE_TENANT_ADMIN)) {
+            throw new ServiceException(ErrorCode.OPERATION_NOT_ALLOWED, "You cannot remove your own admin role");
+        }
+
+        userService.updateUserRoles(id, request.getRoles());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Enable or disable user by ID",
+            description = "Enable or disable a specific user. Disabling signs out all their sessions (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "User status updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Admin access required",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @RequiresRole({RoleName.ROLE_SUPER_ADMIN, RoleName.ROLE_TENANT_ADMIN})
+    @PutMapping("/{id}/enabled")
+    public ResponseEntity<?> setUserEnabled(
+            @Parameter(description = "User ID") @PathVariable Long id,
+            @Valid @RequestBody UserStatusRequest request) {
+        requireCanManage(id);
+        if (id.equals(getCurrentUserId()) && !request.getEnabled()) {
+            throw new ServiceException(ErrorCode.OPERATION_NOT_ALLOWED, "You cannot disable your own account");
+        }
+
+        userService.setUserEnabled(id, request.getEnabled());
+        if (!request.getEnabled()) {
+            refreshTokens.revokeAllForUser(id, TenantContext.getCurrentTenantId());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Tenant admins manage the users of their tenant, but not the super admins in it
+     */
+    private void requireCanManage(Long userId) {
+        if (currentUserIsSuperAdmin()) {
+            return;
+        }
+        boolean targetIsSuperAdmin = userService.findById(userId)
+                .map(user -> user.getRoles().stream().anyMatch(role -> role.getName() == RoleName.ROLE_SUPER_ADMIN))
+                .orElse(false);
+        if (targetIsSuperAdmin) {
+            throw new ServiceException(ErrorCode.OPERATION_NOT_ALLOWED, "Only super admins can manage super admins");
+        }
+    }
+
+    private boolean currentUserIsSuperAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return (userDetails.roleMask() & RoleName.ROLE_SUPER_ADMIN.mask()) != 0;
+    }
+
     private Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
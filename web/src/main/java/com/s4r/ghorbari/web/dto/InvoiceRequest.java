@@ -46,6 +46,9 @@ public class InvoiceRequest {
 
     private String notes;
 
+    // Version the client last read; required when updating
+    private Long version;
+
     // Constructors
     public InvoiceRequest() {
     }
@@ -162,4 +165,12 @@ public class InvoiceRequest {
     public void setNotes(String notes) {
         this.notes = notes;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -6,6 +6,7 @@ import java.util.Set;
 
 public record LoginResponse(
         String token,
+        String refreshToken,
         UserInfo user
 ) {
     public record UserInfo(
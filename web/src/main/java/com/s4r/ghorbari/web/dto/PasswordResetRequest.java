@@ -0,0 +1,27 @@
+package com.s4r.ghorbari.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class PasswordResetRequest {
+
+    @NotBlank(message = "New password is required")
+    @Size(min = 6, message = "Password must be at least 6 characters")
+    private String newPassword;
+
+    public PasswordResetRequest() {
+    }
+
+    public PasswordResetRequest(String newPassword) {
+        this.newPassword = newPassword;
+    }
+
+    // Getters and Setters
+    public String getNewPassword() {
+        return newPassword;
+    }
+
+    public void setNewPassword(String newPassword) {
+        this.newPassword = newPassword;
+    }
+}
@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.web.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 
 public class TenantRequest {
@@ -18,6 +19,18 @@ public class TenantRequest {
     @Size(max = 500, message = "Description must be less than 500 characters")
     private String description;
 
+    @Positive(message = "Read rate limit must be positive")
+    private Integer rateLimitReadPerMinute;
+
+    @Positive(message = "Write rate limit must be positive")
+    private Integer rateLimitWritePerMinute;
+
+    @Positive(message = "Report rate limit must be positive")
+    private Integer rateLimitReportPerMinute;
+
+    @Positive(message = "Concurrent request limit must be positive")
+    private Integer maxConcurrentRequests;
+
     public TenantRequest() {
     }
 
@@ -53,4 +66,36 @@ public class TenantRequest {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Integer getRateLimitReadPerMinute() {
+        return rateLimitReadPerMinute;
+    }
+
+    public void setRateLimitReadPerMinute(Integer rateLimitReadPerMinute) {
+        this.rateLimitReadPerMinute = rateLimitReadPerMinute;
+    }
+
+    public Integer getRateLimitWritePerMinute() {
+        return rateLimitWritePerMinute;
+    }
+
+    public void setRateLimitWritePerMinute(Integer rateLimitWritePerMinute) {
+        this.rateLimitWritePerMinute = rateLimitWritePerMinute;
+    }
+
+    public Integer getRateLimitReportPerMinute() {
+        return rateLimitReportPerMinute;
+    }
+
+    public void setRateLimitReportPerMinute(Integer rateLimitReportPerMinute) {
+        this.rateLimitReportPerMinute = rateLimitReportPerMinute;
+    }
+
+    public Integer getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
 }
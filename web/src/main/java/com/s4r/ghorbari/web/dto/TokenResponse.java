@@ -0,0 +1,7 @@
+package com.s4r.ghorbari.web.dto;
+
+public record TokenResponse(
+        String token,
+        String refreshToken
+) {
+}
@@ -0,0 +1,28 @@
+package com.s4r.ghorbari.web.dto;
+
+import com.s4r.ghorbari.core.enums.RoleName;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.Set;
+
+public class UserRolesRequest {
+
+    @NotEmpty(message = "At least one role is required")
+    private Set<RoleName> roles;
+
+    public UserRolesRequest() {
+    }
+
+    public UserRolesRequest(Set<RoleName> roles) {
+        this.roles = roles;
+    }
+
+    // Getters and Setters
+    public Set<RoleName> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(Set<RoleName> roles) {
+        this.roles = roles;
+    }
+}
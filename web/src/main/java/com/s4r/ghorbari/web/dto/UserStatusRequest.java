@@ -0,0 +1,25 @@
+package com.s4r.ghorbari.web.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class UserStatusRequest {
+
+    @NotNull(message = "Enabled flag is required")
+    private Boolean enabled;
+
+    public UserStatusRequest() {
+    }
+
+    public UserStatusRequest(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // Getters and Setters
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+}
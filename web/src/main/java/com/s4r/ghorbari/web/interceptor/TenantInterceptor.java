@@ -1,10 +1,10 @@
 package com.s4r.ghorbari.web.interceptor;
 
 import com.s4r.ghorbari.core.context.TenantContext;
-import com.s4r.ghorbari.core.entity.Tenant;
-import com.s4r.ghorbari.core.repository.TenantRepository;
+import com.s4r.ghorbari.core.context.TenantRegistry;
 import com.s4r.ghorbari.web.security.IJwtUtils;
 import com.s4r.ghorbari.web.security.JwtUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.persistence.EntityManager;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -22,12 +22,12 @@ public class TenantInterceptor implements HandlerInterceptor {
 
     private final EntityManager entityManager;
     private final IJwtUtils jwtUtils;
-    private final TenantRepository tenantRepository;
+    private final TenantRegistry tenantRegistry;
 
-    public TenantInterceptor(EntityManager entityManager, IJwtUtils jwtUtils, TenantRepository tenantRepository) {
+    public TenantInterceptor(EntityManager entityManager, IJwtUtils jwtUtils, TenantRegistry tenantRegistry) {
         this.entityManager = entityManager;
         this.jwtUtils = jwtUtils;
-        this.tenantRepository = tenantRepository;
+        this.tenantRegistry = tenantRegistry;
     }
 
     @Override
@@ -63,13 +63,13 @@ public class TenantInterceptor implements HandlerInterceptor {
 
     /**
      * Resolve tenant ID from request
-     * Strategy: Frontend sends X-Tenant-Key header -> lookup tenant in DB -> return tenant ID
+     * Strategy: Frontend sends X-Tenant-Key header -> lookup tenant in TenantRegistry -> return tenant ID
      */
     private Long resolveTenantId(HttpServletRequest request) {
         // Strategy 1: Extract from JWT token (for authenticated requests)
-        String jwt = parseJwt(request);
-        if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-            Long tenantId = jwtUtils.getTenantIdFromJwtToken(jwt);
+        Optional<Claims> claims = resolveClaims(request);
+        if (claims.isPresent()) {
+            Long tenantId = claims.get().get(JwtUtils.TENANT_ID_CLAIM, Long.class);
             if (tenantId != null) {
                 return tenantId;
             }
@@ -78,15 +78,24 @@ public class TenantInterceptor implements HandlerInterceptor {
         // Strategy 2: Extract from X-Tenant-Key header (frontend sends tenant key)
         String tenantKey = request.getHeader("X-Tenant-Key");
         if (tenantKey != null && !tenantKey.isEmpty()) {
-            Optional<Tenant> tenant = tenantRepository.findByTenantKeyAndActiveTrue(tenantKey);
-            if (tenant.isPresent()) {
-                return tenant.get().getId();
-            }
+            return tenantRegistry.findActiveTenantId(tenantKey).orElse(null);
         }
 
         return null;
     }
 
+    /**
+     * Reuse the claims already verified by AuthTokenFilter; only parse the token if the filter did not
+     */
+    private Optional<Claims> resolveClaims(HttpServletRequest request) {
+        if (request.getAttribute(IJwtUtils.CLAIMS_ATTRIBUTE) instanceof Claims claims) {
+            return Optional.of(claims);
+        }
+
+        String jwt = parseJwt(request);
+        return jwt != null ? jwtUtils.parseVerifiedClaims(jwt) : Optional.empty();
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
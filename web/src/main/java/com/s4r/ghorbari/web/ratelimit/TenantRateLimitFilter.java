@@ -0,0 +1,256 @@
+package com.s4r.ghorbari.web.ratelimit;
+
+import com.s4r.ghorbari.core.context.TenantRegistry;
+import com.s4r.ghorbari.core.domain.TenantLimits;
+import com.s4r.ghorbari.web.security.IJwtUtils;
+import com.s4r.ghorbari.web.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-tenant rate limits and concurrency bulkhead, so one tenant cannot exhaust the request threads and the
+ * connection pool for everyone else.
+ * <p>
+ * Requests are classed as reads, writes or reports, and each tenant has a {@link TokenBucket} per class. On top of
+ * that a tenant may only have a bounded number of requests in progress on this node. Over-limit requests are refused
+ * with 429 and Retry-After before they reach a controller. Limits come from the tenant
+ * (see {@link TenantRegistry#findLimits}) and fall back to app.rate-limit.defaults; every check is lock-free.
+ * Requests not attributable to a tenant are not limited here.
+ * <p>
+ * Runs after {@code AuthTokenFilter}, whose verified claims identify the tenant of authenticated requests.
+ * Anonymous requests (including ones with an invalid token) name their tenant in the X-Tenant-Key header, which
+ * anyone can send, so they never draw on the tenant's buckets or bulkhead. They get a bucket per tenant and client
+ * address instead, and buckets that have refilled are dropped periodically.
+ */
+@Component
+public class TenantRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantRateLimitFilter.class);
+
+    private static final String TENANT_KEY_HEADER = "X-Tenant-Key";
+
+    private enum EndpointClass {
+        READ, WRITE, REPORT;
+
+        final String tag = name().toLowerCase();
+    }
+
+    /**
+     * Counters of one tenant; never replaced, so in-flight requests always release what they acquired
+     */
+    private static final class TenantState {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final TokenBucket[] buckets = new TokenBucket[EndpointClass.values().length];
+
+        TenantState() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new TokenBucket();
+            }
+        }
+
+        boolean tryEnter(int maxConcurrent) {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= maxConcurrent) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void exit() {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private record AnonymousClient(Long tenantId, String address) {
+    }
+
+    private final TenantRegistry tenantRegistry;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int defaultReadPerMinute;
+    private final int defaultWritePerMinute;
+    private final int defaultReportPerMinute;
+    private final int defaultMaxConcurrentRequests;
+    private final long burstNanos;
+    private final List<String> reportPaths;
+    private final long anonymousIntervalNanos;
+    private final ConcurrentHashMap<Long, TenantState> tenants = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<AnonymousClient, TokenBucket> anonymousClients = new ConcurrentHashMap<>();
+
+    public TenantRateLimitFilter(TenantRegistry tenantRegistry,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                                 @Value("${app.rate-limit.defaults.read-per-minute:1200}") int defaultReadPerMinute,
+                                 @Value("${app.rate-limit.defaults.write-per-minute:300}") int defaultWritePerMinute,
+                                 @Value("${app.rate-limit.defaults.report-per-minute:30}") int defaultReportPerMinute,
+                                 @Value("${app.rate-limit.defaults.max-concurrent-requests:20}") int defaultMaxConcurrentRequests,
+                                 @Value("${app.rate-limit.burst-seconds:10}") long burstSeconds,
+                                 @Value("${app.rate-limit.report-paths:/api/reports}") List<String> reportPaths,
+                                 @Value("${app.rate-limit.anonymous.per-minute:60}") int anonymousPerMinute) {
+        this.tenantRegistry = tenantRegistry;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.defaultReadPerMinute = defaultReadPerMinute;
+        this.defaultWritePerMinute = defaultWritePerMinute;
+        this.defaultReportPerMinute = defaultReportPerMinute;
+        this.defaultMaxConcurrentRequests = defaultMaxConcurrentRequests;
+        this.burstNanos = TimeUnit.SECONDS.toNanos(burstSeconds);
+        this.reportPaths = reportPaths;
+        this.anonymousIntervalNanos = TimeUnit.MINUTES.toNanos(1) / anonymousPerMinute;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long tenantId = authenticatedTenantId(request);
+        if (tenantId == null) {
+            Long namedTenantId = tenantRegistry.findActiveTenantId(request.getHeader(TENANT_KEY_HEADER)).orElse(null);
+            if (namedTenantId != null) {
+                TokenBucket bucket = anonymousClients.computeIfAbsent(
+                        new AnonymousClient(namedTenantId, request.getRemoteAddr()), client -> new TokenBucket());
+                long waitNanos = bucket.tryAcquire(anonymousIntervalNanos, Math.max(anonymousIntervalNanos, burstNanos));
+                if (waitNanos > 0) {
+                    reject(response, namedTenantId, "anonymous", retryAfterSeconds(waitNanos),
+                            "Request rate limit exceeded, try again later");
+                    return;
+                }
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TenantState state = tenants.computeIfAbsent(tenantId, this::newTenantState);
+        TenantLimits limits = tenantRegistry.findLimits(tenantId);
+        EndpointClass endpointClass = classify(request);
+
+        long intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute(limits, endpointClass);
+        long waitNanos = state.buckets[endpointClass.ordinal()].tryAcquire(intervalNanos,
+                Math.max(intervalNanos, burstNanos));
+        if (waitNanos > 0) {
+            reject(response, tenantId, endpointClass.tag, retryAfterSeconds(waitNanos),
+                    "Request rate limit exceeded, try again later");
+            return;
+        }
+
+        int maxConcurrent = limits != null && limits.maxConcurrentRequests() != null
+                ? limits.maxConcurrentRequests()
+                : defaultMaxConcurrentRequests;
+        if (!state.tryEnter(maxConcurrent)) {
+            reject(response, tenantId, "bulkhead", 1, "Too many requests in progress, try again shortly");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            state.exit();
+        }
+    }
+
+    /**
+     * Drop anonymous buckets that have refilled; a new bucket for the same client starts out identical
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.anonymous.sweep-interval-millis:60000}")
+    void evictIdleAnonymousClients() {
+        anonymousClients.values().removeIf(TokenBucket::isFull);
+    }
+
+    private Long authenticatedTenantId(HttpServletRequest request) {
+        if (request.getAttribute(IJwtUtils.CLAIMS_ATTRIBUTE) instanceof Claims claims) {
+            return claims.get(JwtUtils.TENANT_ID_CLAIM, Long.class);
+        }
+        return null;
+    }
+
+    /**
+     * Rounded up, so a client honouring Retry-After finds a token waiting
+     */
+    private static long retryAfterSeconds(long waitNanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1;
+    }
+
+    private EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String reportPath : reportPaths) {
+            if (path.startsWith(reportPath)) {
+                return EndpointClass.REPORT;
+            }
+        }
+
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> EndpointClass.READ;
+            default -> EndpointClass.WRITE;
+        };
+    }
+
+    private int perMinute(TenantLimits limits, EndpointClass endpointClass) {
+        Integer configured = limits == null ? null : switch (endpointClass) {
+            case READ -> limits.readPerMinute();
+            case WRITE -> limits.writePerMinute();
+            case REPORT -> limits.reportPerMinute();
+        };
+        if (configured != null) {
+            return configured;
+        }
+
+        return switch (endpointClass) {
+            case READ -> defaultReadPerMinute;
+            case WRITE -> defaultWritePerMinute;
+            case REPORT -> defaultReportPerMinute;
+        };
+    }
+
+    private TenantState newTenantState(Long tenantId) {
+        TenantState state = new TenantState();
+        Gauge.builder("http.tenant.requests.in_flight", state.inFlight, AtomicInteger::get)
+                .description("Requests of the tenant in progress on this node")
+                .tag("tenant", tenantId.toString())
+                .register(meterRegistry);
+        return state;
+    }
+
+    private void reject(HttpServletResponse response, Long tenantId, String reason, long retryAfterSeconds,
+                        String message) throws IOException {
+        Counter.builder("http.tenant.requests.rejected")
+                .description("Requests refused by the per-tenant rate limits and bulkhead")
+                .tag("tenant", tenantId.toString())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        logger.debug("Rejected request of tenant {}: {}", tenantId, reason);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"TOO_MANY_REQUESTS\", \"message\": \"" + message + "\"}");
+    }
+}
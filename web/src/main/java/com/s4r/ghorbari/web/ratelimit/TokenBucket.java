@@ -0,0 +1,58 @@
+package com.s4r.ghorbari.web.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket, kept as a single theoretical arrival time (the generic cell rate algorithm).
+ * <p>
+ * Each granted request pushes the arrival time forward by one emission interval; a request is refused while the
+ * arrival time would run more than the burst allowance ahead of the clock. Taking a token is one CAS on a long, with
+ * no lock and no allocation. Rate and burst are passed on every call, so a changed limit applies immediately.
+ */
+final class TokenBucket {
+
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param clock nanosecond time source, {@link System#nanoTime()} outside of tests
+     */
+    TokenBucket(LongSupplier clock) {
+        this.clock = clock;
+        this.theoreticalArrivalNanos = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Take a token if one is available
+     *
+     * @param intervalNanos time between requests at the sustained rate
+     * @param burstNanos how far ahead of the clock the bucket may run, i.e. the burst size times the interval
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+     */
+    long tryAcquire(long intervalNanos, long burstNanos) {
+        while (true) {
+            long now = clock.getAsLong();
+            long arrival = theoreticalArrivalNanos.get();
+            long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+            long waitNanos = next - now - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Whether the bucket has refilled completely, i.e. behaves exactly like a new one
+     */
+    boolean isFull() {
+        return theoreticalArrivalNanos.get() - clock.getAsLong() <= 0;
+    }
+}
@@ -16,12 +16,15 @@ import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.EnumSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Aspect for enforcing role-based access control on service methods
  * Uses Spring AOP (already included with Spring Framework)
+ * <p>
+ * The roles each method requires are resolved into a bitmask on its first call, and principals built at login
+ * carry their own roles as a bitmask, so a check is a map lookup and a single AND.
  */
 @Aspect
 @Component
@@ -29,37 +32,54 @@ public class AccessControlAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(AccessControlAspect.class);
 
-    @Before("@annotation(com.s4r.ghorbari.core.security.RequiresRole)")
-    public void checkRequiredRole(JoinPoint joinPoint) {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
+    private record RequiredRoles(int mask, String message) {
+    }
 
-        RequiresRole annotation = method.getAnnotation(RequiresRole.class);
-        RoleName[] requiredRoles = annotation.value();
-        String errorMessage = annotation.message();
+    private final ConcurrentHashMap<Method, RequiredRoles> requiredRolesByMethod = new ConcurrentHashMap<>();
 
-        Set<String> userRoles = getCurrentUserRoles();
+    @Before("@annotation(com.s4r.ghorbari.core.security.RequiresRole)")
+    public void checkRequiredRole(JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RequiredRoles requiredRoles = requiredRolesByMethod.computeIfAbsent(method, AccessControlAspect::resolve);
 
-        boolean hasAccess = Arrays.stream(requiredRoles)
-                .map(RoleName::name)
-                .anyMatch(userRoles::contains);
+        int userRoles = getCurrentUserRoleMask();
 
-        if (!hasAccess) {
+        if ((requiredRoles.mask() & userRoles) == 0) {
             logger.warn("Access denied for method: {}. Required roles: {}, User roles: {}",
-                    method.getName(), Arrays.toString(requiredRoles), userRoles);
-            throw new ServiceException(ErrorCode.ACCESS_DENIED, errorMessage);
+                    method.getName(), rolesOf(requiredRoles.mask()), rolesOf(userRoles));
+            throw new ServiceException(ErrorCode.ACCESS_DENIED, requiredRoles.message());
         }
     }
 
-    private Set<String> getCurrentUserRoles() {
+    private static RequiredRoles resolve(Method method) {
+        RequiresRole annotation = method.getAnnotation(RequiresRole.class);
+        return new RequiredRoles(RoleName.maskOf(annotation.value()), annotation.message());
+    }
+
+    private int getCurrentUserRoleMask() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new ServiceException(ErrorCode.UNAUTHORIZED, "Authentication required");
         }
 
-        return authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toSet());
+        if (authentication.getPrincipal() instanceof RoleMaskPrincipal principal) {
+            return principal.roleMask();
+        }
+
+        // Authentications not built from our own principal, e.g. in tests
+        int mask = 0;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            mask |= RoleName.maskOfAuthority(authority.getAuthority());
+        }
+        return mask;
+    }
+
+    private static EnumSet<RoleName> rolesOf(int mask) {
+        EnumSet<RoleName> roles = EnumSet.noneOf(RoleName.class);
+        Arrays.stream(RoleName.values())
+                .filter(role -> (mask & role.mask()) != 0)
+                .forEach(roles::add);
+        return roles;
     }
 }
@@ -0,0 +1,94 @@
+package com.s4r.ghorbari.web.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of access tokens revoked before they expire, e.g. on logout.
+ * <p>
+ * Revocations are written to revoked_access_tokens and every node polls that table for rows revoked since its
+ * previous poll, so a request is checked purely in memory: a Bloom filter answers "not revoked" for almost every
+ * token without touching the exact set, which is only consulted on a filter hit. Entries are dropped once the token
+ * they name has expired, and the filter is rebuilt from what is left.
+ */
+@Component
+public class AccessTokenRevocations {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // Rows are picked up again for this long after a poll, covering revocations committed while it ran
+    private static final long POLL_OVERLAP_SECONDS = 30;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO revoked_access_tokens (token_id, expires_at, revoked_at)
+            VALUES (?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (token_id) DO NOTHING
+            """;
+
+    private static final String FIND_REVOKED_SINCE_SQL = """
+            SELECT token_id, expires_at FROM revoked_access_tokens
+            WHERE revoked_at >= ? AND expires_at > CURRENT_TIMESTAMP
+            """;
+
+    private static final String NOW_SQL = "SELECT CURRENT_TIMESTAMP";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int expectedSize;
+    private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private Timestamp pollFrom = new Timestamp(0);
+
+    public AccessTokenRevocations(JdbcTemplate jdbcTemplate,
+                                  @Value("${app.security.revocations.expected-size:100000}") int expectedSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedSize = expectedSize;
+        this.filter = new BloomFilter(expectedSize, FALSE_POSITIVE_RATE);
+    }
+
+    @PostConstruct
+    void load() {
+        poll();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        jdbcTemplate.update(INSERT_SQL, tokenId, Timestamp.from(expiresAt));
+        remember(tokenId, expiresAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocations.poll-interval-millis:2000}")
+    synchronized void poll() {
+        Timestamp polledAt = jdbcTemplate.queryForObject(NOW_SQL, Timestamp.class);
+        jdbcTemplate.query(FIND_REVOKED_SINCE_SQL,
+                rs -> {
+                    remember(rs.getString("token_id"), rs.getTimestamp("expires_at").toInstant());
+                },
+                pollFrom);
+        pollFrom = Timestamp.from(polledAt.toInstant().minusSeconds(POLL_OVERLAP_SECONDS));
+        purgeExpired();
+    }
+
+    private synchronized void remember(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        filter.add(tokenId);
+    }
+
+    private synchronized void purgeExpired() {
+        Instant now = Instant.now();
+        if (revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now))) {
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedSize, revoked.size() * 2), FALSE_POSITIVE_RATE);
+            revoked.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+        }
+    }
+}
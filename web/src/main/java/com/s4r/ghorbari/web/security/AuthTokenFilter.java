@@ -1,6 +1,7 @@
 package com.s4r.ghorbari.web.security;
 
 import com.s4r.ghorbari.core.context.TenantContext;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +18,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class AuthTokenFilter extends OncePerRequestFilter {
@@ -27,31 +30,44 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersions tokenVersions;
+
+    @Autowired
+    private AccessTokenRevocations revocations;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUsernameFromJwtToken(jwt);
-                Long tenantId = jwtUtils.getTenantIdFromJwtToken(jwt);
+            Optional<Claims> verifiedClaims = jwt != null ? jwtUtils.parseVerifiedClaims(jwt) : Optional.empty();
+            if (verifiedClaims.isPresent()) {
+                Claims claims = verifiedClaims.get();
+                // Share the verified claims with later stages (e.g. TenantInterceptor)
+                request.setAttribute(IJwtUtils.CLAIMS_ATTRIBUTE, claims);
+
+                String username = claims.getSubject();
+                Long tenantId = claims.get(JwtUtils.TENANT_ID_CLAIM, Long.class);
 
                 // Set tenant context from JWT
                 if (tenantId != null) {
                     TenantContext.setCurrentTenantId(tenantId);
                 }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UserDetails userDetails = resolvePrincipal(claims, username, tenantId);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e.getMessage());
@@ -60,6 +76,33 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Principal of the token's claims, or null when the token has been revoked, either by id or by a newer
+     * token version
+     */
+    private UserDetails resolvePrincipal(Claims claims, String username, Long tenantId) {
+        if (revocations.isRevoked(claims.getId())) {
+            logger.warn("Rejected revoked token {}", claims.getId());
+            return null;
+        }
+
+        Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+        Integer tokenVersion = claims.get(JwtUtils.TOKEN_VERSION_CLAIM, Integer.class);
+        List<?> roles = claims.get(JwtUtils.ROLES_CLAIM, List.class);
+        if (userId == null || tokenVersion == null || roles == null) {
+            // Issued before roles were embedded in the token
+            return principalCache.getPrincipal(tenantId, username);
+        }
+
+        if (!tokenVersions.isCurrent(userId, tokenVersion)) {
+            logger.warn("Rejected revoked token of user {}", userId);
+            return null;
+        }
+
+        return UserDetailsImpl.fromClaims(userId, username, claims.get(JwtUtils.EMAIL_CLAIM, String.class), tenantId,
+                roles.stream().map(String::valueOf).toList(), tokenVersion);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
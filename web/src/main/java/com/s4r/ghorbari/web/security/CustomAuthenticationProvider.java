@@ -1,5 +1,6 @@
 package com.s4r.ghorbari.web.security;
 
+import com.s4r.ghorbari.core.context.TenantContext;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -8,6 +9,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -15,30 +17,43 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final PasswordEncoder passwordEncoder;
+    private final LoginAttemptGuard loginAttemptGuard;
 
     public CustomAuthenticationProvider(UserDetailsServiceImpl userDetailsService,
-                                       PasswordEncoder passwordEncoder) {
+                                       PasswordEncoder passwordEncoder,
+                                       LoginAttemptGuard loginAttemptGuard) {
         this.userDetailsService = userDetailsService;
         this.passwordEncoder = passwordEncoder;
+        this.loginAttemptGuard = loginAttemptGuard;
     }
 
     @Override
     public Authentication authenticate(Authentication authentication) throws AuthenticationException {
         String email = authentication.getName();
         String password = authentication.getCredentials().toString();
+        Long tenantId = TenantContext.getCurrentTenantId();
+        String clientAddress = authentication.getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress()
+                : null;
+
+        // Refuse locked out accounts and addresses before any database or bcrypt work
+        loginAttemptGuard.checkAllowed(tenantId, email, clientAddress);
 
         // Load user from database
         UserDetails userDetails;
         try {
             userDetails = userDetailsService.loadUserByUsername(email);
         } catch (UsernameNotFoundException e) {
+            loginAttemptGuard.recordFailure(tenantId, email, clientAddress);
             throw new BadCredentialsException("Invalid email or password");
         }
 
-        // Validate password
+        // Validate password (hashed on the bounded pool of BoundedPasswordEncoder)
         if (!passwordEncoder.matches(password, userDetails.getPassword())) {
+            loginAttemptGuard.recordFailure(tenantId, email, clientAddress);
             throw new BadCredentialsException("Invalid email or password");
         }
+        loginAttemptGuard.recordSuccess(tenantId, email);
 
         // Check if account is enabled
         if (!userDetails.isEnabled()) {
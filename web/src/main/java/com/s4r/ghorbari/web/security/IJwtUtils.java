@@ -1,13 +1,33 @@
 package com.s4r.ghorbari.web.security;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.Authentication;
 
+import java.util.Optional;
+
 public interface IJwtUtils {
 
+    /**
+     * Request attribute holding the verified {@link Claims} of the current request's bearer token,
+     * set by {@link AuthTokenFilter} so later stages do not parse the token again.
+     */
+    String CLAIMS_ATTRIBUTE = IJwtUtils.class.getName() + ".CLAIMS";
+
     String generateJwtToken(Authentication authentication, Long tenantId);
 
+    /**
+     * Short-lived access token carrying the principal's roles and token version
+     */
+    String generateAccessToken(UserDetailsImpl userPrincipal, Long tenantId);
+
     String generateTokenFromUserId(Long userId, String username, String email, Long tenantId);
 
+    /**
+     * Verify the token and return its claims, or empty if it is invalid or expired.
+     * Verified tokens are cached until they expire, so repeated calls are cheap.
+     */
+    Optional<Claims> parseVerifiedClaims(String token);
+
     String getUsernameFromJwtToken(String token);
 
     Long getTenantIdFromJwtToken(String token);
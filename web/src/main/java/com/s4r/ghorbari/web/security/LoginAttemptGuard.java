@@ -0,0 +1,93 @@
+package com.s4r.ghorbari.web.security;
+
+import com.s4r.ghorbari.web.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locks out credential stuffing before any password is hashed.
+ * <p>
+ * Failed logins are counted per (tenant, username) and per client address. Once either reaches its threshold
+ * within the window, further attempts for that account or from that address are refused with a 429 for the
+ * lockout period, without loading the user or running bcrypt. A successful login clears the account's count
+ * but not the address's, so one valid account cannot be used to reset an address spraying others.
+ * Counters live in memory, so each node enforces its own limits.
+ */
+@Component
+public class LoginAttemptGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptGuard.class);
+
+    private record AccountKey(Long tenantId, String username) {
+    }
+
+    private final StripedFailureCounters accountFailures;
+    private final StripedFailureCounters addressFailures;
+    private final Counter accountLockedRejections;
+    private final Counter addressLockedRejections;
+
+    public LoginAttemptGuard(MeterRegistry meterRegistry,
+                             @Value("${app.security.login-attempts.stripes:64}") int stripes,
+                             @Value("${app.security.login-attempts.max-tracked-keys:100000}") int maxTrackedKeys,
+                             @Value("${app.security.login-attempts.account-threshold:5}") int accountThreshold,
+                             @Value("${app.security.login-attempts.address-threshold:50}") int addressThreshold,
+                             @Value("${app.security.login-attempts.window-seconds:900}") long windowSeconds,
+                             @Value("${app.security.login-attempts.lockout-seconds:900}") long lockoutSeconds) {
+        long windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        long lockoutNanos = TimeUnit.SECONDS.toNanos(lockoutSeconds);
+        this.accountFailures = new StripedFailureCounters(stripes, maxTrackedKeys, accountThreshold,
+                windowNanos, lockoutNanos);
+        this.addressFailures = new StripedFailureCounters(stripes, maxTrackedKeys, addressThreshold,
+                windowNanos, lockoutNanos);
+        this.accountLockedRejections = Counter.builder("auth.login.rejected")
+                .description("Login attempts refused by a lockout before the password was checked")
+                .tag("reason", "account-locked")
+                .register(meterRegistry);
+        this.addressLockedRejections = Counter.builder("auth.login.rejected")
+                .description("Login attempts refused by a lockout before the password was checked")
+                .tag("reason", "address-locked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Throw {@link TooManyRequestsException} if the account or the address is locked out
+     */
+    public void checkAllowed(Long tenantId, String username, String clientAddress) {
+        long addressLockedFor = clientAddress == null ? 0 : addressFailures.lockedForNanos(clientAddress);
+        if (addressLockedFor > 0) {
+            addressLockedRejections.increment();
+            throw lockedOut(addressLockedFor);
+        }
+
+        long accountLockedFor = accountFailures.lockedForNanos(new AccountKey(tenantId, username));
+        if (accountLockedFor > 0) {
+            accountLockedRejections.increment();
+            throw lockedOut(accountLockedFor);
+        }
+    }
+
+    public void recordFailure(Long tenantId, String username, String clientAddress) {
+        if (accountFailures.recordFailure(new AccountKey(tenantId, username)) > 0) {
+            logger.warn("Locked out logins for user {} of tenant {}", username, tenantId);
+        }
+        if (clientAddress != null && addressFailures.recordFailure(clientAddress) > 0) {
+            logger.warn("Locked out logins from address {}", clientAddress);
+        }
+    }
+
+    public void recordSuccess(Long tenantId, String username) {
+        accountFailures.reset(new AccountKey(tenantId, username));
+    }
+
+    private static TooManyRequestsException lockedOut(long lockedForNanos) {
+        long retryAfterSeconds = Math.max(1, Duration.ofNanos(lockedForNanos).toSeconds());
+        return new TooManyRequestsException("Too many failed login attempts, try again later", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,57 @@
+package com.s4r.ghorbari.web.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.s4r.ghorbari.core.event.UserSecurityChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Tenant-scoped cache of authenticated principals, so that authenticating a request with a valid
+ * token does not reload the user and its roles from the database every time.
+ * Entries are bounded by size and TTL and are dropped as soon as a user's roles, password or
+ * enabled flag change (see {@link UserSecurityChangedEvent}).
+ * Only tokens issued without role claims still go through this cache; newer tokens carry their principal.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<PrincipalKey, UserDetails> principals;
+
+    public PrincipalCache(UserDetailsServiceImpl userDetailsService,
+                          @Value("${app.security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${app.security.principal-cache.max-size:10000}") long maxSize) {
+        this.userDetailsService = userDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public UserDetails getPrincipal(Long tenantId, String username) {
+        if (tenantId == null) {
+            // Tokens without a tenant cannot be scoped safely, always go to the database
+            return userDetailsService.loadUserByUsername(username);
+        }
+
+        return principals.get(new PrincipalKey(tenantId, username),
+                key -> userDetailsService.loadUserByUsernameAndTenantId(key.username(), key.tenantId()));
+    }
+
+    public void invalidate(Long tenantId, String username) {
+        principals.invalidate(new PrincipalKey(tenantId, username));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        invalidate(event.tenantId(), event.username());
+    }
+
+    private record PrincipalKey(Long tenantId, String username) {
+    }
+}
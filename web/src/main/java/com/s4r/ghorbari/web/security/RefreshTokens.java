@@ -0,0 +1,156 @@
+package com.s4r.ghorbari.web.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Opaque, single-use refresh tokens. Only the SHA-256 hash of a token is stored, so the table cannot be used to
+ * mint sessions. Each token belongs to a family started at login; redeeming it marks it used and issues the next
+ * token of the family. A token presented a second time means it was copied, so the whole family is revoked and
+ * both holders have to log in again.
+ */
+@Component
+public class RefreshTokens {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokens.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO refresh_tokens (tenant_id, user_id, family_id, token_hash, expires_at, created_at)
+            VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            """;
+
+    private static final String FIND_FOR_UPDATE_SQL = """
+            SELECT id, user_id, family_id, used_at IS NOT NULL AS used,
+                   revoked_at IS NULL AND expires_at > CURRENT_TIMESTAMP AS active
+            FROM refresh_tokens
+            WHERE token_hash = ? AND tenant_id = ?
+            FOR UPDATE
+            """;
+
+    private static final String MARK_USED_SQL = "UPDATE refresh_tokens SET used_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private static final String REVOKE_FAMILY_SQL = """
+            UPDATE refresh_tokens SET revoked_at = CURRENT_TIMESTAMP
+            WHERE family_id = ? AND revoked_at IS NULL
+            """;
+
+    private static final String REVOKE_FAMILY_OF_TOKEN_SQL = """
+            UPDATE refresh_tokens SET revoked_at = CURRENT_TIMESTAMP
+            WHERE family_id = (SELECT family_id FROM refresh_tokens WHERE token_hash = ? AND tenant_id = ?)
+              AND revoked_at IS NULL
+            """;
+
+    private static final String REVOKE_USER_SQL = """
+            UPDATE refresh_tokens SET revoked_at = CURRENT_TIMESTAMP
+            WHERE user_id = ? AND tenant_id = ? AND revoked_at IS NULL
+            """;
+
+    /**
+     * Outcome of redeeming a refresh token: the user to issue an access token for and the token replacing it
+     */
+    public record Rotation(Long userId, Long tenantId, String refreshToken) {
+    }
+
+    private record StoredToken(long id, long userId, String familyId, boolean used, boolean active) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration expiration;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokens(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${jwt.refresh-expiration:2592000000}") long refreshExpirationMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiration = Duration.ofMillis(refreshExpirationMillis);
+    }
+
+    /**
+     * Start a new token family for a login and return its first token
+     */
+    public String issue(Long userId, Long tenantId) {
+        return insert(userId, tenantId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Redeem a token and issue its successor, or return empty if the token is unknown, expired, revoked
+     * or already used
+     */
+    public Optional<Rotation> rotate(String refreshToken, Long tenantId) {
+        return transactionTemplate.execute(status -> {
+            List<StoredToken> rows = jdbcTemplate.query(FIND_FOR_UPDATE_SQL,
+                    (rs, rowNum) -> new StoredToken(rs.getLong("id"), rs.getLong("user_id"),
+                            rs.getString("family_id"), rs.getBoolean("used"), rs.getBoolean("active")),
+                    hash(refreshToken), tenantId);
+            if (rows.isEmpty() || !rows.get(0).active()) {
+                return Optional.empty();
+            }
+
+            StoredToken stored = rows.get(0);
+            if (stored.used()) {
+                logger.warn("Refresh token of user {} was reused, revoking its family", stored.userId());
+                jdbcTemplate.update(REVOKE_FAMILY_SQL, stored.familyId());
+                return Optional.empty();
+            }
+
+            jdbcTemplate.update(MARK_USED_SQL, stored.id());
+            String next = insert(stored.userId(), tenantId, stored.familyId());
+            return Optional.of(new Rotation(stored.userId(), tenantId, next));
+        });
+    }
+
+    /**
+     * Revoke the family of a token, e.g. on logout; unknown tokens are ignored
+     */
+    public void revoke(String refreshToken, Long tenantId) {
+        jdbcTemplate.update(REVOKE_FAMILY_OF_TOKEN_SQL, hash(refreshToken), tenantId);
+    }
+
+    /**
+     * Revoke every token of a user, e.g. after a password change or when the account is disabled
+     */
+    public void revokeAllForUser(Long userId, Long tenantId) {
+        jdbcTemplate.update(REVOKE_USER_SQL, userId, tenantId);
+    }
+
+    private String insert(Long userId, Long tenantId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        jdbcTemplate.update(INSERT_SQL, tenantId, userId, familyId, hash(token),
+                Timestamp.from(Instant.now().plus(expiration)));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.s4r.ghorbari.web.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Failure counts per key over a fixed window, with a lockout once a key reaches the threshold.
+ * <p>
+ * Keys are spread over independently locked stripes, so concurrent logins for different keys rarely contend and
+ * a check is a hash lookup under one small lock. Each stripe holds a bounded number of keys; when a stripe is full
+ * its expired entries are dropped, and if none have expired a new key is not tracked until space frees up.
+ */
+final class StripedFailureCounters {
+
+    private static final class Entry {
+        int failures;
+        long windowStartNanos;
+        boolean locked;
+        long lockedUntilNanos;
+
+        long lockedForNanos(long now) {
+            return locked ? Math.max(0, lockedUntilNanos - now) : 0;
+        }
+    }
+
+    private final LongSupplier clock;
+    private final Map<Object, Entry>[] stripes;
+    private final int threshold;
+    private final long windowNanos;
+    private final long lockoutNanos;
+    private final int maxKeysPerStripe;
+
+    StripedFailureCounters(int stripeCount, int maxKeys, int threshold, long windowNanos, long lockoutNanos) {
+        this(stripeCount, maxKeys, threshold, windowNanos, lockoutNanos, System::nanoTime);
+    }
+
+    /**
+     * @param clock nanosecond time source, {@link System#nanoTime()} outside of tests
+     */
+    @SuppressWarnings("unchecked")
+    StripedFailureCounters(int stripeCount, int maxKeys, int threshold, long windowNanos, long lockoutNanos,
+                           LongSupplier clock) {
+        this.clock = clock;
+        // Rounded up to a power of two so a stripe is picked with a mask
+        int count = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Map[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new HashMap<>();
+        }
+        this.threshold = threshold;
+        this.windowNanos = windowNanos;
+        this.lockoutNanos = lockoutNanos;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / count);
+    }
+
+    /**
+     * Nanoseconds the key is still locked out for, or 0
+     */
+    long lockedForNanos(Object key) {
+        Map<Object, Entry> stripe = stripeOf(key);
+        synchronized (stripe) {
+            Entry entry = stripe.get(key);
+            return entry == null ? 0 : entry.lockedForNanos(clock.getAsLong());
+        }
+    }
+
+    /**
+     * Count a failure and return the lockout it triggered in nanoseconds, or 0 while below the threshold
+     */
+    long recordFailure(Object key) {
+        Map<Object, Entry> stripe = stripeOf(key);
+        long now = clock.getAsLong();
+        synchronized (stripe) {
+            Entry entry = stripe.get(key);
+            if (entry == null) {
+                if (stripe.size() >= maxKeysPerStripe) {
+                    stripe.values().removeIf(existing -> isExpired(existing, now));
+                    if (stripe.size() >= maxKeysPerStripe) {
+                        return 0;
+                    }
+                }
+                entry = new Entry();
+                entry.windowStartNanos = now;
+                stripe.put(key, entry);
+            } else if (now - entry.windowStartNanos > windowNanos) {
+                entry.failures = 0;
+                entry.windowStartNanos = now;
+            }
+
+            if (++entry.failures >= threshold) {
+                entry.failures = 0;
+                entry.windowStartNanos = now;
+                entry.locked = true;
+                entry.lockedUntilNanos = now + lockoutNanos;
+                return lockoutNanos;
+            }
+            return 0;
+        }
+    }
+
+    void reset(Object key) {
+        Map<Object, Entry> stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.windowStartNanos > windowNanos && entry.lockedForNanos(now) == 0;
+    }
+
+    private Map<Object, Entry> stripeOf(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,65 @@
+package com.s4r.ghorbari.web.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.s4r.ghorbari.core.event.UserSecurityChangedEvent;
+import com.s4r.ghorbari.core.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Current token version per user, used to reject access tokens issued before a role, password or enabled change.
+ * <p>
+ * Changes made on this node replace the cached version as soon as they commit (see {@link UserSecurityChangedEvent}).
+ * Entries are re-read from the users table after the refresh interval, which bounds how long a change made on
+ * another node can go unnoticed here. Between refreshes a request costs a map lookup and no query.
+ * <p>
+ * The lookup runs in a read-write transaction so it always reads the primary; a lagging read replica would
+ * stretch that window by its lag.
+ */
+@Component
+public class TokenVersions {
+
+    /**
+     * Cached for users that do not exist, so tokens of a deleted user cost no query until the entry expires
+     */
+    private static final int UNKNOWN_USER = -1;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate primaryRead;
+    private final Cache<Long, Integer> currentVersions;
+
+    public TokenVersions(UserRepository userRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.security.token-versions.refresh-seconds:60}") long refreshSeconds,
+                         @Value("${app.security.token-versions.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.currentVersions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .build();
+    }
+
+    /**
+     * True when a token carrying {@code tokenVersion} is still valid for the user, false if it was revoked
+     * or the user no longer exists
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        int current = currentVersions.get(userId, id -> primaryRead.execute(
+                status -> userRepository.findTokenVersionById(id).orElse(UNKNOWN_USER)));
+        return current != UNKNOWN_USER && tokenVersion >= current;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        currentVersions.asMap().merge(event.userId(), event.tokenVersion(), Math::max);
+    }
+}
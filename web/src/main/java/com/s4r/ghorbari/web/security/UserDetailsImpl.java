@@ -1,16 +1,21 @@
 package com.s4r.ghorbari.web.security;
 
+import com.s4r.ghorbari.core.entity.Role;
 import com.s4r.ghorbari.core.entity.User;
+import com.s4r.ghorbari.core.enums.RoleName;
+import com.s4r.ghorbari.core.security.RoleMaskPrincipal;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public record UserDetailsImpl(Long id, String username, String email, String password, Long tenantId,
-                              Collection<? extends GrantedAuthority> authorities,
-                              boolean enabled) implements UserDetails {
+                              Collection<? extends GrantedAuthority> authorities, int roleMask,
+                              int tokenVersion, boolean enabled) implements UserDetails, RoleMaskPrincipal {
 
     public static UserDetailsImpl build(User user) {
         Collection<GrantedAuthority> authorities = user.getRoles().stream()
@@ -24,10 +29,28 @@ public record UserDetailsImpl(Long id, String username, String email, String pas
                 user.getPassword(),
                 user.getTenantId(),
                 authorities,
+                RoleName.maskOf(user.getRoles().stream().map(Role::getName).toArray(RoleName[]::new)),
+                user.getTokenVersion(),
                 user.getEnabled()
         );
     }
 
+    /**
+     * Principal of a verified access token, built from its claims without loading the user.
+     * Disabling a user bumps their token version, so a token that passed the version check belongs to an enabled user.
+     */
+    public static UserDetailsImpl fromClaims(Long id, String username, String email, Long tenantId,
+                                             Collection<String> roleNames, int tokenVersion) {
+        List<GrantedAuthority> authorities = new ArrayList<>(roleNames.size());
+        int roleMask = 0;
+        for (String roleName : roleNames) {
+            authorities.add(new SimpleGrantedAuthority(roleName));
+            roleMask |= RoleName.maskOfAuthority(roleName);
+        }
+
+        return new UserDetailsImpl(id, username, email, null, tenantId, authorities, roleMask, tokenVersion, true);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
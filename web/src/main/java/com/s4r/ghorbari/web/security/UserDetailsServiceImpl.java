@@ -35,6 +35,15 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return UserDetailsImpl.build(user);
     }
 
+    @Transactional
+    public UserDetailsImpl loadUserByIdAndTenantId(Long id, Long tenantId) throws UsernameNotFoundException {
+        User user = userRepository.findByIdAndTenantId(id, tenantId)
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "User not found with id: " + id + " and tenantId: " + tenantId));
+
+        return UserDetailsImpl.build(user);
+    }
+
     @Transactional
     public UserDetails loadUserByEmailAndTenantId(String email, Long tenantId) throws UsernameNotFoundException {
         User user = userRepository.findByEmailAndTenantId(email, tenantId)
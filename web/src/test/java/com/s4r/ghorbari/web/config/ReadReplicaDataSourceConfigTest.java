@@ -0,0 +1,173 @@
+package com.s4r.ghorbari.web.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the replica routing against two databases, each holding a marker row naming it, behind JPA transactions
+ * set up the way Spring Boot sets them up for the application.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class ReadReplicaDataSourceConfigTest {
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    private static HikariDataSource primary;
+    private static HikariDataSource replica;
+    private static DataSource routing;
+    private static AnnotationConfigApplicationContext context;
+    private static MarkerReader reader;
+
+    @BeforeAll
+    public static void setUp() {
+        new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword())).execute("CREATE DATABASE replica");
+        String replicaUrl = "jdbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getMappedPort(5432) + "/replica";
+
+        ReadReplicaDataSourceConfig config = new ReadReplicaDataSourceConfig();
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(postgres.getJdbcUrl());
+        properties.setUsername(postgres.getUsername());
+        properties.setPassword(postgres.getPassword());
+        primary = config.primaryDataSource(properties);
+        replica = config.replicaDataSource();
+        replica.setJdbcUrl(replicaUrl);
+        replica.setUsername(postgres.getUsername());
+        replica.setPassword(postgres.getPassword());
+        routing = config.dataSource(primary, replica);
+
+        createMarker(primary, "primary");
+        createMarker(replica, "replica");
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean("dataSource", DataSource.class, () -> routing);
+        context.register(JpaConfig.class, MarkerReader.class);
+        context.refresh();
+        reader = context.getBean(MarkerReader.class);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        if (primary != null) {
+            primary.close();
+        }
+        if (replica != null) {
+            replica.close();
+        }
+    }
+
+    @Test
+    public void readOnlyTransactionsReadTheReplica() {
+        assertEquals("replica", reader.readOnly());
+    }
+
+    @Test
+    public void readWriteTransactionsUseThePrimary() {
+        assertEquals("primary", reader.readWrite());
+    }
+
+    @Test
+    public void writesGoToThePrimary() {
+        String value = UUID.randomUUID().toString();
+
+        reader.write(value);
+
+        assertEquals(1, countWrites(primary, value));
+        assertEquals(0, countWrites(replica, value));
+    }
+
+    @Test
+    public void statementsOutsideATransactionUseThePrimary() {
+        assertEquals("primary", new JdbcTemplate(routing).queryForObject("SELECT source FROM marker", String.class));
+    }
+
+    private static void createMarker(DataSource dataSource, String source) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE marker (source VARCHAR(20) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE writes (value VARCHAR(36) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO marker (source) VALUES (?)", source);
+    }
+
+    private static int countWrites(DataSource dataSource, String value) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM writes WHERE value = ?",
+                Integer.class, value);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class JpaConfig {
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setPackagesToScan(ReadReplicaDataSourceConfigTest.class.getPackageName() + ".noentities");
+            // What the application runs with; the routing relies on the connection being held and marked read-only
+            factory.getJpaPropertyMap().put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_HOLD");
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+
+    static class MarkerReader {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Transactional(readOnly = true)
+        public String readOnly() {
+            return source();
+        }
+
+        @Transactional
+        public String readWrite() {
+            return source();
+        }
+
+        @Transactional
+        public void write(String value) {
+            entityManager.createNativeQuery("INSERT INTO writes (value) VALUES (?1)")
+                    .setParameter(1, value)
+                    .executeUpdate();
+        }
+
+        private String source() {
+            return (String) entityManager.createNativeQuery("SELECT source FROM marker").getSingleResult();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.s4r.ghorbari.web.ratelimit;
+
+import com.s4r.ghorbari.core.context.TenantRegistry;
+import com.s4r.ghorbari.core.domain.TenantLimits;
+import com.s4r.ghorbari.web.security.IJwtUtils;
+import com.s4r.ghorbari.web.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TenantRateLimitFilterTest {
+
+    private static final Long TENANT_ID = 7L;
+
+    private final TenantRegistry tenantRegistry = mock(TenantRegistry.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TenantRateLimitFilter filter = new TenantRateLimitFilter(tenantRegistry, meterRegistry, true,
+            1200, 1, 30, 1, 10, List.of("/api/reports"), 1);
+
+    @BeforeEach
+    public void setUp() {
+        when(tenantRegistry.findActiveTenantId("acme")).thenReturn(Optional.of(TENANT_ID));
+        when(tenantRegistry.findLimits(TENANT_ID)).thenReturn(new TenantLimits(null, null, null, null));
+    }
+
+    @Test
+    public void requestOverTheRateIsRefusedWithRetryAfter() throws Exception {
+        MockHttpServletResponse first = send("POST", (request, response) -> { });
+        MockHttpServletResponse second = send("POST", (request, response) -> { });
+
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        // One write per minute, so the burst holds a single token and the next one is just under a minute away
+        assertEquals("60", second.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("http.tenant.requests.rejected").tag("reason", "write").counter().count());
+    }
+
+    @Test
+    public void requestClassesHaveTheirOwnBuckets() throws Exception {
+        send("POST", (request, response) -> { });
+
+        assertEquals(200, send("GET", (request, response) -> { }).getStatus());
+    }
+
+    @Test
+    public void tenantLimitsOverrideTheDefaults() throws Exception {
+        when(tenantRegistry.findLimits(TENANT_ID)).thenReturn(new TenantLimits(1, null, null, null));
+
+        assertEquals(200, send("GET", (request, response) -> { }).getStatus());
+        assertEquals(429, send("GET", (request, response) -> { }).getStatus());
+    }
+
+    @Test
+    public void bulkheadRefusesRequestsBeyondTheConcurrencyLimit() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        MockHttpServletResponse outer = send("GET",
+                (request, response) -> nested[0] = send("GET", (innerRequest, innerResponse) -> { }));
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(429, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("http.tenant.requests.rejected").tag("reason", "bulkhead").counter().count());
+    }
+
+    @Test
+    public void bulkheadIsReleasedWhenTheRequestThrows() throws Exception {
+        assertThrows(IllegalStateException.class, () -> send("GET", (request, response) -> {
+            throw new IllegalStateException("controller failed");
+        }));
+
+        AtomicInteger reached = new AtomicInteger();
+        MockHttpServletResponse next = send("GET", (request, response) -> reached.incrementAndGet());
+
+        assertEquals(200, next.getStatus());
+        assertEquals(1, reached.get());
+        assertEquals(0.0, meterRegistry.get("http.tenant.requests.in_flight").gauge().value());
+    }
+
+    @Test
+    public void anonymousRequestsDoNotSpendTheTenantsBudget() throws Exception {
+        assertEquals(200, sendAnonymous("POST", "10.0.0.1").getStatus());
+        MockHttpServletResponse refused = sendAnonymous("POST", "10.0.0.1");
+
+        assertEquals(429, refused.getStatus());
+        assertEquals("60", refused.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("http.tenant.requests.rejected").tag("reason", "anonymous").counter().count());
+        assertEquals(200, send("POST", (request, response) -> { }).getStatus());
+    }
+
+    @Test
+    public void anonymousClientsHaveTheirOwnBuckets() throws Exception {
+        assertEquals(200, sendAnonymous("GET", "10.0.0.1").getStatus());
+
+        assertEquals(200, sendAnonymous("GET", "10.0.0.2").getStatus());
+        assertEquals(429, sendAnonymous("GET", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    public void anonymousRequestsDoNotEnterTheTenantsBulkhead() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+
+        send("GET", (request, response) -> nested[0] = sendAnonymous("GET", "10.0.0.1"));
+
+        assertEquals(200, nested[0].getStatus());
+    }
+
+    @Test
+    public void evictionKeepsBucketsThatHaveNotRefilled() throws Exception {
+        sendAnonymous("GET", "10.0.0.1");
+
+        filter.evictIdleAnonymousClients();
+
+        assertEquals(429, sendAnonymous("GET", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    public void requestsWithoutATenantAreNotLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/things");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, (req, res) -> { });
+
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        }
+    }
+
+    private MockHttpServletResponse send(String method, FilterChain chain) throws ServletException, IOException {
+        Claims claims = mock(Claims.class);
+        when(claims.get(JwtUtils.TENANT_ID_CLAIM, Long.class)).thenReturn(TENANT_ID);
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/things");
+        request.setAttribute(IJwtUtils.CLAIMS_ATTRIBUTE, claims);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse sendAnonymous(String method, String remoteAddress)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/things");
+        request.addHeader("X-Tenant-Key", "acme");
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> { });
+        return response;
+    }
+}
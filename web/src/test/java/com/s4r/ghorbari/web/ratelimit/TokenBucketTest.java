@@ -0,0 +1,95 @@
+package com.s4r.ghorbari.web.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTest {
+
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final long BURST = 3 * INTERVAL;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final TokenBucket bucket = new TokenBucket(clock::get);
+
+    @Test
+    public void burstIsGrantedThenRefused() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(INTERVAL, BURST), "request " + i + " of the burst");
+        }
+
+        assertEquals(INTERVAL, bucket.tryAcquire(INTERVAL, BURST));
+    }
+
+    @Test
+    public void refusedRequestsDoNotTakeTokens() {
+        drain();
+
+        assertEquals(INTERVAL, bucket.tryAcquire(INTERVAL, BURST));
+        assertEquals(INTERVAL, bucket.tryAcquire(INTERVAL, BURST));
+    }
+
+    @Test
+    public void waitShrinksAsTheClockAdvances() {
+        drain();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(600), bucket.tryAcquire(INTERVAL, BURST));
+    }
+
+    @Test
+    public void oneTokenRefillsPerInterval() {
+        drain();
+
+        clock.addAndGet(INTERVAL);
+        assertEquals(0, bucket.tryAcquire(INTERVAL, BURST));
+        assertEquals(INTERVAL, bucket.tryAcquire(INTERVAL, BURST));
+    }
+
+    @Test
+    public void idleBucketRefillsOnlyUpToTheBurst() {
+        drain();
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(INTERVAL, BURST), "request " + i + " after idling");
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(INTERVAL, BURST));
+    }
+
+    @Test
+    public void changedRateAppliesToTheNextRequest() {
+        drain();
+
+        clock.addAndGet(INTERVAL);
+        // Half the interval at the same burst window leaves room for more requests
+        assertEquals(0, bucket.tryAcquire(INTERVAL / 2, BURST));
+        assertEquals(0, bucket.tryAcquire(INTERVAL / 2, BURST));
+    }
+
+    @Test
+    public void bucketIsFullOnlyOnceEveryTokenHasRefilled() {
+        assertTrue(bucket.isFull());
+
+        bucket.tryAcquire(INTERVAL, BURST);
+        assertFalse(bucket.isFull());
+
+        clock.addAndGet(INTERVAL - 1);
+        assertFalse(bucket.isFull());
+        clock.addAndGet(1);
+        assertTrue(bucket.isFull());
+    }
+
+    private void drain() {
+        while (bucket.tryAcquire(INTERVAL, BURST) == 0) {
+            // take the whole burst
+        }
+    }
+}
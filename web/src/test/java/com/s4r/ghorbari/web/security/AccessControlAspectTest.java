@@ -0,0 +1,107 @@
+package com.s4r.ghorbari.core.security;
+
+import com.s4r.ghorbari.core.enums.RoleName;
+import com.s4r.ghorbari.core.exception.ErrorCode;
+import com.s4r.ghorbari.core.exception.ServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AccessControlAspectTest {
+
+    /**
+     * Stand-in for a service, advised the way Spring advises the real ones
+     */
+    public static class GuardedService {
+
+        @RequiresRole({RoleName.ROLE_TENANT_ADMIN, RoleName.ROLE_MANAGER})
+        public String manage() {
+            return "managed";
+        }
+
+        @RequiresRole(value = RoleName.ROLE_SUPER_ADMIN, message = "Platform administrators only")
+        public String administer() {
+            return "administered";
+        }
+
+        public String browse() {
+            return "browsed";
+        }
+    }
+
+    private final GuardedService service = advised(new GuardedService());
+
+    @AfterEach
+    public void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void callerWithOneOfTheRequiredRolesIsAllowed() {
+        authenticateWithMask(RoleName.maskOf(RoleName.ROLE_MANAGER));
+
+        assertEquals("managed", service.manage());
+    }
+
+    @Test
+    public void callerWithoutTheRequiredRolesIsDenied() {
+        authenticateWithMask(RoleName.maskOf(RoleName.ROLE_MANAGER, RoleName.ROLE_RESIDENT));
+
+        ServiceException denied = assertThrows(ServiceException.class, service::administer);
+
+        assertEquals(ErrorCode.ACCESS_DENIED, denied.getErrorCode());
+        assertArrayEquals(new Object[]{"Platform administrators only"}, denied.getMessageArgs());
+    }
+
+    @Test
+    public void callerWithoutRolesIsDenied() {
+        authenticateWithMask(0);
+
+        ServiceException denied = assertThrows(ServiceException.class, service::manage);
+
+        assertEquals(ErrorCode.ACCESS_DENIED, denied.getErrorCode());
+    }
+
+    @Test
+    public void rolesComeFromTheAuthoritiesWhenThePrincipalCarriesNoMask() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("someone", null,
+                List.of(new SimpleGrantedAuthority("ROLE_TENANT_ADMIN"), new SimpleGrantedAuthority("SCOPE_read"))));
+
+        assertEquals("managed", service.manage());
+        assertThrows(ServiceException.class, service::administer);
+    }
+
+    @Test
+    public void unauthenticatedCallerIsRefused() {
+        ServiceException refused = assertThrows(ServiceException.class, service::manage);
+
+        assertEquals(ErrorCode.UNAUTHORIZED, refused.getErrorCode());
+    }
+
+    @Test
+    public void methodsWithoutTheAnnotationAreNotChecked() {
+        assertEquals("browsed", service.browse());
+    }
+
+    private static void authenticateWithMask(int roleMask) {
+        RoleMaskPrincipal principal = () -> roleMask;
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static <T> T advised(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new AccessControlAspect());
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,86 @@
+package com.s4r.ghorbari.web.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AccessTokenRevocationsTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private AccessTokenRevocations revocations;
+
+    @BeforeEach
+    public void setUp() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Timestamp.class)))
+                .thenAnswer(invocation -> Timestamp.from(Instant.now()));
+        revocations = new AccessTokenRevocations(jdbcTemplate, 1_000);
+    }
+
+    @Test
+    public void revokedTokenIsRecordedAndRejected() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        revocations.revoke("jti-1", expiresAt);
+
+        assertTrue(revocations.isRevoked("jti-1"));
+        assertFalse(revocations.isRevoked("jti-2"));
+        assertFalse(revocations.isRevoked(null));
+        verify(jdbcTemplate).update(contains("INSERT INTO revoked_access_tokens"), eq("jti-1"),
+                eq(Timestamp.from(expiresAt)));
+    }
+
+    @Test
+    public void pollPicksUpRevocationsFromOtherNodes() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("token_id")).thenReturn("jti-remote");
+        when(row.getTimestamp("expires_at")).thenReturn(Timestamp.from(Instant.now().plusSeconds(600)));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(contains("FROM revoked_access_tokens"), any(RowCallbackHandler.class),
+                any(Timestamp.class));
+
+        revocations.poll();
+
+        assertTrue(revocations.isRevoked("jti-remote"));
+    }
+
+    @Test
+    public void purgeDropsExpiredTokensAndRebuildsTheFilterFromTheRest() {
+        revocations.revoke("jti-expired", Instant.now().minusSeconds(1));
+        revocations.revoke("jti-live", Instant.now().plusSeconds(600));
+        assertTrue(revocations.isRevoked("jti-expired"));
+
+        revocations.poll();
+
+        assertFalse(revocations.isRevoked("jti-expired"));
+        // Only found if the rebuilt filter was filled from the remaining entries
+        assertTrue(revocations.isRevoked("jti-live"));
+    }
+
+    @Test
+    public void tokensRevokedAfterARebuildAreFound() {
+        revocations.revoke("jti-expired", Instant.now().minusSeconds(1));
+        revocations.poll();
+
+        revocations.revoke("jti-new", Instant.now().plusSeconds(600));
+
+        assertTrue(revocations.isRevoked("jti-new"));
+    }
+}
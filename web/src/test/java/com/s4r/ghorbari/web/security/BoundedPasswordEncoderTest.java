@@ -0,0 +1,112 @@
+package com.s4r.ghorbari.web.security;
+
+import com.s4r.ghorbari.web.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BoundedPasswordEncoderTest {
+
+    /**
+     * Encoder whose hashing waits until released, standing in for a slow bcrypt
+     */
+    private static final class BlockingEncoder implements PasswordEncoder {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    private final BlockingEncoder delegate = new BlockingEncoder();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    public void tearDown() {
+        delegate.release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    public void hashesOnThePoolAndReturnsTheResult() {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        delegate.release.countDown();
+
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "match").timer().count());
+    }
+
+    @Test
+    public void requestIsShedWhenThreadAndQueueAreTaken() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(30), meterRegistry);
+
+        Future<String> running = callers.submit(() -> encoder.encode("first"));
+        assertTrue(delegate.started.await(5, TimeUnit.SECONDS));
+        Future<String> queued = callers.submit(() -> encoder.encode("second"));
+        awaitQueued(1);
+
+        ServiceUnavailableException rejected = assertThrows(ServiceUnavailableException.class,
+                () -> encoder.encode("third"));
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.rejected").tag("reason", "queue-full").counter().count());
+
+        delegate.release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void requestIsShedAfterWaitingTooLong() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMillis(100), meterRegistry);
+
+        long startedAt = System.nanoTime();
+        ServiceUnavailableException rejected = assertThrows(ServiceUnavailableException.class,
+                () -> encoder.encode("slow"));
+
+        assertTrue(System.nanoTime() - startedAt >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hash.queued").gauge().value() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Hashing request was not queued");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.s4r.ghorbari.web.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RefreshTokensTest {
+
+    private static final Long TENANT_ID = 1L;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final RefreshTokens refreshTokens = new RefreshTokens(jdbcTemplate, mock(PlatformTransactionManager.class),
+            60_000);
+
+    @Test
+    public void unusedTokenIsRotatedWithinItsFamily() throws Exception {
+        storedToken(false, true);
+
+        Optional<RefreshTokens.Rotation> rotation = refreshTokens.rotate("presented", TENANT_ID);
+
+        assertTrue(rotation.isPresent());
+        assertEquals(42L, rotation.get().userId());
+        assertNotEquals("presented", rotation.get().refreshToken());
+        verify(jdbcTemplate).update(contains("SET used_at"), eq(5L));
+        verify(jdbcTemplate).update(contains("INSERT INTO refresh_tokens"), eq(TENANT_ID), eq(42L), eq("family-1"),
+                anyString(), any(Timestamp.class));
+    }
+
+    @Test
+    public void reusedTokenRevokesTheWholeFamily() throws Exception {
+        storedToken(true, true);
+
+        Optional<RefreshTokens.Rotation> rotation = refreshTokens.rotate("presented", TENANT_ID);
+
+        assertTrue(rotation.isEmpty());
+        verify(jdbcTemplate).update(contains("WHERE family_id = ? AND revoked_at IS NULL"), eq("family-1"));
+        verify(jdbcTemplate, never()).update(contains("INSERT INTO refresh_tokens"), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void revokedOrExpiredTokenIsRefused() throws Exception {
+        storedToken(false, false);
+
+        assertTrue(refreshTokens.rotate("presented", TENANT_ID).isEmpty());
+        verify(jdbcTemplate, never()).update(contains("SET used_at"), any());
+    }
+
+    @Test
+    public void unknownTokenIsRefused() {
+        assertTrue(refreshTokens.rotate("unknown", TENANT_ID).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void storedToken(boolean used, boolean active) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("id")).thenReturn(5L);
+        when(row.getLong("user_id")).thenReturn(42L);
+        when(row.getString("family_id")).thenReturn("family-1");
+        when(row.getBoolean("used")).thenReturn(used);
+        when(row.getBoolean("active")).thenReturn(active);
+        when(jdbcTemplate.query(contains("FOR UPDATE"), any(RowMapper.class), anyString(), eq(TENANT_ID)))
+                .thenAnswer(invocation -> List.of(invocation.<RowMapper<?>>getArgument(1).mapRow(row, 0)));
+    }
+}
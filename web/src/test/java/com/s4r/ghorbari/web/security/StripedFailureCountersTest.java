@@ -0,0 +1,109 @@
+package com.s4r.ghorbari.web.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StripedFailureCountersTest {
+
+    private static final int THRESHOLD = 3;
+    private static final long WINDOW = TimeUnit.MINUTES.toNanos(1);
+    private static final long LOCKOUT = TimeUnit.MINUTES.toNanos(5);
+
+    // Negative like nanoTime may be
+    private final AtomicLong clock = new AtomicLong(-TimeUnit.DAYS.toNanos(1));
+    private final StripedFailureCounters counters = new StripedFailureCounters(1, 2, THRESHOLD, WINDOW, LOCKOUT, clock::get);
+
+    @Test
+    public void failuresBelowTheThresholdDoNotLock() {
+        assertEquals(0, counters.recordFailure("alice"));
+        assertEquals(0, counters.recordFailure("alice"));
+
+        assertEquals(0, counters.lockedForNanos("alice"));
+    }
+
+    @Test
+    public void reachingTheThresholdLocksForTheLockout() {
+        failTimes("alice", THRESHOLD - 1);
+
+        assertEquals(LOCKOUT, counters.recordFailure("alice"));
+        assertEquals(LOCKOUT, counters.lockedForNanos("alice"));
+
+        advance(TimeUnit.MINUTES.toNanos(2));
+        assertEquals(LOCKOUT - TimeUnit.MINUTES.toNanos(2), counters.lockedForNanos("alice"));
+
+        advance(TimeUnit.MINUTES.toNanos(3));
+        assertEquals(0, counters.lockedForNanos("alice"));
+    }
+
+    @Test
+    public void failuresOutsideTheWindowStartANewCount() {
+        failTimes("alice", THRESHOLD - 1);
+
+        advance(WINDOW + 1);
+
+        assertEquals(0, counters.recordFailure("alice"));
+        assertEquals(0, counters.recordFailure("alice"));
+        assertEquals(LOCKOUT, counters.recordFailure("alice"));
+    }
+
+    @Test
+    public void countStartsOverAfterTheLockout() {
+        failTimes("alice", THRESHOLD);
+
+        advance(LOCKOUT);
+
+        assertEquals(0, counters.recordFailure("alice"));
+        assertEquals(0, counters.lockedForNanos("alice"));
+    }
+
+    @Test
+    public void resetClearsFailuresAndLockout() {
+        failTimes("alice", THRESHOLD);
+
+        counters.reset("alice");
+
+        assertEquals(0, counters.lockedForNanos("alice"));
+        assertEquals(0, counters.recordFailure("alice"));
+    }
+
+    @Test
+    public void fullStripeStopsTrackingNewKeysUntilEntriesExpire() {
+        counters.recordFailure("alice");
+        counters.recordFailure("bob");
+
+        failTimes("carol", THRESHOLD);
+        assertEquals(0, counters.lockedForNanos("carol"));
+
+        advance(WINDOW + 1);
+
+        failTimes("carol", THRESHOLD - 1);
+        assertEquals(LOCKOUT, counters.recordFailure("carol"));
+    }
+
+    @Test
+    public void lockedKeysAreNotEvicted() {
+        failTimes("alice", THRESHOLD);
+        counters.recordFailure("bob");
+
+        advance(WINDOW + 1);
+        // Evicts bob, whose window is over, but keeps alice's lockout
+        failTimes("carol", THRESHOLD - 1);
+        assertEquals(LOCKOUT, counters.recordFailure("carol"));
+
+        assertEquals(LOCKOUT - WINDOW - 1, counters.lockedForNanos("alice"));
+    }
+
+    private void failTimes(String key, int times) {
+        for (int i = 0; i < times; i++) {
+            counters.recordFailure(key);
+        }
+    }
+
+    private void advance(long nanos) {
+        clock.addAndGet(nanos);
+    }
+}